@@ -0,0 +1,224 @@
+package EchoNote.App;
+
+import EchoNote.Arpit.SearchService;
+import EchoNote.Config.HttpClientProvider;
+import EchoNote.Config.LatencyHistogram;
+import EchoNote.Config.Metrics;
+import EchoNote.Config.OpenAiEndpoints;
+import EchoNote.Config.OpenAiRequestScheduler;
+import EchoNote.Config.VirtualThreads;
+import EchoNote.Jack.JournalWorkspaceStore;
+import EchoNote.Jack.Workspace;
+import EchoNote.Mihail.AudioPreprocessor;
+import EchoNote.Mihail.StubOpenAiServer;
+import EchoNote.Mihail.Summarizer;
+import EchoNote.Mihail.SyntheticAudio;
+import EchoNote.Mihail.Transcriber;
+import okhttp3.OkHttpClient;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+// Pushes N synthetic meetings through MeetingJobExecutor (preprocess, transcribe, streamed analysis,
+// save, index) against StubOpenAiServer and reports throughput and end-to-end tail latency.
+// --executor=virtual runs the jobs and their chunk/segment sub-calls on virtual threads (JDK 21+) with the
+// same limits enforced by semaphores; --executor=both runs platform then virtual against a fresh stub
+// each, so the two throughput lines can be compared directly (also applies to --mode=async).
+// --mode=async instead chains transcribeFileAsync and analyzeAsync on a pool of --threads threads, with
+// --concurrency bounding in-flight HTTP calls rather than whole meetings.
+//
+//   mvn -Pjmh compile exec:exec -Djmh.main=EchoNote.App.LoadDriver \
+//       -Djmh.args="--meetings=50 --concurrency=8 --errorRate=0.02 --rateLimitRate=0.05"
+public class LoadDriver {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int meetings = intOption(options, "meetings", 20);
+        int concurrency = intOption(options, "concurrency", 4);
+        int audioSeconds = intOption(options, "audioSeconds", 120);
+        long transcriptionMillis = intOption(options, "transcriptionMillis", 800);
+        long chatMillis = intOption(options, "chatMillis", 1_200);
+        double sigma = doubleOption(options, "sigma", 0.4);
+        double errorRate = doubleOption(options, "errorRate", 0.0);
+        double rateLimitRate = doubleOption(options, "rateLimitRate", 0.0);
+        boolean async = "async".equals(options.getOrDefault("mode", "jobs"));
+        int threads = intOption(options, "threads", 4);
+        List<Boolean> virtualRuns = switch (options.getOrDefault("executor", "platform")) {
+            case "platform" -> List.of(false);
+            case "virtual" -> List.of(true);
+            case "both" -> List.of(false, true);
+            default -> throw new IllegalArgumentException("--executor must be platform, virtual or both");
+        };
+        if (virtualRuns.contains(true) && !VirtualThreads.isSupported()) {
+            throw new IllegalStateException("--executor=" + options.get("executor") + " needs JDK 21 or newer");
+        }
+
+        Path directory = Files.createTempDirectory("echonote-load");
+        System.out.printf("Generating %d meetings of %d s in %s%n", meetings, audioSeconds, directory);
+        Path[] wavFiles = new Path[meetings];
+        for (int i = 0; i < meetings; i++) {
+            wavFiles[i] = SyntheticAudio.writeMeeting(directory.resolve("meeting-" + i + ".wav"),
+                    Duration.ofSeconds(audioSeconds), i);
+        }
+
+        try {
+            for (boolean virtual : virtualRuns) {
+                VirtualThreads.setEnabled(virtual);
+                try (StubOpenAiServer stub = StubOpenAiServer.builder()
+                        .transcriptionLatency(Duration.ofMillis(transcriptionMillis), sigma, 400)
+                        .chatLatency(Duration.ofMillis(chatMillis), sigma)
+                        .errorRate(errorRate)
+                        .rateLimitRate(rateLimitRate, Duration.ofMillis(200))
+                        .start()) {
+                    OpenAiEndpoints.configure(stub.getBaseUrl());
+
+                    // Generous client-side limits so the stub's latencies and 429s are what the run measures.
+                    OkHttpClient client = HttpClientProvider.create(HttpClientProvider.DEFAULT_CONNECT_TIMEOUT,
+                            HttpClientProvider.DEFAULT_READ_TIMEOUT, HttpClientProvider.DEFAULT_WRITE_TIMEOUT,
+                            async ? concurrency
+                                    : Math.max(HttpClientProvider.DEFAULT_MAX_REQUESTS_PER_HOST, concurrency * 2));
+                    Transcriber transcriber = new Transcriber("load-test", client,
+                            new OpenAiRequestScheduler(100_000, 0), null, AudioPreprocessor.speech());
+                    Summarizer summarizer = new Summarizer("load-test", client,
+                            new OpenAiRequestScheduler(100_000, 100_000_000), null);
+                    if (async) {
+                        runAsync(wavFiles, transcriber, summarizer, threads, stub, concurrency, virtual);
+                    } else {
+                        runJobs(wavFiles, directory.resolve(virtual ? "data-virtual" : "data-platform"),
+                                transcriber, summarizer, stub, concurrency, virtual);
+                    }
+                }
+            }
+        } finally {
+            VirtualThreads.setEnabled(false);
+            OpenAiEndpoints.configure(null);
+            deleteRecursively(directory);
+        }
+    }
+
+    private static void runJobs(Path[] wavFiles, Path dataDirectory, Transcriber transcriber, Summarizer summarizer,
+                                StubOpenAiServer stub, int concurrency, boolean virtual) throws Exception {
+        int meetings = wavFiles.length;
+        Workspace workspace = new Workspace(new JournalWorkspaceStore(dataDirectory));
+        MeetingJobExecutor executor = new MeetingJobExecutor(transcriber, summarizer, workspace,
+                new SearchService(workspace), concurrency, meetings, virtual);
+
+        LatencyHistogram jobLatency = new LatencyHistogram();
+        Map<String, Long> submittedAt = new ConcurrentHashMap<>();
+        AtomicInteger failed = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(meetings);
+        executor.addListener(job -> {
+            Long start = job.isDone() ? submittedAt.remove(job.getTitle()) : null;
+            if (start != null) {
+                jobLatency.recordSince(start);
+                if (job.getStage() != MeetingJobStage.COMPLETED) {
+                    failed.incrementAndGet();
+                }
+                done.countDown();
+            }
+        });
+
+        long start = System.nanoTime();
+        for (int i = 0; i < meetings; i++) {
+            String title = "Load meeting " + i;
+            submittedAt.put(title, System.nanoTime());
+            executor.submit(wavFiles[i].toFile(), title);
+        }
+        done.await(1, TimeUnit.HOURS);
+        double wallSeconds = (System.nanoTime() - start) / 1e9;
+
+        executor.shutdown();
+        workspace.close();
+        System.out.printf("jobs mode: %s threads%n", virtual ? "virtual" : "platform");
+        report(meetings, concurrency, failed.get(), wallSeconds, jobLatency.snapshot(), stub);
+    }
+
+    private static void runAsync(Path[] wavFiles, Transcriber transcriber, Summarizer summarizer, int threads,
+                                 StubOpenAiServer stub, int concurrency, boolean virtual)
+            throws InterruptedException {
+        ExecutorService pool = virtual ? VirtualThreads.newThreadPerTaskExecutor("LoadDriver-")
+                : Executors.newFixedThreadPool(threads);
+        LatencyHistogram latency = new LatencyHistogram();
+        AtomicInteger failed = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(wavFiles.length);
+        long start = System.nanoTime();
+        for (Path wav : wavFiles) {
+            long submitted = System.nanoTime();
+            transcriber.transcribeFileAsync(wav, pool)
+                    .thenCompose(summarizer::analyzeAsync)
+                    .whenComplete((analysis, error) -> {
+                        latency.recordSince(submitted);
+                        if (error != null) {
+                            failed.incrementAndGet();
+                        }
+                        done.countDown();
+                    });
+        }
+        done.await(1, TimeUnit.HOURS);
+        double wallSeconds = (System.nanoTime() - start) / 1e9;
+        pool.shutdownNow();
+        System.out.printf("async mode: %s, no workspace save%n",
+                virtual ? "virtual thread per task" : threads + " pool threads");
+        report(wavFiles.length, concurrency, failed.get(), wallSeconds, latency.snapshot(), stub);
+    }
+
+    private static void report(int meetings, int concurrency, int failed, double wallSeconds,
+                               LatencyHistogram.Snapshot latency, StubOpenAiServer stub) {
+        System.out.printf("meetings=%d concurrency=%d failed=%d wall=%.1fs throughput=%.1f meetings/min%n",
+                meetings, concurrency, failed, wallSeconds, meetings / wallSeconds * 60);
+        System.out.printf("end-to-end ms: p50=%.0f p90=%.0f p99=%.0f max=%.0f%n",
+                latency.percentileMillis(50), latency.percentileMillis(90),
+                latency.percentileMillis(99), latency.getMaxMillis());
+        System.out.printf("stub: requests=%d errors=%d rateLimited=%d%n",
+                stub.getRequestCount(), stub.getErrorCount(), stub.getRateLimitedCount());
+        Metrics.snapshot().entrySet().stream()
+                .filter(e -> e.getKey().startsWith("transcriber.") || e.getKey().startsWith("summarizer.")
+                        || e.getKey().startsWith("workspace.") || e.getKey().startsWith("openai."))
+                .forEach(e -> System.out.println("  " + e.getKey() + " = " + e.getValue()));
+    }
+
+    // Accepts --name=value pairs.
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            int eq = arg.indexOf('=');
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return options;
+    }
+
+    private static int intOption(Map<String, String> options, String name, int defaultValue) {
+        String value = options.get(name);
+        return value != null ? Integer.parseInt(value) : defaultValue;
+    }
+
+    private static double doubleOption(Map<String, String> options, String name, double defaultValue) {
+        String value = options.get(name);
+        return value != null ? Double.parseDouble(value) : defaultValue;
+    }
+
+    private static void deleteRecursively(Path directory) {
+        try (var paths = Files.walk(directory)) {
+            List<File> files = paths.map(Path::toFile).collect(Collectors.toList());
+            for (int i = files.size() - 1; i >= 0; i--) {
+                files.get(i).delete();
+            }
+        } catch (Exception ignored) {
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package EchoNote.Arpit;
+
+import EchoNote.Jack.MeetingRecord;
+import EchoNote.Jack.SyntheticMeetings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RenderingBenchmark {
+
+    private ExportService exportService;
+    private EmailNotifier emailNotifier;
+    private MeetingRecord record;
+
+    @Setup
+    public void setUp() {
+        exportService = new ExportService();
+        emailNotifier = new EmailNotifier();
+        record = SyntheticMeetings.generate(1, 42L).get(0);
+    }
+
+    @Benchmark
+    public String exportMarkdown() {
+        return exportService.buildMarkdown(record);
+    }
+
+    @Benchmark
+    public String emailBody() {
+        return emailNotifier.buildBody(record, record.getSummary(), record.getActions());
+    }
+}
@@ -0,0 +1,68 @@
+package EchoNote.Arpit;
+
+import EchoNote.Jack.MeetingRecord;
+import EchoNote.Jack.SyntheticMeetings;
+import EchoNote.Jack.Workspace;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchServiceBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int recordCount;
+
+    private SearchService searchService;
+
+    @Setup
+    public void setUp() {
+        Workspace workspace = new Workspace();
+        searchService = new SearchService(workspace);
+        for (MeetingRecord record : SyntheticMeetings.generate(recordCount, 42L)) {
+            workspace.save(record);
+            searchService.index(record);
+        }
+    }
+
+    @Benchmark
+    public List<MeetingRecord> rareTerm() {
+        return searchService.search(SyntheticMeetings.RARE_WORD);
+    }
+
+    @Benchmark
+    public List<MeetingRecord> commonTerm() {
+        return searchService.search(SyntheticMeetings.COMMON_WORD);
+    }
+
+    @Benchmark
+    public List<MeetingRecord> conjunction() {
+        return searchService.search("billing " + SyntheticMeetings.RARE_WORD);
+    }
+
+    @Benchmark
+    public List<MeetingRecord> disjunction() {
+        return searchService.search("billing OR design");
+    }
+
+    @Benchmark
+    public List<MeetingRecord> prefix() {
+        return searchService.search("bill*");
+    }
+}
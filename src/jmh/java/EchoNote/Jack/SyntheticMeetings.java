@@ -0,0 +1,95 @@
+package EchoNote.Jack;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public final class SyntheticMeetings {
+
+    public static final String COMMON_WORD = "project";
+    public static final String RARE_WORD = "zephyr";
+
+    private static final String[] TEAMS = {"platform", "mobile", "billing", "search", "design", "infra", "growth", "support"};
+    private static final String[] NAMES = {"Alice", "Bob", "Carmen", "Dmitri", "Esther", "Farid", "Grace", "Hiro", "Ines", "Jonas"};
+    private static final int VOCABULARY_SIZE = 5000;
+    private static final int TRANSCRIPT_WORDS = 120;
+
+    private SyntheticMeetings() {
+    }
+
+    public static List<MeetingRecord> generate(int count, long seed) {
+        Random random = new Random(seed);
+        String[] vocabulary = buildVocabulary(random);
+        LocalDateTime start = LocalDate.of(2024, 1, 1).atTime(9, 0);
+
+        List<MeetingRecord> records = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String team = TEAMS[random.nextInt(TEAMS.length)];
+
+            MeetingRecord record = new MeetingRecord();
+            record.setTitle(capitalize(team) + " sync " + i);
+            record.setTags(List.of(team, "weekly"));
+            record.setDate(start.plusHours(i));
+
+            List<Participant> participants = new ArrayList<>();
+            for (int p = 0; p < 3; p++) {
+                String name = NAMES[random.nextInt(NAMES.length)];
+                participants.add(new Participant(name, name.toLowerCase() + "@example.com", "Member"));
+            }
+            record.setParticipants(participants);
+
+            StringBuilder text = new StringBuilder();
+            for (int w = 0; w < TRANSCRIPT_WORDS; w++) {
+                if (w > 0) {
+                    text.append(' ');
+                }
+                text.append(pickWord(random, vocabulary));
+            }
+            text.append(' ').append(COMMON_WORD);
+            if (i % 1000 == 0) {
+                text.append(' ').append(RARE_WORD);
+            }
+            record.setTranscript(new Transcript(text.toString(), TranscriptSource.LIVE));
+
+            record.setSummary(new Summary(
+                    List.of("Status of " + team + " roadmap", "Review " + pickWord(random, vocabulary)),
+                    List.of("Ship " + pickWord(random, vocabulary) + " next sprint"),
+                    "Discussed " + pickWord(random, vocabulary) + " and " + pickWord(random, vocabulary) + "."));
+
+            List<ActionItem> actions = new ArrayList<>();
+            for (int a = 0; a < 2; a++) {
+                actions.add(new ActionItem("Follow up on " + pickWord(random, vocabulary),
+                        participants.get(a), LocalDate.of(2024, 1, 1).plusDays(i % 365), ActionStatus.OPEN));
+            }
+            record.setActions(actions);
+
+            records.add(record);
+        }
+        return records;
+    }
+
+    private static String[] buildVocabulary(Random random) {
+        String[] words = new String[VOCABULARY_SIZE];
+        char[] buffer = new char[10];
+        for (int i = 0; i < words.length; i++) {
+            int length = 4 + random.nextInt(6);
+            for (int c = 0; c < length; c++) {
+                buffer[c] = (char) ('a' + random.nextInt(26));
+            }
+            words[i] = new String(buffer, 0, length);
+        }
+        return words;
+    }
+
+    private static String pickWord(Random random, String[] vocabulary) {
+        // Squaring skews picks toward the front so term frequencies look Zipf-like.
+        double r = random.nextDouble();
+        return vocabulary[(int) (r * r * vocabulary.length)];
+    }
+
+    private static String capitalize(String s) {
+        return Character.toUpperCase(s.charAt(0)) + s.substring(1);
+    }
+}
@@ -0,0 +1,66 @@
+package EchoNote.Jack;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WorkspaceBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int recordCount;
+
+    private Workspace workspace;
+    private UUID[] ids;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        workspace = new Workspace();
+        List<MeetingRecord> records = SyntheticMeetings.generate(recordCount, 42L);
+        ids = new UUID[records.size()];
+        for (int i = 0; i < records.size(); i++) {
+            workspace.save(records.get(i));
+            ids[i] = records.get(i).getId();
+        }
+    }
+
+    @Benchmark
+    public List<MeetingRecord> findByQueryTitle() {
+        return workspace.findByQuery("billing sync");
+    }
+
+    @Benchmark
+    public List<MeetingRecord> findByQueryNoMatch() {
+        return workspace.findByQuery("nonexistent");
+    }
+
+    @Benchmark
+    public List<MeetingRecord> findByTag() {
+        return workspace.findByTag("billing");
+    }
+
+    @Benchmark
+    public MeetingRecord getById() {
+        UUID id = ids[cursor];
+        cursor = cursor + 1 == ids.length ? 0 : cursor + 1;
+        return workspace.getById(id);
+    }
+}
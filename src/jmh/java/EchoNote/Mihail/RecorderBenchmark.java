@@ -0,0 +1,54 @@
+package EchoNote.Mihail;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecorderBenchmark {
+
+    @Param({"4096", "17640"})
+    public int bufferBytes;
+
+    private byte[] buffer;
+    private ShortBuffer samples;
+    private LevelMeter meter;
+
+    @Setup
+    public void setUp() {
+        buffer = new byte[bufferBytes];
+        new Random(42L).nextBytes(buffer);
+        samples = ByteBuffer.wrap(buffer).order(ByteOrder.LITTLE_ENDIAN).asShortBuffer();
+        meter = new LevelMeter(Recorder.getAudioFormat().getFrameRate());
+    }
+
+    @Benchmark
+    public double computeLevelRms() {
+        return Recorder.computeLevelRms(buffer, buffer.length);
+    }
+
+    @Benchmark
+    public long levelMeter() {
+        meter.process(samples);
+        return meter.snapshot();
+    }
+}
@@ -0,0 +1,344 @@
+package EchoNote.Mihail;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Local stand-in for /v1/audio/transcriptions and /v1/chat/completions. Latencies are log-normal
+// (median and sigma per endpoint, plus a per-MB upload cost for transcription), and a configurable
+// fraction of requests fails with 500 or is rate limited with 429 + retry-after-ms. Responses are
+// shaped like the real API closely enough for Transcriber and Summarizer, including streaming.
+//
+// Standalone: run main() and point the app at it with OPENAI_BASE_URL=http://127.0.0.1:8089/v1.
+public class StubOpenAiServer implements AutoCloseable {
+
+    private static final int DEFAULT_PORT = 8089;
+    private static final int STREAM_PIECE_CHARS = 24;
+    // 16 kHz mono 16-bit is what the preprocessor uploads; ~2.5 spoken words per second.
+    private static final double UPLOAD_BYTES_PER_SECOND = 32_000;
+    private static final double WORDS_PER_SECOND = 2.5;
+    private static final double SEGMENT_SECONDS = 5;
+
+    private final Builder settings;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong rateLimited = new AtomicLong();
+    private HttpServer server;
+    private ExecutorService executor;
+
+    private StubOpenAiServer(Builder settings) {
+        this.settings = settings;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public StubOpenAiServer start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", settings.port), 0);
+        AtomicInteger counter = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(settings.threads, r -> {
+            Thread t = new Thread(r, "StubOpenAi-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        server.setExecutor(executor);
+        server.createContext("/v1/audio/transcriptions", this::handleTranscription);
+        server.createContext("/v1/chat/completions", this::handleChat);
+        server.start();
+        return this;
+    }
+
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/v1";
+    }
+
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    public long getErrorCount() {
+        return errors.get();
+    }
+
+    public long getRateLimitedCount() {
+        return rateLimited.get();
+    }
+
+    @Override
+    public void close() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+        }
+    }
+
+    private void handleTranscription(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            long uploadBytes = drain(exchange.getRequestBody());
+            if (injectFault(exchange)) {
+                return;
+            }
+            double uploadMb = uploadBytes / (1024.0 * 1024.0);
+            sleep(settings.transcriptionMedianMillis, settings.transcriptionSigma,
+                    (long) (uploadMb * settings.transcriptionMillisPerMb));
+
+            double seconds = uploadBytes / UPLOAD_BYTES_PER_SECOND;
+            Random random = ThreadLocalRandom.current();
+            ObjectNode root = objectMapper.createObjectNode();
+            ArrayNode segments = root.putArray("segments");
+            StringBuilder text = new StringBuilder();
+            for (double start = 0; start < seconds; start += SEGMENT_SECONDS) {
+                double end = Math.min(seconds, start + SEGMENT_SECONDS);
+                String segmentText = SyntheticAudio.transcript(random,
+                        Math.max(1, (int) Math.round((end - start) * WORDS_PER_SECOND)));
+                ObjectNode segment = segments.addObject();
+                segment.put("start", start);
+                segment.put("end", end);
+                segment.put("text", segmentText);
+                if (text.length() > 0) {
+                    text.append(' ');
+                }
+                text.append(segmentText);
+            }
+            root.put("text", text.toString());
+            root.put("duration", seconds);
+            send(exchange, 200, "application/json", objectMapper.writeValueAsBytes(root));
+        }
+    }
+
+    private void handleChat(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            JsonNode request = objectMapper.readTree(exchange.getRequestBody());
+            if (injectFault(exchange)) {
+                return;
+            }
+            JsonNode messages = request.path("messages");
+            String prompt = messages.path(messages.size() - 1).path("content").asText();
+            String content = completionFor(prompt);
+            ObjectNode usage = objectMapper.createObjectNode();
+            usage.put("prompt_tokens", prompt.length() / 4);
+            usage.put("completion_tokens", content.length() / 4);
+            usage.put("total_tokens", (prompt.length() + content.length()) / 4);
+
+            sleep(settings.chatMedianMillis, settings.chatSigma, 0);
+            if (request.path("stream").asBoolean()) {
+                stream(exchange, content, usage);
+                return;
+            }
+
+            ObjectNode root = objectMapper.createObjectNode();
+            root.put("object", "chat.completion");
+            ObjectNode choice = root.putArray("choices").addObject();
+            choice.put("index", 0);
+            choice.putObject("message").put("role", "assistant").put("content", content);
+            choice.put("finish_reason", "stop");
+            root.set("usage", usage);
+            send(exchange, 200, "application/json", objectMapper.writeValueAsBytes(root));
+        }
+    }
+
+    private void stream(HttpExchange exchange, String content, ObjectNode usage) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream out = exchange.getResponseBody()) {
+            for (int i = 0; i < content.length(); i += STREAM_PIECE_CHARS) {
+                ObjectNode chunk = objectMapper.createObjectNode();
+                chunk.put("object", "chat.completion.chunk");
+                chunk.putArray("choices").addObject().putObject("delta")
+                        .put("content", content.substring(i, Math.min(content.length(), i + STREAM_PIECE_CHARS)));
+                writeEvent(out, objectMapper.writeValueAsString(chunk));
+                sleep(settings.streamChunkMillis, 0, 0);
+            }
+            ObjectNode last = objectMapper.createObjectNode();
+            last.put("object", "chat.completion.chunk");
+            last.putArray("choices");
+            last.set("usage", usage);
+            writeEvent(out, objectMapper.writeValueAsString(last));
+            writeEvent(out, "[DONE]");
+        }
+    }
+
+    // Mirrors the prompts in Summarizer: action extraction wants an array, analysis wants summary plus
+    // actionItems, everything else (summaries and merges) wants the summary object.
+    private String completionFor(String prompt) throws IOException {
+        Random random = ThreadLocalRandom.current();
+        ArrayNode actions = objectMapper.createArrayNode();
+        for (int i = 0, n = 1 + random.nextInt(3); i < n; i++) {
+            ObjectNode action = actions.addObject();
+            action.put("title", SyntheticAudio.transcript(random, 4).replace(".", ""));
+            action.put("owner", "Unassigned");
+            action.putNull("dueDate");
+        }
+        if (prompt.contains("Return your answer as a JSON array")) {
+            return objectMapper.writeValueAsString(actions);
+        }
+
+        ObjectNode summary = objectMapper.createObjectNode();
+        ArrayNode topics = summary.putArray("topics");
+        ArrayNode decisions = summary.putArray("decisions");
+        for (int i = 0; i < 3; i++) {
+            topics.add(SyntheticAudio.transcript(random, 5));
+            decisions.add(SyntheticAudio.transcript(random, 6));
+        }
+        summary.put("notes", SyntheticAudio.transcript(random, 30));
+        if (prompt.contains("\"actionItems\"")) {
+            summary.set("actionItems", actions);
+        }
+        return objectMapper.writeValueAsString(summary);
+    }
+
+    private boolean injectFault(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        double roll = ThreadLocalRandom.current().nextDouble();
+        if (roll < settings.rateLimitRate) {
+            rateLimited.incrementAndGet();
+            exchange.getResponseHeaders().add("retry-after-ms", String.valueOf(settings.retryAfterMillis));
+            send(exchange, 429, "application/json",
+                    "{\"error\":{\"message\":\"Rate limit reached\",\"type\":\"requests\"}}"
+                            .getBytes(StandardCharsets.UTF_8));
+            return true;
+        }
+        if (roll < settings.rateLimitRate + settings.errorRate) {
+            errors.incrementAndGet();
+            send(exchange, 500, "application/json",
+                    "{\"error\":{\"message\":\"Injected failure\",\"type\":\"server_error\"}}"
+                            .getBytes(StandardCharsets.UTF_8));
+            return true;
+        }
+        return false;
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static void writeEvent(OutputStream out, String data) throws IOException {
+        out.write(("data: " + data + "\n\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    private static long drain(InputStream in) throws IOException {
+        byte[] buffer = new byte[64 * 1024];
+        long total = 0;
+        int n;
+        while ((n = in.read(buffer)) != -1) {
+            total += n;
+        }
+        return total;
+    }
+
+    private static void sleep(long medianMillis, double sigma, long extraMillis) throws IOException {
+        double sampled = medianMillis * Math.exp(sigma * ThreadLocalRandom.current().nextGaussian());
+        long millis = Math.round(sampled) + extraMillis;
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Stub interrupted", e);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        StubOpenAiServer stub = builder().port(port).start();
+        Runtime.getRuntime().addShutdownHook(new Thread(stub::close));
+        System.out.println("Stub OpenAI API listening on " + stub.getBaseUrl());
+        Thread.currentThread().join();
+    }
+
+    public static class Builder {
+        private int port;
+        private int threads = 64;
+        private long transcriptionMedianMillis = 800;
+        private double transcriptionSigma = 0.4;
+        private long transcriptionMillisPerMb = 400;
+        private long chatMedianMillis = 1_200;
+        private double chatSigma = 0.5;
+        private long streamChunkMillis = 5;
+        private double errorRate;
+        private double rateLimitRate;
+        private long retryAfterMillis = 200;
+
+        // 0 picks a free port.
+        public Builder port(int port) {
+            this.port = port;
+            return this;
+        }
+
+        public Builder threads(int threads) {
+            if (threads < 1) {
+                throw new IllegalArgumentException("threads must be at least 1");
+            }
+            this.threads = threads;
+            return this;
+        }
+
+        public Builder transcriptionLatency(Duration median, double sigma, long millisPerMb) {
+            this.transcriptionMedianMillis = median.toMillis();
+            this.transcriptionSigma = sigma;
+            this.transcriptionMillisPerMb = millisPerMb;
+            return this;
+        }
+
+        public Builder chatLatency(Duration median, double sigma) {
+            this.chatMedianMillis = median.toMillis();
+            this.chatSigma = sigma;
+            return this;
+        }
+
+        public Builder streamChunkDelay(Duration delay) {
+            this.streamChunkMillis = delay.toMillis();
+            return this;
+        }
+
+        public Builder errorRate(double errorRate) {
+            this.errorRate = requireRate(errorRate);
+            return this;
+        }
+
+        public Builder rateLimitRate(double rateLimitRate, Duration retryAfter) {
+            this.rateLimitRate = requireRate(rateLimitRate);
+            this.retryAfterMillis = retryAfter.toMillis();
+            return this;
+        }
+
+        public StubOpenAiServer start() throws IOException {
+            if (errorRate + rateLimitRate > 1) {
+                throw new IllegalArgumentException("errorRate + rateLimitRate cannot exceed 1");
+            }
+            return new StubOpenAiServer(this).start();
+        }
+
+        private static double requireRate(double rate) {
+            if (rate < 0 || rate > 1) {
+                throw new IllegalArgumentException("rate must be between 0 and 1");
+            }
+            return rate;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package EchoNote.Mihail;
+
+import EchoNote.Jack.ActionItem;
+import EchoNote.Jack.Summary;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SummarizerParsingBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private Summarizer summarizer;
+    private String responseJson;
+    private String content;
+    private JsonNode contentNode;
+
+    @Setup
+    public void setUp() throws IOException {
+        summarizer = new Summarizer("dummy-api-key");
+
+        ObjectNode result = objectMapper.createObjectNode();
+        ArrayNode topics = result.putArray("topics");
+        ArrayNode decisions = result.putArray("decisions");
+        for (int i = 0; i < 8; i++) {
+            topics.add("Topic number " + i + " about the quarterly roadmap");
+            decisions.add("Decision " + i + " to move forward with option " + i);
+        }
+        result.put("notes", "The team agreed to revisit the plan next week after more data comes in.");
+        ArrayNode actions = result.putArray("actionItems");
+        for (int i = 0; i < 10; i++) {
+            ObjectNode action = actions.addObject();
+            action.put("title", "Prepare follow-up report " + i);
+            action.put("owner", "Owner " + i);
+            if (i % 2 == 0) {
+                action.put("dueDate", "2025-0" + (1 + i % 9) + "-15");
+            } else {
+                action.putNull("dueDate");
+            }
+        }
+        content = objectMapper.writeValueAsString(result);
+
+        ObjectNode response = objectMapper.createObjectNode();
+        response.put("id", "chatcmpl-bench");
+        response.put("object", "chat.completion");
+        ObjectNode choice = response.putArray("choices").addObject();
+        choice.put("index", 0);
+        ObjectNode message = choice.putObject("message");
+        message.put("role", "assistant");
+        message.put("content", content);
+        choice.put("finish_reason", "stop");
+        responseJson = objectMapper.writeValueAsString(response);
+
+        contentNode = objectMapper.readTree(content);
+    }
+
+    @Benchmark
+    public String extractMessageContent() throws IOException {
+        return summarizer.extractMessageContent(responseJson);
+    }
+
+    @Benchmark
+    public Summary parseSummary() {
+        return summarizer.parseSummary(contentNode);
+    }
+
+    @Benchmark
+    public List<ActionItem> parseActionItems() {
+        return summarizer.parseActionItems(contentNode.get("actionItems"));
+    }
+
+    @Benchmark
+    public Summary fullResponseToSummary() throws IOException {
+        JsonNode node = objectMapper.readTree(summarizer.extractMessageContent(responseJson));
+        return summarizer.parseSummary(node);
+    }
+}
@@ -0,0 +1,84 @@
+package EchoNote.Mihail;
+
+import javax.sound.sampled.AudioFormat;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Random;
+
+// Deterministic stand-ins for recorded meetings: voiced "utterances" (a few harmonics of a wandering
+// pitch under a syllable-rate envelope) separated by quiet pauses, so preprocessing and silence
+// trimming do roughly the work they would on real speech.
+public final class SyntheticAudio {
+
+    public static final AudioFormat FORMAT = new AudioFormat(44_100f, 16, 1, true, false);
+
+    private static final String[] WORDS = {
+            "we", "should", "ship", "the", "release", "next", "week", "after", "review", "budget",
+            "design", "customer", "feedback", "deadline", "owner", "follow", "up", "on", "testing", "plan",
+            "migration", "metrics", "roadmap", "hiring", "onboarding", "demo", "retro", "risk", "scope", "launch"
+    };
+    private static final int BLOCK_FRAMES = 4096;
+
+    private SyntheticAudio() {
+    }
+
+    public static Path writeMeeting(Path file, Duration length, long seed) throws IOException {
+        Random random = new Random(seed);
+        float rate = FORMAT.getSampleRate();
+        long totalFrames = (long) (length.toMillis() / 1000.0 * rate);
+        ByteBuffer block = ByteBuffer.allocate(BLOCK_FRAMES * 2).order(ByteOrder.LITTLE_ENDIAN);
+
+        try (WavFileWriter writer = new WavFileWriter(file, FORMAT)) {
+            long frame = 0;
+            boolean speaking = false;
+            long segmentEnd = 0;
+            double pitch = 150;
+            double phase = 0;
+            while (frame < totalFrames) {
+                block.clear();
+                int n = (int) Math.min(BLOCK_FRAMES, totalFrames - frame);
+                for (int i = 0; i < n; i++, frame++) {
+                    if (frame >= segmentEnd) {
+                        speaking = !speaking;
+                        double seconds = speaking ? 1 + random.nextDouble() * 4 : 0.3 + random.nextDouble() * 2.2;
+                        segmentEnd = frame + (long) (seconds * rate);
+                        pitch = 110 + random.nextDouble() * 120;
+                    }
+                    double sample = random.nextGaussian() * 30;
+                    if (speaking) {
+                        double t = frame / rate;
+                        double envelope = 0.5 + 0.5 * Math.sin(2 * Math.PI * 4 * t);
+                        phase += 2 * Math.PI * pitch * (1 + 0.05 * Math.sin(2 * Math.PI * 0.7 * t)) / rate;
+                        sample += envelope * 6_000 * (Math.sin(phase) + 0.5 * Math.sin(2 * phase)
+                                + 0.25 * Math.sin(3 * phase));
+                    }
+                    block.putShort((short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, sample)));
+                }
+                writer.write(block.array(), 0, n * 2);
+            }
+        }
+        return file;
+    }
+
+    public static String transcript(Random random, int words) {
+        StringBuilder text = new StringBuilder(words * 7);
+        for (int i = 0; i < words; i++) {
+            String word = WORDS[random.nextInt(WORDS.length)];
+            if (i == 0 || text.charAt(text.length() - 1) == '.') {
+                if (i > 0) {
+                    text.append(' ');
+                }
+                text.append(Character.toUpperCase(word.charAt(0))).append(word, 1, word.length());
+            } else {
+                text.append(' ').append(word);
+            }
+            if (random.nextInt(12) == 0 || i == words - 1) {
+                text.append('.');
+            }
+        }
+        return text.toString();
+    }
+}
@@ -3,29 +3,121 @@ package EchoNote.App;
 import EchoNote.Arpit.EmailNotifier;
 import EchoNote.Arpit.ExportService;
 import EchoNote.Arpit.SearchService;
+import EchoNote.Config.DiagnosticRecording;
+import EchoNote.Config.HttpClientProvider;
+import EchoNote.Config.Metrics;
+import EchoNote.Config.MetricsReporter;
+import EchoNote.Config.VirtualThreads;
+import EchoNote.Jack.JournalWorkspaceStore;
+import EchoNote.Jack.MeetingRecord;
 import EchoNote.Jack.Workspace;
+import EchoNote.Mihail.AudioPreprocessor;
+import EchoNote.Mihail.ChatResponseCache;
 import EchoNote.Mihail.Summarizer;
 import EchoNote.Mihail.Transcriber;
+import EchoNote.Mihail.TranscriptionCache;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
 
 
 public class AppConfig {
 
+    private static final int MAX_CONCURRENT_JOBS = 2;
+    private static final int JOB_QUEUE_CAPACITY = 32;
+    private static final int IMPORT_TRANSCRIBE_WORKERS = 4;
+    private static final int IMPORT_ANALYZE_WORKERS = 4;
+    private static final int IMPORT_QUEUE_CAPACITY = 8;
+    private static final Path DATA_DIRECTORY = Path.of("data");
+    private static final Path TRANSCRIPT_CACHE_DIRECTORY = Path.of("cache", "transcripts");
+    private static final long TRANSCRIPT_CACHE_MAX_BYTES = 256L * 1024 * 1024;
+    private static final Path CHAT_CACHE_DIRECTORY = Path.of("cache", "chat");
+    private static final long CHAT_CACHE_MAX_BYTES = 64L * 1024 * 1024;
+    private static final int CHAT_CACHE_MEMORY_ENTRIES = 256;
+    private static final Duration CHAT_CACHE_TTL = Duration.ofDays(7);
+    private static final Duration HTTP_CONNECT_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration HTTP_READ_TIMEOUT = Duration.ofMinutes(5);
+    private static final Duration HTTP_WRITE_TIMEOUT = Duration.ofMinutes(2);
+    private static final int HTTP_MAX_REQUESTS_PER_HOST = 8;
+    private static final float UPLOAD_SAMPLE_RATE = AudioPreprocessor.SPEECH_SAMPLE_RATE;
+    private static final boolean UPLOAD_MU_LAW = false;
+    private static final Path METRICS_FILE = Path.of("metrics", "metrics.json");
+    private static final Duration METRICS_INTERVAL = Duration.ofMinutes(1);
+    // Run with -Dechonote.jfr=true to keep a rolling flight recording under diagnostics/.
+    private static final String JFR_PROPERTY = "echonote.jfr";
+    private static final Path JFR_DIRECTORY = Path.of("diagnostics");
+    private static final Duration JFR_MAX_AGE = Duration.ofMinutes(30);
+    private static final long JFR_MAX_BYTES = 128L * 1024 * 1024;
+    // Run with -Dechonote.virtualThreads=true on JDK 21+ to run jobs and their blocking sub-calls on
+    // virtual threads; concurrency limits stay the same but are enforced by semaphores.
+    private static final String VIRTUAL_THREADS_PROPERTY = "echonote.virtualThreads";
+
     private final Workspace workspace;
     private final Transcriber transcriber;
     private final Summarizer summarizer;
     private final ExportService exportService;
     private final SearchService searchService;
     private final EmailNotifier emailNotifier;
+    private final MeetingJobExecutor jobExecutor;
+    private final BatchImporter batchImporter;
+    private final DiagnosticRecording diagnosticRecording;
 
     public AppConfig() {
-        this.workspace = new Workspace();
+        this.diagnosticRecording = Boolean.getBoolean(JFR_PROPERTY) ? startDiagnosticRecording() : null;
+        if (Boolean.getBoolean(VIRTUAL_THREADS_PROPERTY) && VirtualThreads.isSupported()) {
+            VirtualThreads.setEnabled(true);
+        }
+
+        this.workspace = new Workspace(new JournalWorkspaceStore(DATA_DIRECTORY));
+        Runtime.getRuntime().addShutdownHook(new Thread(workspace::close, "Workspace-Shutdown"));
 
-        this.transcriber = new Transcriber();
-        this.summarizer = new Summarizer();
+        HttpClientProvider.configure(HTTP_CONNECT_TIMEOUT, HTTP_READ_TIMEOUT, HTTP_WRITE_TIMEOUT,
+                HTTP_MAX_REQUESTS_PER_HOST);
+
+        this.transcriber = new Transcriber(
+                new TranscriptionCache(TRANSCRIPT_CACHE_DIRECTORY, TRANSCRIPT_CACHE_MAX_BYTES),
+                new AudioPreprocessor(UPLOAD_SAMPLE_RATE, UPLOAD_MU_LAW));
+        this.summarizer = new Summarizer(new ChatResponseCache(
+                CHAT_CACHE_DIRECTORY, CHAT_CACHE_MAX_BYTES, CHAT_CACHE_MEMORY_ENTRIES, CHAT_CACHE_TTL));
 
         this.exportService = new ExportService();
         this.searchService = new SearchService(workspace);
+        for (MeetingRecord record : workspace.getAll()) {
+            searchService.index(record);
+        }
         this.emailNotifier = new EmailNotifier();
+
+        this.jobExecutor = new MeetingJobExecutor(transcriber, summarizer, workspace, searchService,
+                MAX_CONCURRENT_JOBS, JOB_QUEUE_CAPACITY);
+        this.batchImporter = new BatchImporter(transcriber, summarizer, workspace, searchService,
+                IMPORT_TRANSCRIBE_WORKERS, IMPORT_ANALYZE_WORKERS, IMPORT_QUEUE_CAPACITY);
+
+        registerMetrics();
+    }
+
+    private static DiagnosticRecording startDiagnosticRecording() {
+        try {
+            return DiagnosticRecording.startRolling(JFR_DIRECTORY, JFR_MAX_AGE, JFR_MAX_BYTES);
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private void registerMetrics() {
+        Metrics.gauge("jobs.queued", jobExecutor::getQueuedCount);
+        Metrics.gauge("jobs.active", () -> jobExecutor.getActiveJobs().size());
+        Metrics.gauge("http.queuedCalls", () -> HttpClientProvider.getClient().dispatcher().queuedCallsCount());
+        Metrics.gauge("http.runningCalls", () -> HttpClientProvider.getClient().dispatcher().runningCallsCount());
+
+        try {
+            Metrics.registerMBean();
+        } catch (IllegalStateException ignored) {
+            // JMX is a convenience; the dump file below still works without it.
+        }
+        MetricsReporter reporter = new MetricsReporter(METRICS_FILE, METRICS_INTERVAL);
+        reporter.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(reporter::close, "Metrics-Shutdown"));
     }
 
     public Workspace getWorkspace() {
@@ -51,4 +143,17 @@ public class AppConfig {
     public EmailNotifier getEmailNotifier() {
         return emailNotifier;
     }
+
+    public MeetingJobExecutor getJobExecutor() {
+        return jobExecutor;
+    }
+
+    public BatchImporter getBatchImporter() {
+        return batchImporter;
+    }
+
+    // Null unless the app was started with -Dechonote.jfr=true.
+    public DiagnosticRecording getDiagnosticRecording() {
+        return diagnosticRecording;
+    }
 }
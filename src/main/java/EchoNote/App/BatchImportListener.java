@@ -0,0 +1,11 @@
+package EchoNote.App;
+
+import java.nio.file.Path;
+
+public interface BatchImportListener {
+
+    void onProgress(BatchImportProgress progress);
+
+    default void onFileFailed(Path file, Exception error) {
+    }
+}
@@ -0,0 +1,94 @@
+package EchoNote.App;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+// Append-only record of which files a batch import has already saved, so a restarted import skips them.
+class BatchImportManifest implements Closeable {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Set<String> imported = new HashSet<>();
+    private final BufferedWriter writer;
+
+    BatchImportManifest(Path file) throws IOException {
+        if (Files.exists(file)) {
+            truncateTornTail(file);
+            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    try {
+                        JsonNode node = objectMapper.readTree(line);
+                        imported.add(node.get("fingerprint").asText());
+                    } catch (IOException | NullPointerException ignored) {
+                    }
+                }
+            }
+        }
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    // A crash mid-write leaves a last line without its newline. Cut it off, so that file is simply
+    // imported again and the next entry is not glued onto the fragment and lost on the following resume.
+    private static void truncateTornTail(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            long end = size;
+            ByteBuffer last = ByteBuffer.allocate(1);
+            while (end > 0) {
+                last.clear();
+                channel.read(last, end - 1);
+                if (last.get(0) == '\n') {
+                    break;
+                }
+                end--;
+            }
+            if (end < size) {
+                channel.truncate(end);
+            }
+        }
+    }
+
+    synchronized boolean isImported(String fingerprint) {
+        return imported.contains(fingerprint);
+    }
+
+    synchronized void markImported(String fingerprint, Path file, UUID recordId) {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("fingerprint", fingerprint);
+        node.put("file", file.getFileName().toString());
+        node.put("recordId", recordId.toString());
+        try {
+            writer.write(objectMapper.writeValueAsString(node));
+            writer.newLine();
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to update import manifest", e);
+        }
+        imported.add(fingerprint);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+}
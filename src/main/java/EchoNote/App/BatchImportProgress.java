@@ -0,0 +1,54 @@
+package EchoNote.App;
+
+public class BatchImportProgress {
+    private final int total;
+    private final int skipped;
+    private final int transcribed;
+    private final int analyzed;
+    private final int completed;
+    private final int failed;
+
+    public BatchImportProgress(int total, int skipped, int transcribed, int analyzed, int completed, int failed) {
+        this.total = total;
+        this.skipped = skipped;
+        this.transcribed = transcribed;
+        this.analyzed = analyzed;
+        this.completed = completed;
+        this.failed = failed;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public int getSkipped() {
+        return skipped;
+    }
+
+    public int getTranscribed() {
+        return transcribed;
+    }
+
+    public int getAnalyzed() {
+        return analyzed;
+    }
+
+    public int getCompleted() {
+        return completed;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public int getRemaining() {
+        return total - skipped - completed - failed;
+    }
+
+    @Override
+    public String toString() {
+        return "Imported " + completed + "/" + (total - skipped)
+                + " (transcribed " + transcribed + ", analyzed " + analyzed
+                + ", failed " + failed + ", already imported " + skipped + ")";
+    }
+}
@@ -0,0 +1,326 @@
+package EchoNote.App;
+
+import EchoNote.Arpit.SearchService;
+import EchoNote.Config.VirtualThreads;
+import EchoNote.Jack.MeetingAnalysis;
+import EchoNote.Jack.MeetingRecord;
+import EchoNote.Jack.Transcript;
+import EchoNote.Jack.Workspace;
+import EchoNote.Mihail.Summarizer;
+import EchoNote.Mihail.Transcriber;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class BatchImporter {
+
+    static final String MANIFEST_FILE = ".echonote-import.jsonl";
+
+    private static final Item END = new Item(null, null);
+
+    private final Transcriber transcriber;
+    private final Summarizer summarizer;
+    private final Workspace workspace;
+    private final SearchService searchService;
+    private final int transcribeWorkers;
+    private final int analyzeWorkers;
+    private final int queueCapacity;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile boolean cancelled;
+    private volatile ExecutorService pool;
+
+    public BatchImporter(Transcriber transcriber,
+                         Summarizer summarizer,
+                         Workspace workspace,
+                         SearchService searchService,
+                         int transcribeWorkers,
+                         int analyzeWorkers,
+                         int queueCapacity) {
+        if (transcribeWorkers < 1 || analyzeWorkers < 1) {
+            throw new IllegalArgumentException("each stage needs at least one worker");
+        }
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("queueCapacity must be at least 1");
+        }
+
+        this.transcriber = transcriber;
+        this.summarizer = summarizer;
+        this.workspace = workspace;
+        this.searchService = searchService;
+        this.transcribeWorkers = transcribeWorkers;
+        this.analyzeWorkers = analyzeWorkers;
+        this.queueCapacity = queueCapacity;
+    }
+
+    // Blocks until every WAV file in the directory has been imported, has failed, or the import is cancelled.
+    public BatchImportProgress importDirectory(Path directory, BatchImportListener listener) {
+        if (directory == null || !Files.isDirectory(directory)) {
+            throw new IllegalArgumentException("directory must exist: " + directory);
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A batch import is already running");
+        }
+        cancelled = false;
+
+        try (BatchImportManifest manifest = new BatchImportManifest(directory.resolve(MANIFEST_FILE))) {
+            List<Path> files = listWavFiles(directory);
+            Counters counters = new Counters(files.size(), listener);
+
+            List<Item> pending = new ArrayList<>();
+            for (Path file : files) {
+                String fingerprint = fingerprint(file);
+                if (manifest.isImported(fingerprint)) {
+                    counters.skipped.incrementAndGet();
+                } else {
+                    pending.add(new Item(file, fingerprint));
+                }
+            }
+            counters.publish();
+            if (pending.isEmpty()) {
+                return counters.snapshot();
+            }
+
+            runPipeline(pending, manifest, counters);
+            return counters.snapshot();
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to read import directory " + directory, e);
+        } finally {
+            pool = null;
+            running.set(false);
+        }
+    }
+
+    public void cancel() {
+        cancelled = true;
+        ExecutorService current = pool;
+        if (current != null) {
+            current.shutdownNow();
+        }
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    private void runPipeline(List<Item> pending, BatchImportManifest manifest, Counters counters) {
+        BlockingQueue<Item> toTranscribe = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<Item> toAnalyze = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<Item> toSave = new ArrayBlockingQueue<>(queueCapacity);
+
+        ExecutorService executor = VirtualThreads.newExecutor("BatchImport-",
+                transcribeWorkers + analyzeWorkers + 2);
+        pool = executor;
+        if (cancelled) {
+            executor.shutdownNow();
+            return;
+        }
+
+        executor.execute(() -> {
+            try {
+                for (Item item : pending) {
+                    toTranscribe.put(item);
+                }
+                for (int i = 0; i < transcribeWorkers; i++) {
+                    toTranscribe.put(END);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        startStage(executor, "transcribe", transcribeWorkers, toTranscribe, toAnalyze, analyzeWorkers, counters, item -> {
+            item.transcript = transcriber.transcribeFile(item.file);
+            counters.transcribed.incrementAndGet();
+        });
+        startStage(executor, "analyze", analyzeWorkers, toAnalyze, toSave, 1, counters, item -> {
+            item.analysis = summarizer.analyze(item.transcript);
+            counters.analyzed.incrementAndGet();
+        });
+        // Saving stays single-threaded so manifest lines are written in completion order.
+        startStage(executor, "save", 1, toSave, null, 0, counters, item -> {
+            MeetingRecord record = buildMeetingRecord(item);
+            workspace.save(record);
+            searchService.index(record);
+            manifest.markImported(item.fingerprint, item.file, record.getId());
+            counters.completed.incrementAndGet();
+        });
+
+        executor.shutdown();
+        try {
+            while (!executor.awaitTermination(1, TimeUnit.SECONDS)) {
+                if (cancelled) {
+                    executor.shutdownNow();
+                }
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void startStage(ExecutorService executor, String stage, int workers,
+                            BlockingQueue<Item> input, BlockingQueue<Item> output, int downstreamWorkers,
+                            Counters counters, StageWork work) {
+        AtomicInteger remaining = new AtomicInteger(workers);
+        for (int i = 0; i < workers; i++) {
+            executor.execute(() -> {
+                try {
+                    while (true) {
+                        Item item = input.take();
+                        if (item == END) {
+                            break;
+                        }
+                        if (cancelled) {
+                            continue;
+                        }
+
+                        boolean ok = false;
+                        PipelineStageEvent event = new PipelineStageEvent();
+                        event.begin();
+                        try {
+                            work.process(item);
+                            ok = true;
+                        } catch (Exception e) {
+                            counters.failed.incrementAndGet();
+                            counters.fileFailed(item.file, e);
+                        }
+                        if (event.shouldCommit()) {
+                            event.pipeline = "import";
+                            event.stage = stage;
+                            event.meeting = item.file.getFileName().toString();
+                            event.succeeded = ok;
+                            event.commit();
+                        }
+                        counters.publish();
+                        if (ok && output != null) {
+                            output.put(item);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    if (remaining.decrementAndGet() == 0 && output != null) {
+                        signalEnd(output, downstreamWorkers);
+                    }
+                }
+            });
+        }
+    }
+
+    private static void signalEnd(BlockingQueue<Item> output, int downstreamWorkers) {
+        try {
+            for (int i = 0; i < downstreamWorkers; i++) {
+                output.put(END);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private MeetingRecord buildMeetingRecord(Item item) throws IOException {
+        // Deriving the id from the fingerprint makes a re-run after a crash overwrite rather than duplicate.
+        UUID id = UUID.nameUUIDFromBytes(item.fingerprint.getBytes(StandardCharsets.UTF_8));
+        MeetingRecord record = new MeetingRecord(id);
+        record.setTitle(titleFor(item.file));
+        record.setDate(LocalDateTime.ofInstant(
+                Files.getLastModifiedTime(item.file).toInstant(), ZoneId.systemDefault()));
+        record.setTranscript(item.transcript);
+        record.setSummary(item.analysis.getSummary());
+        record.setActions(item.analysis.getActions());
+        record.setAudioFilePath(item.file.toAbsolutePath().toString());
+        return record;
+    }
+
+    static String titleFor(Path file) {
+        String name = file.getFileName().toString().replaceFirst("(?i)\\.wav$", "");
+        String title = name.replace('_', ' ').trim();
+        return title.isEmpty() ? "Untitled Meeting" : title;
+    }
+
+    private static List<Path> listWavFiles(Path directory) throws IOException {
+        try (Stream<Path> stream = Files.list(directory)) {
+            return stream
+                    .filter(Files::isRegularFile)
+                    .filter(p -> p.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".wav"))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static String fingerprint(Path file) throws IOException {
+        return file.getFileName() + "|" + Files.size(file) + "|" + Files.getLastModifiedTime(file).toMillis();
+    }
+
+    private interface StageWork {
+        void process(Item item) throws Exception;
+    }
+
+    private static class Item {
+        private final Path file;
+        private final String fingerprint;
+        private volatile Transcript transcript;
+        private volatile MeetingAnalysis analysis;
+
+        Item(Path file, String fingerprint) {
+            this.file = file;
+            this.fingerprint = fingerprint;
+        }
+    }
+
+    private static class Counters {
+        private final int total;
+        private final BatchImportListener listener;
+        private final AtomicInteger skipped = new AtomicInteger();
+        private final AtomicInteger transcribed = new AtomicInteger();
+        private final AtomicInteger analyzed = new AtomicInteger();
+        private final AtomicInteger completed = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+
+        Counters(int total, BatchImportListener listener) {
+            this.total = total;
+            this.listener = listener;
+        }
+
+        BatchImportProgress snapshot() {
+            return new BatchImportProgress(total, skipped.get(), transcribed.get(), analyzed.get(),
+                    completed.get(), failed.get());
+        }
+
+        void publish() {
+            if (listener == null) {
+                return;
+            }
+            try {
+                listener.onProgress(snapshot());
+            } catch (Exception ignored) {
+            }
+        }
+
+        void fileFailed(Path file, Exception error) {
+            if (listener == null) {
+                return;
+            }
+            try {
+                listener.onFileFailed(file, error);
+            } catch (Exception ignored) {
+            }
+        }
+    }
+}
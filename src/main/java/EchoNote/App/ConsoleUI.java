@@ -5,6 +5,7 @@ import EchoNote.Arpit.ExportService;
 import EchoNote.Arpit.SearchService;
 import EchoNote.Jack.ActionItem;
 import EchoNote.Jack.ExportResult;
+import EchoNote.Jack.MeetingAnalysis;
 import EchoNote.Jack.MeetingRecord;
 import EchoNote.Jack.RecordNotFoundException;
 import EchoNote.Jack.Summary;
@@ -31,6 +32,7 @@ public class ConsoleUI {
     private final SearchService searchService;
     private final EmailNotifier emailNotifier;
     private final Recorder recorder;
+    private final BatchImporter batchImporter;
 
     private final Scanner scanner = new Scanner(System.in);
 
@@ -42,6 +44,7 @@ public class ConsoleUI {
         this.searchService = config.getSearchService();
         this.emailNotifier = config.getEmailNotifier();
         this.recorder = new Recorder();
+        this.batchImporter = config.getBatchImporter();
     }
 
     public void run() {
@@ -54,6 +57,7 @@ public class ConsoleUI {
                 case "2" -> handleSearchMeetings();
                 case "3" -> handleExportMeeting();
                 case "4" -> handleEmailSummary();
+                case "5" -> handleImportDirectory();
                 case "0" -> {
                     System.out.println("Goodbye!");
                     return;
@@ -70,6 +74,7 @@ public class ConsoleUI {
         System.out.println("2) Search / list meetings");
         System.out.println("3) Export meeting as Markdown");
         System.out.println("4) Email meeting summary");
+        System.out.println("5) Import a folder of WAV files");
         System.out.println("0) Exit");
         System.out.print("Choose option: ");
     }
@@ -84,11 +89,10 @@ public class ConsoleUI {
             System.out.println("Transcribing audio...");
             Transcript transcript = transcriber.transcribeFile(wavFile.toPath());
 
-            System.out.println("Generating summary...");
-            Summary summary = summarizer.summarize(transcript);
-
-            System.out.println("Extracting action items...");
-            List<ActionItem> actions = summarizer.extractActions(transcript);
+            System.out.println("Generating summary and action items...");
+            MeetingAnalysis analysis = summarizer.analyze(transcript);
+            Summary summary = analysis.getSummary();
+            List<ActionItem> actions = analysis.getActions();
 
             MeetingRecord record = buildMeetingRecord(transcript, summary, actions);
             workspace.save(record);
@@ -100,6 +104,33 @@ public class ConsoleUI {
         }
     }
 
+    private void handleImportDirectory() {
+        System.out.print("Enter folder to import [recordings]: ");
+        String input = scanner.nextLine().trim();
+        Path directory = Path.of(input.isEmpty() ? "recordings" : input);
+        if (!directory.toFile().isDirectory()) {
+            System.out.println("Folder not found: " + directory.toAbsolutePath());
+            return;
+        }
+
+        try {
+            BatchImportProgress result = batchImporter.importDirectory(directory, new BatchImportListener() {
+                @Override
+                public void onProgress(BatchImportProgress progress) {
+                    System.out.println("  " + progress);
+                }
+
+                @Override
+                public void onFileFailed(Path file, Exception error) {
+                    System.out.println("  Failed: " + file.getFileName() + " - " + error.getMessage());
+                }
+            });
+            System.out.println("Import finished. " + result);
+        } catch (Exception e) {
+            System.out.println("Error while importing: " + e.getMessage());
+        }
+    }
+
     private File chooseAudioSource() {
         System.out.println();
         System.out.println("Choose audio source:");
@@ -0,0 +1,121 @@
+package EchoNote.App;
+
+import EchoNote.Jack.MeetingRecord;
+import EchoNote.Jack.Summary;
+
+import java.io.File;
+import java.util.UUID;
+import java.util.concurrent.Future;
+
+public class MeetingJob {
+    private final UUID id;
+    private final File wavFile;
+    private final String title;
+    private final MeetingJobExecutor owner;
+
+    private volatile MeetingJobStage stage = MeetingJobStage.QUEUED;
+    private volatile MeetingRecord record;
+    private volatile Summary partialSummary;
+    private volatile Exception error;
+    private volatile Future<?> future;
+
+    MeetingJob(File wavFile, String title, MeetingJobExecutor owner) {
+        this.id = UUID.randomUUID();
+        this.wavFile = wavFile;
+        this.title = title;
+        this.owner = owner;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public File getWavFile() {
+        return wavFile;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public MeetingJobStage getStage() {
+        return stage;
+    }
+
+    public MeetingRecord getRecord() {
+        return record;
+    }
+
+    public Summary getPartialSummary() {
+        return partialSummary;
+    }
+
+    public Exception getError() {
+        return error;
+    }
+
+    public boolean isDone() {
+        return stage.isTerminal();
+    }
+
+    // Once SAVING has started the record is being persisted and indexed, so cancel() refuses rather than
+    // leave a job that shows CANCELLED while its meeting is in the workspace.
+    public boolean cancel() {
+        if (!markCancelled()) {
+            return false;
+        }
+        Future<?> f = future;
+        if (f != null) {
+            f.cancel(true);
+        }
+        owner.publish(this);
+        return true;
+    }
+
+    void setPartialSummary(Summary partialSummary) {
+        this.partialSummary = partialSummary;
+    }
+
+    void setFuture(Future<?> future) {
+        this.future = future;
+    }
+
+    synchronized boolean complete(MeetingRecord record) {
+        if (stage.isTerminal()) {
+            return false;
+        }
+        this.record = record;
+        stage = MeetingJobStage.COMPLETED;
+        return true;
+    }
+
+    synchronized boolean fail(Exception error) {
+        if (stage.isTerminal()) {
+            return false;
+        }
+        this.error = error;
+        stage = MeetingJobStage.FAILED;
+        return true;
+    }
+
+    private synchronized boolean markCancelled() {
+        if (stage.isTerminal() || stage == MeetingJobStage.SAVING) {
+            return false;
+        }
+        stage = MeetingJobStage.CANCELLED;
+        return true;
+    }
+
+    synchronized boolean moveTo(MeetingJobStage next) {
+        if (stage.isTerminal()) {
+            return false;
+        }
+        stage = next;
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return title + " (" + wavFile.getName() + ") - " + stage;
+    }
+}
@@ -0,0 +1,239 @@
+package EchoNote.App;
+
+import EchoNote.Arpit.SearchService;
+import EchoNote.Config.SemaphoreExecutor;
+import EchoNote.Config.VirtualThreads;
+import EchoNote.Jack.MeetingAnalysis;
+import EchoNote.Jack.MeetingRecord;
+import EchoNote.Jack.Transcript;
+import EchoNote.Jack.Workspace;
+import EchoNote.Mihail.Summarizer;
+import EchoNote.Mihail.Transcriber;
+
+import java.io.File;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class MeetingJobExecutor {
+
+    private final Transcriber transcriber;
+    private final Summarizer summarizer;
+    private final Workspace workspace;
+    private final SearchService searchService;
+    private final ExecutorService executor;
+
+    private final List<MeetingJobListener> listeners = new CopyOnWriteArrayList<>();
+    private final List<MeetingJob> activeJobs = new CopyOnWriteArrayList<>();
+
+    public MeetingJobExecutor(Transcriber transcriber,
+                              Summarizer summarizer,
+                              Workspace workspace,
+                              SearchService searchService,
+                              int maxConcurrentJobs,
+                              int queueCapacity) {
+        this(transcriber, summarizer, workspace, searchService, maxConcurrentJobs, queueCapacity,
+                VirtualThreads.isEnabled());
+    }
+
+    // With virtualThreads every job gets its own virtual thread and a semaphore admits maxConcurrentJobs
+    // of them at a time; otherwise a fixed pool of that many platform threads runs them.
+    public MeetingJobExecutor(Transcriber transcriber,
+                              Summarizer summarizer,
+                              Workspace workspace,
+                              SearchService searchService,
+                              int maxConcurrentJobs,
+                              int queueCapacity,
+                              boolean virtualThreads) {
+        if (maxConcurrentJobs < 1) {
+            throw new IllegalArgumentException("maxConcurrentJobs must be at least 1");
+        }
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("queueCapacity must be at least 1");
+        }
+
+        this.transcriber = transcriber;
+        this.summarizer = summarizer;
+        this.workspace = workspace;
+        this.searchService = searchService;
+
+        if (virtualThreads) {
+            this.executor = new SemaphoreExecutor(VirtualThreads.newThreadPerTaskExecutor("MeetingJob-"),
+                    maxConcurrentJobs, queueCapacity);
+            return;
+        }
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(
+                maxConcurrentJobs,
+                maxConcurrentJobs,
+                30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "MeetingJob-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        this.executor = pool;
+    }
+
+    public void addListener(MeetingJobListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(MeetingJobListener listener) {
+        listeners.remove(listener);
+    }
+
+    public MeetingJob submit(File wavFile, String title) {
+        return submit(wavFile, title, () -> transcriber.transcribeFile(wavFile.toPath()));
+    }
+
+    // Lets the caller supply the transcript, e.g. one already produced while the meeting was recorded.
+    public MeetingJob submit(File wavFile, String title, Callable<Transcript> transcriptSource) {
+        if (transcriptSource == null) {
+            throw new IllegalArgumentException("transcriptSource cannot be null");
+        }
+        if (wavFile == null || !wavFile.isFile()) {
+            throw new IllegalArgumentException("wavFile must exist: " + wavFile);
+        }
+
+        String jobTitle = title == null || title.isBlank() ? "Untitled Meeting" : title;
+        MeetingJob job = new MeetingJob(wavFile, jobTitle, this);
+
+        activeJobs.add(job);
+        publish(job);
+        try {
+            job.setFuture(executor.submit(() -> run(job, transcriptSource)));
+        } catch (RejectedExecutionException e) {
+            IllegalStateException full = new IllegalStateException("Meeting job queue is full, try again later", e);
+            job.fail(full);
+            publish(job);
+            throw full;
+        }
+        return job;
+    }
+
+    public List<MeetingJob> getActiveJobs() {
+        return new ArrayList<>(activeJobs);
+    }
+
+    public int getQueuedCount() {
+        if (executor instanceof SemaphoreExecutor semaphoreExecutor) {
+            return semaphoreExecutor.getQueuedCount();
+        }
+        return ((ThreadPoolExecutor) executor).getQueue().size();
+    }
+
+    public void shutdown() {
+        for (MeetingJob job : activeJobs) {
+            job.cancel();
+        }
+        executor.shutdownNow();
+    }
+
+    private void run(MeetingJob job, Callable<Transcript> transcriptSource) {
+        try {
+            if (!advance(job, MeetingJobStage.TRANSCRIBING)) {
+                return;
+            }
+            Transcript transcript = inStage(job, MeetingJobStage.TRANSCRIBING, transcriptSource);
+
+            if (!advance(job, MeetingJobStage.ANALYZING)) {
+                return;
+            }
+            MeetingAnalysis analysis = inStage(job, MeetingJobStage.ANALYZING,
+                    () -> summarizer.analyze(transcript, partial -> {
+                        if (!job.isDone()) {
+                            job.setPartialSummary(partial);
+                            publishPartial(job);
+                        }
+                    }));
+
+            if (!advance(job, MeetingJobStage.SAVING)) {
+                return;
+            }
+            MeetingRecord record = inStage(job, MeetingJobStage.SAVING, () -> {
+                MeetingRecord built = buildMeetingRecord(job, transcript, analysis);
+                workspace.save(built);
+                searchService.index(built);
+                return built;
+            });
+
+            if (job.complete(record)) {
+                publish(job);
+            }
+        } catch (Exception e) {
+            if (job.fail(e)) {
+                publish(job);
+            }
+        }
+    }
+
+    private static <T> T inStage(MeetingJob job, MeetingJobStage stage, Callable<T> work) throws Exception {
+        PipelineStageEvent event = new PipelineStageEvent();
+        event.begin();
+        boolean succeeded = false;
+        try {
+            T result = work.call();
+            succeeded = true;
+            return result;
+        } finally {
+            if (event.shouldCommit()) {
+                event.pipeline = "job";
+                event.stage = stage.name();
+                event.meeting = job.getTitle();
+                event.succeeded = succeeded;
+                event.commit();
+            }
+        }
+    }
+
+    private boolean advance(MeetingJob job, MeetingJobStage stage) {
+        if (Thread.currentThread().isInterrupted() || !job.moveTo(stage)) {
+            return false;
+        }
+        publish(job);
+        return true;
+    }
+
+    private MeetingRecord buildMeetingRecord(MeetingJob job, Transcript transcript, MeetingAnalysis analysis) {
+        MeetingRecord record = new MeetingRecord();
+        record.setTitle(job.getTitle());
+        record.setDate(LocalDateTime.now());
+        record.setTranscript(transcript);
+        record.setSummary(analysis.getSummary());
+        record.setActions(analysis.getActions());
+        record.setAudioFilePath(job.getWavFile().getAbsolutePath());
+        return record;
+    }
+
+    private void publishPartial(MeetingJob job) {
+        for (MeetingJobListener listener : listeners) {
+            try {
+                listener.onPartialSummary(job);
+            } catch (Exception ignored) {
+            }
+        }
+    }
+
+    void publish(MeetingJob job) {
+        if (job.isDone()) {
+            activeJobs.remove(job);
+        }
+        for (MeetingJobListener listener : listeners) {
+            try {
+                listener.onJobUpdated(job);
+            } catch (Exception ignored) {
+            }
+        }
+    }
+}
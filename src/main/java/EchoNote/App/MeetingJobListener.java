@@ -0,0 +1,9 @@
+package EchoNote.App;
+
+public interface MeetingJobListener {
+
+    void onJobUpdated(MeetingJob job);
+
+    default void onPartialSummary(MeetingJob job) {
+    }
+}
@@ -0,0 +1,15 @@
+package EchoNote.App;
+
+public enum MeetingJobStage {
+    QUEUED,
+    TRANSCRIBING,
+    ANALYZING,
+    SAVING,
+    COMPLETED,
+    FAILED,
+    CANCELLED;
+
+    public boolean isTerminal() {
+        return this == COMPLETED || this == FAILED || this == CANCELLED;
+    }
+}
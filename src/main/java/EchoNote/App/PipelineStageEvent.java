@@ -0,0 +1,27 @@
+package EchoNote.App;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("EchoNote.PipelineStage")
+@Label("Pipeline Stage")
+@Category({"EchoNote", "Pipeline"})
+@Description("Time a meeting spent in one processing stage")
+@StackTrace(false)
+class PipelineStageEvent extends jdk.jfr.Event {
+
+    @Label("Pipeline")
+    String pipeline;
+
+    @Label("Stage")
+    String stage;
+
+    @Label("Meeting")
+    String meeting;
+
+    @Label("Succeeded")
+    boolean succeeded;
+}
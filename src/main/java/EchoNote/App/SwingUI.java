@@ -3,36 +3,49 @@ package EchoNote.App;
 import EchoNote.Arpit.EmailNotifier;
 import EchoNote.Arpit.ExportService;
 import EchoNote.Arpit.SearchService;
+import EchoNote.Config.DiagnosticRecording;
 import EchoNote.Jack.ActionItem;
 import EchoNote.Jack.ExportResult;
 import EchoNote.Jack.MeetingRecord;
 import EchoNote.Jack.Summary;
 import EchoNote.Jack.Transcript;
 import EchoNote.Jack.Workspace;
+import EchoNote.Mihail.LevelMeter;
+import EchoNote.Mihail.LiveTranscriber;
 import EchoNote.Mihail.Recorder;
-import EchoNote.Mihail.Summarizer;
+import EchoNote.Mihail.RecordingResult;
 import EchoNote.Mihail.Transcriber;
+import EchoNote.Mihail.TranscriptionException;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.io.File;
 import java.nio.file.Path;
-import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class SwingUI extends JFrame {
 
+    private static final Color[] MIC_LEVEL_COLORS = buildMicLevelColors(64);
+    private static final int MAX_LISTED_IMPORT_FAILURES = 10;
+
     private final Workspace workspace;
-    private final Transcriber transcriber;
-    private final Summarizer summarizer;
     private final ExportService exportService;
     private final SearchService searchService;
     private final EmailNotifier emailNotifier;
     private final Recorder recorder;
+    private final Transcriber transcriber;
+    private final MeetingJobExecutor jobExecutor;
+    private final BatchImporter batchImporter;
+    private final DiagnosticRecording diagnosticRecording;
 
+    private final DefaultListModel<MeetingJob> jobListModel = new DefaultListModel<>();
+    private final JList<MeetingJob> jobList = new JList<>(jobListModel);
     private final DefaultListModel<MeetingRecord> meetingListModel = new DefaultListModel<>();
     private final JList<MeetingRecord> meetingList = new JList<>(meetingListModel);
     private final JTextArea detailsArea = new JTextArea();
@@ -43,12 +56,14 @@ public class SwingUI extends JFrame {
         super("EchoNote Demo");
 
         this.workspace = config.getWorkspace();
-        this.transcriber = config.getTranscriber();
-        this.summarizer = config.getSummarizer();
         this.exportService = config.getExportService();
         this.searchService = config.getSearchService();
         this.emailNotifier = config.getEmailNotifier();
         this.recorder = new Recorder();
+        this.transcriber = config.getTranscriber();
+        this.jobExecutor = config.getJobExecutor();
+        this.batchImporter = config.getBatchImporter();
+        this.diagnosticRecording = config.getDiagnosticRecording();
 
         initLayout();
         initBehavior();
@@ -89,6 +104,16 @@ public class SwingUI extends JFrame {
         leftPanel.add(searchPanel, BorderLayout.NORTH);
         leftPanel.add(listScroll, BorderLayout.CENTER);
 
+        JPanel jobsPanel = new JPanel(new BorderLayout(4, 4));
+        jobsPanel.setBorder(BorderFactory.createTitledBorder("Processing"));
+        jobList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        jobList.setVisibleRowCount(3);
+        jobsPanel.add(new JScrollPane(jobList), BorderLayout.CENTER);
+        JButton cancelJobBtn = new JButton("Cancel Job");
+        cancelJobBtn.addActionListener(e -> handleCancelSelectedJob());
+        jobsPanel.add(cancelJobBtn, BorderLayout.EAST);
+        leftPanel.add(jobsPanel, BorderLayout.SOUTH);
+
         JPanel rightPanel = new JPanel(new BorderLayout(4, 4));
         detailsArea.setEditable(false);
         detailsArea.setLineWrap(true);
@@ -100,6 +125,7 @@ public class SwingUI extends JFrame {
         JPanel buttonPanel = new JPanel(new GridLayout(0, 1, 4, 4));
         JButton newFromMicBtn = new JButton("New Meeting from Mic");
         JButton newFromWavBtn = new JButton("New Meeting from WAV");
+        JButton importFolderBtn = new JButton("Import WAV Folder");
         JButton exportBtn = new JButton("Export as Markdown");
         JButton emailBtn = new JButton("Email Summary");
         JButton refreshBtn = new JButton("Refresh List");
@@ -107,9 +133,15 @@ public class SwingUI extends JFrame {
 
         buttonPanel.add(newFromMicBtn);
         buttonPanel.add(newFromWavBtn);
+        buttonPanel.add(importFolderBtn);
         buttonPanel.add(exportBtn);
         buttonPanel.add(emailBtn);
         buttonPanel.add(refreshBtn);
+        if (diagnosticRecording != null) {
+            JButton diagnosticsBtn = new JButton("Save Diagnostics");
+            diagnosticsBtn.addActionListener(e -> handleSaveDiagnostics());
+            buttonPanel.add(diagnosticsBtn);
+        }
         buttonPanel.add(exitBtn);
 
         rightPanel.add(buttonPanel, BorderLayout.EAST);
@@ -122,6 +154,7 @@ public class SwingUI extends JFrame {
 
         newFromMicBtn.addActionListener(e -> handleNewMeetingFromMic());
         newFromWavBtn.addActionListener(e -> handleNewMeetingFromWav());
+        importFolderBtn.addActionListener(e -> handleImportFolder());
         exportBtn.addActionListener(e -> handleExportSelected());
         emailBtn.addActionListener(e -> handleEmailSelected());
         refreshBtn.addActionListener(e -> refreshMeetingList());
@@ -131,10 +164,20 @@ public class SwingUI extends JFrame {
     private void initBehavior() {
         meetingList.addListSelectionListener(e -> {
             if (!e.getValueIsAdjusting()) {
+                if (meetingList.getSelectedValue() != null) {
+                    jobList.clearSelection();
+                }
                 showSelectedMeetingDetails();
             }
         });
 
+        jobList.addListSelectionListener(e -> {
+            if (!e.getValueIsAdjusting() && jobList.getSelectedValue() != null) {
+                meetingList.clearSelection();
+                showSelectedJobDetails();
+            }
+        });
+
         meetingList.addMouseListener(new MouseAdapter() {
             private void maybeShowPopup(MouseEvent e) {
                 if (e.isPopupTrigger()) {
@@ -154,6 +197,18 @@ public class SwingUI extends JFrame {
             public void mouseReleased(MouseEvent e) { maybeShowPopup(e); }
         });
 
+        jobExecutor.addListener(new MeetingJobListener() {
+            @Override
+            public void onJobUpdated(MeetingJob job) {
+                SwingUtilities.invokeLater(() -> SwingUI.this.onJobUpdated(job));
+            }
+
+            @Override
+            public void onPartialSummary(MeetingJob job) {
+                SwingUtilities.invokeLater(() -> SwingUI.this.onPartialSummary(job));
+            }
+        });
+
         refreshMeetingList();
     }
 
@@ -187,6 +242,20 @@ public class SwingUI extends JFrame {
         dialog.add(center, BorderLayout.CENTER);
         dialog.add(bottom, BorderLayout.SOUTH);
 
+        // Segments are transcribed while recording, so Stop only waits for the tail.
+        LiveTranscriber live = new LiveTranscriber(transcriber, Recorder.getAudioFormat());
+
+        // The capture thread only updates the meter; the EDT samples it once per display frame.
+        LevelMeter meter = new LevelMeter(Recorder.getAudioFormat().getFrameRate());
+        Timer meterTimer = new Timer(1000 / LevelMeter.DEFAULT_UPDATES_PER_SECOND,
+                e -> updateMicLevel(micLabel, meter.getRms()));
+        dialog.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                meterTimer.stop();
+            }
+        });
+
         startBtn.addActionListener(e -> {
             startBtn.setEnabled(false);
             stopBtn.setEnabled(true);
@@ -194,11 +263,10 @@ public class SwingUI extends JFrame {
             setStatus("Recording from microphone...");
 
             try {
-                recorder.startInteractiveRecording(
-                        "echonote-recording-",
-                        level -> SwingUtilities.invokeLater(() -> updateMicLevel(micLabel, level))
-                );
+                recorder.startInteractiveRecording("echonote-recording-", meter, live);
+                meterTimer.start();
             } catch (Exception ex) {
+                live.cancel();
                 showError("Could not start recording: " + ex.getMessage());
                 dialog.dispose();
             }
@@ -206,21 +274,28 @@ public class SwingUI extends JFrame {
 
         stopBtn.addActionListener(e -> {
             stopBtn.setEnabled(false);
+            meterTimer.stop();
             setStatus("Stopping recording...");
 
-            SwingWorker<Path, Void> worker = new SwingWorker<>() {
+            SwingWorker<RecordingResult, Void> worker = new SwingWorker<>() {
                 @Override
-                protected Path doInBackground() {
-                    return recorder.stopInteractiveRecording();
+                protected RecordingResult doInBackground() {
+                    RecordingResult recording = recorder.stopInteractiveRecording();
+                    live.finish();
+                    return recording;
                 }
 
                 @Override
                 protected void done() {
                     try {
-                        Path wavPath = get();
+                        RecordingResult recording = get();
                         dialog.dispose();
-                        createMeetingFromWavFile(wavPath.toFile(), true);
+                        if (recording.hasDroppedAudio()) {
+                            showWarning(describeDroppedAudio(recording));
+                        }
+                        createMeetingFromWavFile(recording.getFile().toFile(), true, live);
                     } catch (Exception ex) {
+                        live.cancel();
                         showError("Recording failed: " + ex.getMessage());
                         dialog.dispose();
                     }
@@ -229,18 +304,33 @@ public class SwingUI extends JFrame {
             worker.execute();
         });
 
-        cancelBtn.addActionListener(e2 -> dialog.dispose());
+        cancelBtn.addActionListener(e2 -> {
+            live.cancel();
+            dialog.dispose();
+        });
 
         dialog.setVisible(true);
     }
 
     private void updateMicLevel(JLabel micLabel, double level) {
         double clamped = Math.min(1.0, Math.max(0.0, level));
+        Color color = MIC_LEVEL_COLORS[(int) Math.round(clamped * (MIC_LEVEL_COLORS.length - 1))];
+        if (micLabel.getForeground() != color) {
+            micLabel.setForeground(color);
+        }
+    }
+
+    private static Color[] buildMicLevelColors(int steps) {
+        Color[] colors = new Color[steps];
         int base = 40;
-        int red = (int) (base + clamped * (255 - base));
-        int green = (int) (base * (1.0 - clamped));
-        int blue = (int) (base * (1.0 - clamped));
-        micLabel.setForeground(new Color(red, green, blue));
+        for (int i = 0; i < steps; i++) {
+            double level = i / (double) (steps - 1);
+            int red = (int) (base + level * (255 - base));
+            int green = (int) (base * (1.0 - level));
+            int blue = (int) (base * (1.0 - level));
+            colors[i] = new Color(red, green, blue);
+        }
+        return colors;
     }
 
     private void handleNewMeetingFromWav() {
@@ -267,42 +357,185 @@ public class SwingUI extends JFrame {
         createMeetingFromWavFile(wavFile, false);
     }
 
-    private void createMeetingFromWavFile(File wavFile, boolean renameBasedOnTitle) {
-        try {
-            setStatus("Transcribing audio...");
-            Transcript transcript = transcriber.transcribeFile(wavFile.toPath());
+    private void handleImportFolder() {
+        if (batchImporter.isRunning()) {
+            int choice = JOptionPane.showConfirmDialog(this,
+                    "An import is already running. Cancel it?",
+                    "Import in progress",
+                    JOptionPane.YES_NO_OPTION);
+            if (choice == JOptionPane.YES_OPTION) {
+                batchImporter.cancel();
+            }
+            return;
+        }
+
+        File recordingsDir = new File("recordings");
+        if (!recordingsDir.exists()) {
+            recordingsDir.mkdirs();
+        }
+
+        JFileChooser chooser = new JFileChooser(recordingsDir);
+        chooser.setDialogTitle("Choose folder of WAV files to import");
+        chooser.setFileSelectionMode(JFileChooser.DIRECTORIES_ONLY);
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        File directory = chooser.getSelectedFile();
+        List<String> failures = new CopyOnWriteArrayList<>();
 
-            setStatus("Generating summary...");
-            Summary summary = summarizer.summarize(transcript);
+        SwingWorker<BatchImportProgress, BatchImportProgress> worker = new SwingWorker<>() {
+            @Override
+            protected BatchImportProgress doInBackground() {
+                return batchImporter.importDirectory(directory.toPath(), new BatchImportListener() {
+                    @Override
+                    public void onProgress(BatchImportProgress progress) {
+                        publish(progress);
+                    }
 
-            setStatus("Extracting action items...");
-            List<ActionItem> actions = summarizer.extractActions(transcript);
+                    @Override
+                    public void onFileFailed(Path file, Exception error) {
+                        failures.add(file.getFileName() + ": " + error.getMessage());
+                    }
+                });
+            }
 
-            String title = JOptionPane.showInputDialog(
-                    this,
-                    "Enter a name for this meeting:",
-                    "New Meeting",
-                    JOptionPane.PLAIN_MESSAGE
-            );
-            if (title == null || title.isBlank()) {
-                title = "Untitled Meeting";
+            @Override
+            protected void process(List<BatchImportProgress> chunks) {
+                setStatus(chunks.get(chunks.size() - 1).toString());
             }
 
-            File finalWavFile = wavFile;
-            if (renameBasedOnTitle) {
-                finalWavFile = renameWavToTitle(wavFile, title);
+            @Override
+            protected void done() {
+                try {
+                    BatchImportProgress result = get();
+                    refreshMeetingList();
+                    if (failures.isEmpty()) {
+                        setStatus("Import finished. " + result);
+                    } else {
+                        showError("Import finished with " + failures.size() + " failed file(s). " + result
+                                + "\n\n" + describeImportFailures(failures));
+                    }
+                } catch (Exception ex) {
+                    showError("Import failed: " + ex.getMessage());
+                }
             }
+        };
+        setStatus("Importing " + directory.getAbsolutePath() + "...");
+        worker.execute();
+    }
+
+    private static String describeImportFailures(List<String> failures) {
+        int shown = Math.min(failures.size(), MAX_LISTED_IMPORT_FAILURES);
+        StringBuilder text = new StringBuilder(String.join("\n", failures.subList(0, shown)));
+        if (failures.size() > shown) {
+            text.append("\n... and ").append(failures.size() - shown).append(" more");
+        }
+        return text.toString();
+    }
+
+    private void createMeetingFromWavFile(File wavFile, boolean renameBasedOnTitle) {
+        createMeetingFromWavFile(wavFile, renameBasedOnTitle, null);
+    }
+
+    private void createMeetingFromWavFile(File wavFile, boolean renameBasedOnTitle, LiveTranscriber live) {
+        String title = JOptionPane.showInputDialog(
+                this,
+                "Enter a name for this meeting:",
+                "New Meeting",
+                JOptionPane.PLAIN_MESSAGE
+        );
+        if (title == null || title.isBlank()) {
+            title = "Untitled Meeting";
+        }
 
-            MeetingRecord record = buildMeetingRecord(transcript, summary, actions, title, finalWavFile);
-            workspace.save(record);
-            searchService.index(record);
+        File finalWavFile = wavFile;
+        if (renameBasedOnTitle) {
+            finalWavFile = renameWavToTitle(wavFile, title);
+        }
 
-            refreshMeetingList();
-            selectMeeting(record);
-            setStatus("Meeting created and saved with ID " + record.getId());
+        try {
+            if (live == null) {
+                jobExecutor.submit(finalWavFile, title);
+            } else {
+                File wav = finalWavFile;
+                jobExecutor.submit(finalWavFile, title, () -> awaitLiveTranscript(live, wav));
+            }
         } catch (Exception ex) {
+            if (live != null) {
+                live.cancel();
+            }
             showError("Error creating meeting: " + ex.getMessage());
-            ex.printStackTrace(System.out);
+        }
+    }
+
+    private Transcript awaitLiveTranscript(LiveTranscriber live, File wavFile) {
+        try {
+            return live.awaitTranscript();
+        } catch (TranscriptionException e) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw e;
+            }
+            // A segment failed or the live tap dropped audio; the full recording is still on disk, so
+            // transcribe it in one go.
+            return transcriber.transcribeFile(wavFile.toPath());
+        }
+    }
+
+    private void onJobUpdated(MeetingJob job) {
+        int index = jobListModel.indexOf(job);
+        if (job.isDone()) {
+            if (index >= 0) {
+                jobListModel.remove(index);
+            }
+        } else if (index >= 0) {
+            jobListModel.set(index, job);
+        } else {
+            jobListModel.addElement(job);
+        }
+        if (!job.isDone() && jobList.getSelectedValue() == job) {
+            showSelectedJobDetails();
+        }
+
+        switch (job.getStage()) {
+            case QUEUED -> setStatus("Queued: " + job.getTitle());
+            case TRANSCRIBING -> setStatus("Transcribing audio: " + job.getTitle());
+            case ANALYZING -> {
+                setStatus("Generating summary and action items: " + job.getTitle());
+                if (meetingList.getSelectedValue() == null && jobList.getSelectedValue() == null) {
+                    jobList.setSelectedValue(job, true);
+                }
+            }
+            case SAVING -> setStatus("Saving meeting: " + job.getTitle());
+            case CANCELLED -> setStatus("Cancelled: " + job.getTitle());
+            case COMPLETED -> {
+                MeetingRecord record = job.getRecord();
+                MeetingRecord selected = meetingList.getSelectedValue();
+                refreshMeetingList();
+                selectMeeting(selected != null ? selected : record);
+                setStatus("Meeting created and saved with ID " + record.getId());
+            }
+            case FAILED -> {
+                Exception ex = job.getError();
+                showError("Error creating meeting \"" + job.getTitle() + "\": " + ex.getMessage());
+                ex.printStackTrace(System.out);
+            }
+        }
+    }
+
+    private void onPartialSummary(MeetingJob job) {
+        if (jobList.getSelectedValue() == job) {
+            showSelectedJobDetails();
+        }
+    }
+
+    private void handleCancelSelectedJob() {
+        MeetingJob job = jobList.getSelectedValue();
+        if (job == null) {
+            showError("Select a job to cancel first.");
+            return;
+        }
+        if (!job.cancel() && !job.isDone()) {
+            setStatus("Too late to cancel, already saving: " + job.getTitle());
         }
     }
 
@@ -456,23 +689,6 @@ public class SwingUI extends JFrame {
         }
     }
 
-    private MeetingRecord buildMeetingRecord(Transcript transcript,
-                                             Summary summary,
-                                             List<ActionItem> actions,
-                                             String title,
-                                             File wavFile) {
-        MeetingRecord record = new MeetingRecord();
-        record.setTitle(title);
-        record.setDate(LocalDateTime.now());
-        record.setTranscript(transcript);
-        record.setSummary(summary);
-        record.setActions(actions);
-        if (wavFile != null) {
-            record.setAudioFilePath(wavFile.getAbsolutePath());
-        }
-        return record;
-    }
-
     private void refreshMeetingList() {
         meetingListModel.clear();
         List<MeetingRecord> all = searchService.search("");
@@ -488,7 +704,11 @@ public class SwingUI extends JFrame {
     private void showSelectedMeetingDetails() {
         MeetingRecord record = meetingList.getSelectedValue();
         if (record == null) {
-            detailsArea.setText("");
+            if (jobList.getSelectedValue() != null) {
+                showSelectedJobDetails();
+            } else {
+                detailsArea.setText("");
+            }
             return;
         }
 
@@ -499,24 +719,7 @@ public class SwingUI extends JFrame {
 
         Summary summary = record.getSummary();
         if (summary != null) {
-            sb.append("SUMMARY\n");
-            if (summary.getNotes() != null) {
-                sb.append(summary.getNotes()).append("\n\n");
-            }
-            if (!summary.getTopics().isEmpty()) {
-                sb.append("Topics:\n");
-                for (String t : summary.getTopics()) {
-                    sb.append(" - ").append(t).append("\n");
-                }
-                sb.append("\n");
-            }
-            if (!summary.getDecisions().isEmpty()) {
-                sb.append("Decisions:\n");
-                for (String d : summary.getDecisions()) {
-                    sb.append(" - ").append(d).append("\n");
-                }
-                sb.append("\n");
-            }
+            appendSummary(sb, summary);
         }
 
         if (!record.getActions().isEmpty()) {
@@ -541,10 +744,81 @@ public class SwingUI extends JFrame {
         detailsArea.setCaretPosition(0);
     }
 
+    private void showSelectedJobDetails() {
+        MeetingJob job = jobList.getSelectedValue();
+        if (job == null) {
+            return;
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("Title: ").append(job.getTitle()).append("\n");
+        sb.append("Status: ").append(job.getStage()).append("\n\n");
+
+        Summary partial = job.getPartialSummary();
+        if (partial != null) {
+            appendSummary(sb, partial);
+            sb.append("(still generating...)\n");
+        }
+
+        detailsArea.setText(sb.toString());
+        detailsArea.setCaretPosition(0);
+    }
+
+    private void appendSummary(StringBuilder sb, Summary summary) {
+        sb.append("SUMMARY\n");
+        if (summary.getNotes() != null && !summary.getNotes().isEmpty()) {
+            sb.append(summary.getNotes()).append("\n\n");
+        }
+        if (!summary.getTopics().isEmpty()) {
+            sb.append("Topics:\n");
+            for (String t : summary.getTopics()) {
+                sb.append(" - ").append(t).append("\n");
+            }
+            sb.append("\n");
+        }
+        if (!summary.getDecisions().isEmpty()) {
+            sb.append("Decisions:\n");
+            for (String d : summary.getDecisions()) {
+                sb.append(" - ").append(d).append("\n");
+            }
+            sb.append("\n");
+        }
+    }
+
+    private void handleSaveDiagnostics() {
+        setStatus("Saving flight recording...");
+        SwingWorker<Path, Void> worker = new SwingWorker<>() {
+            @Override
+            protected Path doInBackground() throws Exception {
+                return diagnosticRecording.dump();
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    setStatus("Flight recording saved to " + get().toAbsolutePath());
+                } catch (Exception ex) {
+                    showError("Could not save flight recording: " + ex.getMessage());
+                }
+            }
+        };
+        worker.execute();
+    }
+
     private void setStatus(String text) {
         statusLabel.setText(text);
     }
 
+    private static String describeDroppedAudio(RecordingResult recording) {
+        double seconds = recording.getDroppedAudio().toMillis() / 1000.0;
+        return String.format("The disk could not keep up while recording: about %.1f s of audio was lost "
+                + "and replaced with silence.", seconds);
+    }
+
+    private void showWarning(String msg) {
+        JOptionPane.showMessageDialog(this, msg, "Warning", JOptionPane.WARNING_MESSAGE);
+    }
+
     private void showError(String msg) {
         statusLabel.setText("Error: " + msg);
         JOptionPane.showMessageDialog(this, msg, "Error", JOptionPane.ERROR_MESSAGE);
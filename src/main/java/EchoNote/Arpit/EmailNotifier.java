@@ -61,7 +61,7 @@ public class EmailNotifier implements Notifier {
         return "[EchoNote] " + title;
     }
 
-    private String buildBody(MeetingRecord record, Summary summary, List<ActionItem> actionItems) {
+    String buildBody(MeetingRecord record, Summary summary, List<ActionItem> actionItems) {
         StringBuilder sb = new StringBuilder();
 
         String title = record.getTitle() != null ? record.getTitle() : "Meeting";
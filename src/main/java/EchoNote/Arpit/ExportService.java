@@ -1,5 +1,7 @@
 package EchoNote.Arpit;
 
+import EchoNote.Config.LatencyHistogram;
+import EchoNote.Config.Metrics;
 import EchoNote.Jack.ActionItem;
 import EchoNote.Jack.ExportResult;
 import EchoNote.Jack.MeetingRecord;
@@ -11,6 +13,8 @@ import java.io.IOException;
 
 public class ExportService {
 
+    private static final LatencyHistogram MARKDOWN_LATENCY = Metrics.histogram("export.markdown");
+
     private final File exportDirectory;
 
     public ExportService() {
@@ -26,6 +30,15 @@ public class ExportService {
             throw new IllegalArgumentException("record cannot be null");
         }
 
+        long start = System.nanoTime();
+        try {
+            return writeMarkdown(record);
+        } finally {
+            MARKDOWN_LATENCY.recordSince(start);
+        }
+    }
+
+    private ExportResult writeMarkdown(MeetingRecord record) {
         if (!exportDirectory.exists() && !exportDirectory.mkdirs()) {
             return new ExportResult(
                     false,
@@ -48,7 +61,7 @@ public class ExportService {
                 "Exported to " + outFile.getAbsolutePath());
     }
 
-    private String buildMarkdown(MeetingRecord record) {
+    String buildMarkdown(MeetingRecord record) {
         StringBuilder sb = new StringBuilder();
 
         sb.append("# Meeting ")
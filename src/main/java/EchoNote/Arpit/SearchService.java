@@ -1,17 +1,39 @@
 package EchoNote.Arpit;
 
+import EchoNote.Config.LatencyHistogram;
+import EchoNote.Config.Metrics;
+import EchoNote.Jack.ActionItem;
 import EchoNote.Jack.MeetingRecord;
+import EchoNote.Jack.Participant;
+import EchoNote.Jack.Summary;
 import EchoNote.Jack.Workspace;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 
 public class SearchService {
 
+    private static final String OR_OPERATOR = "OR";
+    private static final String AND_OPERATOR = "AND";
+    private static final LatencyHistogram SEARCH_LATENCY = Metrics.histogram("search.search");
+
     private final Workspace workspace;
-    private final List<MeetingRecord> indexedRecords = new ArrayList<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, IndexedRecord> documents = new LinkedHashMap<>();
+    private final NavigableMap<String, Set<UUID>> postings = new TreeMap<>();
+    private long nextSequence;
 
     public SearchService(Workspace workspace) {
         this.workspace = workspace;
@@ -21,48 +43,207 @@ public class SearchService {
         if (record == null) {
             throw new IllegalArgumentException("record must not be null");
         }
-        if (!indexedRecords.contains(record)) {
-            indexedRecords.add(record);
+
+        Set<String> terms = collectTerms(record);
+
+        lock.writeLock().lock();
+        try {
+            IndexedRecord previous = documents.get(record.getId());
+            long sequence;
+            if (previous != null) {
+                removePostings(record.getId(), previous.terms);
+                sequence = previous.sequence;
+            } else {
+                sequence = nextSequence++;
+            }
+
+            documents.put(record.getId(), new IndexedRecord(record, terms, sequence));
+            for (String term : terms) {
+                postings.computeIfAbsent(term, t -> new HashSet<>()).add(record.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
         }
     }
 
     public List<MeetingRecord> search(String query) {
-        if (query == null || query.isBlank()) {
-            return Collections.unmodifiableList(new ArrayList<>(indexedRecords));
+        long start = System.nanoTime();
+        try {
+            return searchLocked(query);
+        } finally {
+            SEARCH_LATENCY.recordSince(start);
         }
+    }
 
-        String normalized = query.toLowerCase();
-        List<MeetingRecord> results = new ArrayList<>();
+    private List<MeetingRecord> searchLocked(String query) {
+        lock.readLock().lock();
+        try {
+            if (query == null || query.isBlank()) {
+                List<MeetingRecord> all = new ArrayList<>(documents.size());
+                for (IndexedRecord doc : documents.values()) {
+                    all.add(doc.record);
+                }
+                return Collections.unmodifiableList(all);
+            }
+
+            Set<UUID> matches = new HashSet<>();
+            for (List<String> clause : parseClauses(query)) {
+                matches.addAll(matchClause(clause));
+            }
+
+            List<IndexedRecord> hits = new ArrayList<>(matches.size());
+            for (UUID id : matches) {
+                hits.add(documents.get(id));
+            }
+            hits.sort(Comparator.comparingLong(doc -> doc.sequence));
+
+            List<MeetingRecord> results = new ArrayList<>(hits.size());
+            for (IndexedRecord doc : hits) {
+                results.add(doc.record);
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Set<UUID> matchClause(List<String> clause) {
+        List<Set<UUID>> termMatches = new ArrayList<>(clause.size());
+        for (String term : clause) {
+            Set<UUID> ids = matchTerm(term);
+            if (ids.isEmpty()) {
+                return Collections.emptySet();
+            }
+            termMatches.add(ids);
+        }
+        if (termMatches.isEmpty()) {
+            return Collections.emptySet();
+        }
+
+        termMatches.sort(Comparator.comparingInt(Set::size));
+        Set<UUID> result = new HashSet<>(termMatches.get(0));
+        for (int i = 1; i < termMatches.size() && !result.isEmpty(); i++) {
+            result.retainAll(termMatches.get(i));
+        }
+        return result;
+    }
+
+    // Every query term matches as a prefix, so partial words typed into the search box ("meet", "budg")
+    // still find their meetings; a trailing * is accepted but changes nothing.
+    private Set<UUID> matchTerm(String prefix) {
+        NavigableMap<String, Set<UUID>> range = postings.subMap(prefix, true, prefix + Character.MAX_VALUE, true);
+        if (range.size() == 1) {
+            return range.firstEntry().getValue();
+        }
+        Set<UUID> ids = new HashSet<>();
+        for (Set<UUID> posting : range.values()) {
+            ids.addAll(posting);
+        }
+        return ids;
+    }
 
-        for (MeetingRecord record : indexedRecords) {
-            if (record == null) {
+    private List<List<String>> parseClauses(String query) {
+        List<List<String>> clauses = new ArrayList<>();
+        List<String> current = new ArrayList<>();
+
+        for (String word : query.trim().split("\\s+")) {
+            if (word.equals(OR_OPERATOR)) {
+                if (!current.isEmpty()) {
+                    clauses.add(current);
+                    current = new ArrayList<>();
+                }
+                continue;
+            }
+            if (word.equals(AND_OPERATOR)) {
                 continue;
             }
 
-            StringBuilder searchable = new StringBuilder();
+            tokenize(word, current);
+        }
+        if (!current.isEmpty()) {
+            clauses.add(current);
+        }
+        return clauses;
+    }
 
-            if (record.getTitle() != null) {
-                searchable.append(record.getTitle()).append(" ");
+    private void removePostings(UUID id, Set<String> terms) {
+        for (String term : terms) {
+            Set<UUID> posting = postings.get(term);
+            if (posting != null) {
+                posting.remove(id);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
             }
-            if (record.getSummary() != null) {
-                searchable.append(record.getSummary().toString()).append(" ");
+        }
+    }
+
+    private Set<String> collectTerms(MeetingRecord record) {
+        List<String> tokens = new ArrayList<>();
+
+        tokenize(record.getTitle(), tokens);
+        for (String tag : record.getTags()) {
+            tokenize(tag, tokens);
+        }
+        for (Participant p : record.getParticipants()) {
+            if (p != null) {
+                tokenize(p.getName(), tokens);
+            }
+        }
+
+        Summary summary = record.getSummary();
+        if (summary != null) {
+            for (String topic : summary.getTopics()) {
+                tokenize(topic, tokens);
             }
-            if (record.getTranscript() != null) {
-                searchable.append(record.getTranscript().toString()).append(" ");
+            for (String decision : summary.getDecisions()) {
+                tokenize(decision, tokens);
             }
-            if (record.getActions() != null) {
-                record.getActions().forEach(ai -> {
-                    if (ai != null) {
-                        searchable.append(ai.toString()).append(" ");
-                    }
-                });
+            tokenize(summary.getNotes(), tokens);
+        }
+
+        if (record.getTranscript() != null) {
+            tokenize(record.getTranscript().getRawText(), tokens);
+        }
+
+        for (ActionItem item : record.getActions()) {
+            if (item != null) {
+                tokenize(item.getTitle(), tokens);
+                if (item.getOwner() != null) {
+                    tokenize(item.getOwner().getName(), tokens);
+                }
             }
+        }
 
-            if (searchable.toString().toLowerCase().contains(normalized)) {
-                results.add(record);
+        return new HashSet<>(tokens);
+    }
+
+    static void tokenize(String text, List<String> out) {
+        if (text == null) {
+            return;
+        }
+
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                out.add(text.substring(start, i).toLowerCase());
+                start = -1;
             }
         }
+    }
+
+    private static class IndexedRecord {
+        private final MeetingRecord record;
+        private final Set<String> terms;
+        private final long sequence;
 
-        return results;
+        IndexedRecord(MeetingRecord record, Set<String> terms, long sequence) {
+            this.record = record;
+            this.terms = terms;
+            this.sequence = sequence;
+        }
     }
 }
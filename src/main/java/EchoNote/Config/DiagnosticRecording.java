@@ -0,0 +1,70 @@
+package EchoNote.Config;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+// Rolling Java Flight Recorder session: keeps the last maxAge / maxSize of the JDK "profile" events plus
+// the EchoNote.* events on disk, and writes them out on dump() and when the JVM exits. Open the .jfr in
+// JDK Mission Control to line up EDT samples, capture overruns, OpenAI calls and pipeline stages.
+public class DiagnosticRecording implements AutoCloseable {
+
+    private static final String SETTINGS = "profile";
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final Recording recording;
+    private final Path directory;
+
+    private DiagnosticRecording(Recording recording, Path directory) {
+        this.recording = recording;
+        this.directory = directory;
+    }
+
+    public static DiagnosticRecording startRolling(Path directory, Duration maxAge, long maxBytes)
+            throws IOException {
+        if (directory == null || maxAge == null || maxAge.isZero() || maxAge.isNegative() || maxBytes <= 0) {
+            throw new IllegalArgumentException("directory, a positive maxAge and maxBytes are required");
+        }
+        Files.createDirectories(directory);
+
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(SETTINGS);
+        } catch (ParseException e) {
+            throw new IOException("Unable to read JFR settings: " + SETTINGS, e);
+        }
+
+        Recording recording = new Recording(configuration);
+        recording.setName("EchoNote");
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.setMaxSize(maxBytes);
+        recording.setDumpOnExit(true);
+        recording.setDestination(directory.resolve("echonote-exit.jfr"));
+        recording.start();
+        return new DiagnosticRecording(recording, directory);
+    }
+
+    // Writes what the recording currently holds to a new timestamped file and returns its path.
+    public Path dump() throws IOException {
+        Path file = directory.resolve("echonote-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".jfr");
+        recording.dump(file);
+        return file;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    @Override
+    public void close() {
+        recording.close();
+    }
+}
@@ -0,0 +1,197 @@
+package EchoNote.Config;
+
+import okhttp3.Call;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.Okio;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class HttpClientProvider {
+
+    public static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(10);
+    public static final Duration DEFAULT_READ_TIMEOUT = Duration.ofMinutes(5);
+    public static final Duration DEFAULT_WRITE_TIMEOUT = Duration.ofMinutes(2);
+    public static final int DEFAULT_MAX_REQUESTS_PER_HOST = 8;
+
+    private static final int MAX_IDLE_CONNECTIONS = 8;
+    private static final Duration KEEP_ALIVE = Duration.ofMinutes(5);
+    private static final int MAX_REQUESTS = 64;
+
+    // Keyed by dispatcher, so clients derived with newBuilder() share their parent's per-host slots.
+    private static final Map<Dispatcher, HostConcurrencyLimiter> LIMITERS =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    private static OkHttpClient client;
+    private static Duration readTimeout = DEFAULT_READ_TIMEOUT;
+
+    public static synchronized OkHttpClient getClient() {
+        if (client == null) {
+            client = create(DEFAULT_CONNECT_TIMEOUT, DEFAULT_READ_TIMEOUT, DEFAULT_WRITE_TIMEOUT,
+                    DEFAULT_MAX_REQUESTS_PER_HOST);
+        }
+        return client;
+    }
+
+    public static synchronized void configure(Duration connectTimeout, Duration readTimeout,
+                                              Duration writeTimeout, int maxRequestsPerHost) {
+        if (client != null) {
+            throw new IllegalStateException("Shared HTTP client is already in use");
+        }
+        client = create(connectTimeout, readTimeout, writeTimeout, maxRequestsPerHost);
+        HttpClientProvider.readTimeout = readTimeout;
+    }
+
+    public static synchronized Duration getReadTimeout() {
+        return readTimeout;
+    }
+
+    public static OkHttpClient create(Duration connectTimeout, Duration readTimeout,
+                                      Duration writeTimeout, int maxRequestsPerHost) {
+        if (connectTimeout == null || readTimeout == null || writeTimeout == null) {
+            throw new IllegalArgumentException("timeouts cannot be null");
+        }
+        if (maxRequestsPerHost < 1) {
+            throw new IllegalArgumentException("maxRequestsPerHost must be at least 1");
+        }
+
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(Math.max(MAX_REQUESTS, maxRequestsPerHost));
+        dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+
+        return new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(MAX_IDLE_CONNECTIONS, KEEP_ALIVE.toMillis(), TimeUnit.MILLISECONDS))
+                .dispatcher(dispatcher)
+                .protocols(List.of(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                .connectTimeout(connectTimeout)
+                .readTimeout(readTimeout)
+                .writeTimeout(writeTimeout)
+                .retryOnConnectionFailure(true)
+                .build();
+    }
+
+    // The dispatcher's per-host limit only covers enqueue(); a blocking call goes through here to wait
+    // for one of the same number of slots on its own thread. Enqueued calls never take these slots, so
+    // the dispatcher's threads are never parked on them.
+    public static Response execute(OkHttpClient client, Request request) throws IOException {
+        return limiterFor(client).execute(client.newCall(request));
+    }
+
+    static HostConcurrencyLimiter limiterFor(OkHttpClient client) {
+        Dispatcher dispatcher = client.dispatcher();
+        return LIMITERS.computeIfAbsent(dispatcher, d -> new HostConcurrencyLimiter(d.getMaxRequestsPerHost()));
+    }
+
+    static class HostConcurrencyLimiter {
+
+        private final int permitsPerHost;
+        private final Map<String, Semaphore> permits = new ConcurrentHashMap<>();
+
+        HostConcurrencyLimiter(int permitsPerHost) {
+            this.permitsPerHost = permitsPerHost;
+        }
+
+        Response execute(Call call) throws IOException {
+            Semaphore semaphore = permits.computeIfAbsent(call.request().url().host(),
+                    h -> new Semaphore(permitsPerHost, true));
+            try {
+                semaphore.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted waiting for a connection slot");
+            }
+
+            Response response;
+            try {
+                response = call.execute();
+            } catch (IOException | RuntimeException e) {
+                semaphore.release();
+                throw e;
+            }
+
+            ResponseBody body = response.body();
+            if (body == null) {
+                semaphore.release();
+                return response;
+            }
+            // Hold the slot until the caller has finished reading the body.
+            return response.newBuilder().body(new ReleasingBody(body, semaphore)).build();
+        }
+
+        int availablePermits(String host) {
+            Semaphore semaphore = permits.get(host);
+            return semaphore != null ? semaphore.availablePermits() : permitsPerHost;
+        }
+    }
+
+    private static class ReleasingBody extends ResponseBody {
+
+        private final ResponseBody delegate;
+        private final Semaphore semaphore;
+        private final AtomicBoolean released = new AtomicBoolean();
+        private final BufferedSource source;
+
+        ReleasingBody(ResponseBody delegate, Semaphore semaphore) {
+            this.delegate = delegate;
+            this.semaphore = semaphore;
+            this.source = Okio.buffer(new ForwardingSource(delegate.source()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        release();
+                    }
+                }
+            });
+        }
+
+        @Override
+        public MediaType contentType() {
+            return delegate.contentType();
+        }
+
+        @Override
+        public long contentLength() {
+            return delegate.contentLength();
+        }
+
+        @Override
+        public BufferedSource source() {
+            return source;
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                release();
+            }
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                semaphore.release();
+            }
+        }
+    }
+}
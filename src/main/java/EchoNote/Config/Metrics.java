@@ -0,0 +1,75 @@
+package EchoNote.Config;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+// Process-wide metrics registry. Call sites look their histogram or counter up once (usually into a
+// static final field) and then only pay for the atomic updates on the hot path.
+public class Metrics {
+
+    public static final String OBJECT_NAME = "EchoNote:type=Metrics";
+
+    private static final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private static final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private static final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+    private static boolean mbeanRegistered;
+
+    public static LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name, n -> new LatencyHistogram());
+    }
+
+    public static LongAdder counter(String name) {
+        return counters.computeIfAbsent(name, n -> new LongAdder());
+    }
+
+    public static void gauge(String name, LongSupplier value) {
+        if (value == null) {
+            throw new IllegalArgumentException("gauge supplier cannot be null");
+        }
+        gauges.put(name, value);
+    }
+
+    // Flat, sorted view: histogram fields are suffixed (.count, .p50Ms, ...), counters and gauges are not.
+    public static Map<String, Number> snapshot() {
+        Map<String, Number> values = new TreeMap<>();
+        histograms.forEach((name, histogram) -> {
+            LatencyHistogram.Snapshot s = histogram.snapshot();
+            values.put(name + ".count", s.getCount());
+            values.put(name + ".meanMs", s.getMeanMillis());
+            values.put(name + ".p50Ms", s.percentileMillis(50));
+            values.put(name + ".p90Ms", s.percentileMillis(90));
+            values.put(name + ".p99Ms", s.percentileMillis(99));
+            values.put(name + ".maxMs", s.getMaxMillis());
+        });
+        counters.forEach((name, counter) -> values.put(name, counter.sum()));
+        gauges.forEach((name, gauge) -> {
+            try {
+                values.put(name, gauge.getAsLong());
+            } catch (RuntimeException ignored) {
+            }
+        });
+        return values;
+    }
+
+    public static synchronized void registerMBean() {
+        if (mbeanRegistered) {
+            return;
+        }
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.registerMBean(new MetricsMBean(), new ObjectName(OBJECT_NAME));
+        } catch (InstanceAlreadyExistsException ignored) {
+        } catch (JMException e) {
+            throw new IllegalStateException("Unable to register metrics MBean", e);
+        }
+        mbeanRegistered = true;
+    }
+}
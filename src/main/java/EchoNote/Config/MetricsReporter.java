@@ -0,0 +1,88 @@
+package EchoNote.Config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Periodically writes Metrics.snapshot() to a JSON file, replacing it atomically so readers never see a
+// half-written dump. close() writes one final snapshot.
+public class MetricsReporter implements AutoCloseable {
+
+    private final Path file;
+    private final Duration interval;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ScheduledExecutorService scheduler;
+
+    public MetricsReporter(Path file, Duration interval) {
+        if (file == null || interval == null || interval.isZero() || interval.isNegative()) {
+            throw new IllegalArgumentException("file and a positive interval are required");
+        }
+        this.file = file;
+        this.interval = interval;
+    }
+
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "Metrics-Reporter");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = interval.toMillis();
+        scheduler.scheduleAtFixedRate(this::writeQuietly, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    public void writeNow() throws IOException {
+        ObjectNode root = objectMapper.createObjectNode();
+        root.put("timestamp", Instant.now().toString());
+        ObjectNode metrics = root.putObject("metrics");
+        for (Map.Entry<String, Number> entry : Metrics.snapshot().entrySet()) {
+            Number value = entry.getValue();
+            if (value instanceof Double d) {
+                metrics.put(entry.getKey(), Math.round(d * 1_000) / 1_000.0);
+            } else {
+                metrics.put(entry.getKey(), value.longValue());
+            }
+        }
+
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(temp.toFile(), root);
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+        writeQuietly();
+    }
+
+    private void writeQuietly() {
+        try {
+            writeNow();
+        } catch (IOException | RuntimeException ignored) {
+            // A missed dump is simply retried at the next period.
+        }
+    }
+}
@@ -6,7 +6,7 @@ import com.openai.client.okhttp.OpenAIOkHttpClient;
 
 public class OpenAiClientFactory {
 
-    private static final OpenAIClient CLIENT = createClient();
+    private static OpenAIClient client;
 
     private static OpenAIClient createClient() {
         Dotenv dotenv = Dotenv.load();
@@ -16,12 +16,18 @@ public class OpenAiClientFactory {
             throw new IllegalStateException("OPENAI_API_KEY is not set in .env");
         }
 
+        // The SDK builds its own OkHttp instance and cannot adopt ours, so match its timeout instead.
         return OpenAIOkHttpClient.builder()
                 .apiKey(apiKey)
+                .baseUrl(OpenAiEndpoints.getBaseUrl())
+                .timeout(HttpClientProvider.getReadTimeout())
                 .build();
     }
 
-    public static OpenAIClient getClient() {
-        return CLIENT;
+    public static synchronized OpenAIClient getClient() {
+        if (client == null) {
+            client = createClient();
+        }
+        return client;
     }
-}
\ No newline at end of file
+}
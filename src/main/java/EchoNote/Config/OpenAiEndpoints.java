@@ -0,0 +1,55 @@
+package EchoNote.Config;
+
+import io.github.cdimascio.dotenv.Dotenv;
+import okhttp3.HttpUrl;
+
+// Base URL for every OpenAI call. Defaults to the public API; OPENAI_BASE_URL (env or .env) or
+// configure() point the app at a proxy or at a local stub for load tests.
+public class OpenAiEndpoints {
+
+    public static final String DEFAULT_BASE_URL = "https://api.openai.com/v1";
+    public static final String TRANSCRIPTIONS = "audio/transcriptions";
+    public static final String CHAT_COMPLETIONS = "chat/completions";
+
+    private static String baseUrl;
+
+    public static synchronized String getBaseUrl() {
+        if (baseUrl == null) {
+            baseUrl = normalize(resolveBaseUrl());
+        }
+        return baseUrl;
+    }
+
+    // Passing null goes back to OPENAI_BASE_URL or the default on the next call.
+    public static synchronized void configure(String baseUrl) {
+        OpenAiEndpoints.baseUrl = baseUrl != null ? normalize(baseUrl) : null;
+    }
+
+    public static String resolve(String path) {
+        return getBaseUrl() + "/" + path;
+    }
+
+    private static String normalize(String url) {
+        String trimmed = url.trim();
+        while (trimmed.endsWith("/")) {
+            trimmed = trimmed.substring(0, trimmed.length() - 1);
+        }
+        if (HttpUrl.parse(trimmed) == null) {
+            throw new IllegalArgumentException("Not an http(s) URL: " + url);
+        }
+        return trimmed;
+    }
+
+    private static String resolveBaseUrl() {
+        String url = System.getenv("OPENAI_BASE_URL");
+        if (url != null && !url.isBlank()) {
+            return url;
+        }
+
+        try {
+            url = Dotenv.load().get("OPENAI_BASE_URL");
+        } catch (Exception ignored) {
+        }
+        return url != null && !url.isBlank() ? url : DEFAULT_BASE_URL;
+    }
+}
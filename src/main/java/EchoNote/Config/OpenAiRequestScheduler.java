@@ -0,0 +1,301 @@
+package EchoNote.Config;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class OpenAiRequestScheduler {
+
+    public static final int DEFAULT_MAX_ATTEMPTS = 6;
+    public static final Duration DEFAULT_BASE_DELAY = Duration.ofMillis(500);
+    public static final Duration DEFAULT_MAX_DELAY = Duration.ofMinutes(1);
+
+    private static final LongAdder RETRIES = Metrics.counter("openai.retries");
+    private static final Pattern RESET_PART = Pattern.compile("(\\d+(?:\\.\\d+)?)(ms|s|m|h)");
+    // Fires delayed async attempts; it never runs a request itself, so one thread serves every scheduler.
+    private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "OpenAi-Retry-Timer");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final TokenBucket requestBucket;
+    private final TokenBucket tokenBucket;
+    private final int maxAttempts;
+    private final long baseDelayNanos;
+    private final long maxDelayNanos;
+    private final AtomicLong retries = new AtomicLong();
+
+    public OpenAiRequestScheduler(long requestsPerMinute, long tokensPerMinute) {
+        this(requestsPerMinute, tokensPerMinute, DEFAULT_MAX_ATTEMPTS, DEFAULT_BASE_DELAY, DEFAULT_MAX_DELAY);
+    }
+
+    // tokensPerMinute of 0 means the endpoint is only limited by request count.
+    public OpenAiRequestScheduler(long requestsPerMinute, long tokensPerMinute, int maxAttempts,
+                                  Duration baseDelay, Duration maxDelay) {
+        if (tokensPerMinute < 0) {
+            throw new IllegalArgumentException("tokensPerMinute cannot be negative");
+        }
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be at least 1");
+        }
+        if (baseDelay == null || maxDelay == null || baseDelay.isNegative() || maxDelay.compareTo(baseDelay) < 0) {
+            throw new IllegalArgumentException("delays must satisfy 0 <= baseDelay <= maxDelay");
+        }
+
+        this.requestBucket = new TokenBucket(requestsPerMinute);
+        this.tokenBucket = tokensPerMinute > 0 ? new TokenBucket(tokensPerMinute) : null;
+        this.maxAttempts = maxAttempts;
+        this.baseDelayNanos = baseDelay.toNanos();
+        this.maxDelayNanos = maxDelay.toNanos();
+    }
+
+    public Response execute(OkHttpClient client, Request request, long estimatedTokens) throws IOException {
+        for (int attempt = 1; ; attempt++) {
+            awaitCapacity(estimatedTokens);
+
+            Response response;
+            try {
+                response = HttpClientProvider.execute(client, request);
+            } catch (IOException e) {
+                if (attempt >= maxAttempts || Thread.currentThread().isInterrupted()) {
+                    throw e;
+                }
+                retries.incrementAndGet();
+                RETRIES.increment();
+                sleep(backoffNanos(attempt, 0));
+                continue;
+            }
+
+            applyRateLimitHeaders(response);
+            if (!isRetryable(response.code()) || attempt >= maxAttempts) {
+                return response;
+            }
+
+            long retryAfter = retryAfterNanos(response);
+            response.close();
+            retries.incrementAndGet();
+            RETRIES.increment();
+            sleep(backoffNanos(attempt, retryAfter));
+        }
+    }
+
+    // Same limits and retry policy as execute(), but no thread waits: rate-limit and backoff delays are
+    // timer callbacks and the request goes through OkHttp's dispatcher. Cancelling the returned future
+    // cancels the in-flight call or the pending attempt.
+    public CompletableFuture<Response> executeAsync(OkHttpClient client, Request request, long estimatedTokens) {
+        AsyncCall call = new AsyncCall(client, request, estimatedTokens);
+        call.start();
+        return call.result;
+    }
+
+    public long getRetryCount() {
+        return retries.get();
+    }
+
+    private void awaitCapacity(long estimatedTokens) throws InterruptedIOException {
+        sleep(reserveCapacity(estimatedTokens));
+    }
+
+    private long reserveCapacity(long estimatedTokens) {
+        long wait = requestBucket.reserve(1);
+        if (tokenBucket != null && estimatedTokens > 0) {
+            wait = Math.max(wait, tokenBucket.reserve(estimatedTokens));
+        }
+        return wait;
+    }
+
+    private void applyRateLimitHeaders(Response response) {
+        applyRemaining(requestBucket,
+                response.header("x-ratelimit-remaining-requests"),
+                response.header("x-ratelimit-reset-requests"));
+        if (tokenBucket != null) {
+            applyRemaining(tokenBucket,
+                    response.header("x-ratelimit-remaining-tokens"),
+                    response.header("x-ratelimit-reset-tokens"));
+        }
+    }
+
+    private static void applyRemaining(TokenBucket bucket, String remaining, String reset) {
+        if (remaining == null) {
+            return;
+        }
+        try {
+            bucket.limitTo(Long.parseLong(remaining.trim()), parseResetNanos(reset));
+        } catch (NumberFormatException ignored) {
+        }
+    }
+
+    long backoffNanos(int attempt, long retryAfterNanos) {
+        long exponential = baseDelayNanos << Math.min(attempt - 1, 30);
+        long capped = exponential < 0 ? maxDelayNanos : Math.min(exponential, maxDelayNanos);
+        long half = capped / 2;
+        long jittered = half + (half > 0 ? ThreadLocalRandom.current().nextLong(half + 1) : 0);
+        return Math.max(jittered, retryAfterNanos);
+    }
+
+    static boolean isRetryable(int code) {
+        return code == 408 || code == 409 || code == 429 || code >= 500;
+    }
+
+    static long retryAfterNanos(Response response) {
+        String millis = response.header("retry-after-ms");
+        if (millis != null) {
+            try {
+                return TimeUnit.MICROSECONDS.toNanos((long) (Double.parseDouble(millis.trim()) * 1000));
+            } catch (NumberFormatException ignored) {
+            }
+        }
+        String seconds = response.header("Retry-After");
+        if (seconds != null) {
+            try {
+                return TimeUnit.MILLISECONDS.toNanos((long) (Double.parseDouble(seconds.trim()) * 1000));
+            } catch (NumberFormatException ignored) {
+            }
+        }
+        return 0;
+    }
+
+    // OpenAI reports resets as Go-style durations such as "20ms", "1.5s" or "6m0s".
+    static long parseResetNanos(String value) {
+        if (value == null || value.isBlank()) {
+            return 0;
+        }
+        Matcher matcher = RESET_PART.matcher(value.trim());
+        double nanos = 0;
+        while (matcher.find()) {
+            double amount = Double.parseDouble(matcher.group(1));
+            switch (matcher.group(2)) {
+                case "ms" -> nanos += amount * 1_000_000L;
+                case "s" -> nanos += amount * 1_000_000_000L;
+                case "m" -> nanos += amount * 60_000_000_000L;
+                default -> nanos += amount * 3_600_000_000_000L;
+            }
+        }
+        return (long) nanos;
+    }
+
+    private class AsyncCall implements Callback {
+
+        private final OkHttpClient client;
+        private final Request request;
+        private final long estimatedTokens;
+        private final CompletableFuture<Response> result = new CompletableFuture<>();
+        private volatile Call call;
+        private volatile ScheduledFuture<?> pending;
+        private int attempt;
+
+        AsyncCall(OkHttpClient client, Request request, long estimatedTokens) {
+            this.client = client;
+            this.request = request;
+            this.estimatedTokens = estimatedTokens;
+            result.whenComplete((response, error) -> {
+                if (result.isCancelled()) {
+                    cancelInFlight();
+                }
+            });
+        }
+
+        void start() {
+            later(reserveCapacity(estimatedTokens), this::send);
+        }
+
+        private void send() {
+            if (result.isDone()) {
+                return;
+            }
+            attempt++;
+            Call next = client.newCall(request);
+            call = next;
+            if (result.isCancelled()) {
+                next.cancel();
+                return;
+            }
+            next.enqueue(this);
+        }
+
+        @Override
+        public void onFailure(Call failed, IOException e) {
+            if (result.isDone()) {
+                return;
+            }
+            if (attempt >= maxAttempts) {
+                result.completeExceptionally(e);
+                return;
+            }
+            retries.incrementAndGet();
+            RETRIES.increment();
+            later(backoffNanos(attempt, 0), this::start);
+        }
+
+        @Override
+        public void onResponse(Call finished, Response response) {
+            applyRateLimitHeaders(response);
+            if (!isRetryable(response.code()) || attempt >= maxAttempts) {
+                if (!result.complete(response)) {
+                    response.close();
+                }
+                return;
+            }
+
+            long retryAfter = retryAfterNanos(response);
+            response.close();
+            retries.incrementAndGet();
+            RETRIES.increment();
+            later(backoffNanos(attempt, retryAfter), this::start);
+        }
+
+        private void later(long nanos, Runnable action) {
+            if (result.isDone()) {
+                return;
+            }
+            if (nanos <= 0) {
+                action.run();
+                return;
+            }
+            pending = TIMER.schedule(action, nanos, TimeUnit.NANOSECONDS);
+            if (result.isDone()) {
+                pending.cancel(false);
+            }
+        }
+
+        private void cancelInFlight() {
+            ScheduledFuture<?> timer = pending;
+            if (timer != null) {
+                timer.cancel(false);
+            }
+            Call current = call;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+    }
+
+    private static void sleep(long nanos) throws InterruptedIOException {
+        if (nanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to call OpenAI");
+        }
+    }
+}
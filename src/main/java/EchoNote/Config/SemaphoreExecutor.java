@@ -0,0 +1,105 @@
+package EchoNote.Config;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Bounds a thread-per-task executor with a fair semaphore instead of a pool size: every task gets its
+// own thread at once, but at most `permits` run the work while the rest wait for a permit, in order.
+// Tasks waiting beyond maxQueued are rejected, like a ThreadPoolExecutor with a full bounded queue.
+//
+// shutdownNow() interrupts waiting tasks, which then return without running; the returned list is
+// always empty because nothing is held in a queue of our own.
+public class SemaphoreExecutor extends AbstractExecutorService {
+
+    private final ExecutorService delegate;
+    private final Semaphore permits;
+    private final int maxPermits;
+    private final int maxQueued;
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    public SemaphoreExecutor(ExecutorService delegate, int permits, int maxQueued) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("delegate cannot be null");
+        }
+        if (permits < 1) {
+            throw new IllegalArgumentException("permits must be at least 1");
+        }
+        if (maxQueued < 0) {
+            throw new IllegalArgumentException("maxQueued cannot be negative");
+        }
+        this.delegate = delegate;
+        this.permits = new Semaphore(permits, true);
+        this.maxPermits = permits;
+        this.maxQueued = maxQueued;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (command == null) {
+            throw new NullPointerException("command");
+        }
+        if (waiting.incrementAndGet() - permits.availablePermits() > maxQueued) {
+            waiting.decrementAndGet();
+            throw new RejectedExecutionException("More than " + maxQueued + " tasks waiting for a permit");
+        }
+        try {
+            delegate.execute(() -> {
+                try {
+                    permits.acquire();
+                } catch (InterruptedException e) {
+                    waiting.decrementAndGet();
+                    return;
+                }
+                waiting.decrementAndGet();
+                try {
+                    command.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            waiting.decrementAndGet();
+            throw e;
+        }
+    }
+
+    // Tasks submitted but not yet running because every permit is taken.
+    public int getQueuedCount() {
+        return Math.max(0, waiting.get() - permits.availablePermits());
+    }
+
+    public int getActiveCount() {
+        return maxPermits - permits.availablePermits();
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        delegate.shutdownNow();
+        return List.of();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+}
@@ -0,0 +1,64 @@
+package EchoNote.Config;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+class TokenBucket {
+
+    private static final long NANOS_PER_MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    private final long capacity;
+    private final double tokensPerNano;
+    private final LongSupplier nanoClock;
+
+    private double available;
+    private long lastRefill;
+
+    TokenBucket(long perMinute) {
+        this(perMinute, System::nanoTime);
+    }
+
+    TokenBucket(long perMinute, LongSupplier nanoClock) {
+        if (perMinute < 1) {
+            throw new IllegalArgumentException("perMinute must be at least 1");
+        }
+        this.capacity = perMinute;
+        this.tokensPerNano = (double) perMinute / NANOS_PER_MINUTE;
+        this.nanoClock = nanoClock;
+        this.available = perMinute;
+        this.lastRefill = nanoClock.getAsLong();
+    }
+
+    // Takes the tokens now, letting the balance go negative, and returns how long the caller must wait
+    // before using them. Later callers queue behind the debt in arrival order.
+    synchronized long reserve(long tokens) {
+        refill();
+        available -= Math.min(tokens, capacity);
+        if (available >= 0) {
+            return 0;
+        }
+        return (long) Math.ceil(-available / tokensPerNano);
+    }
+
+    // Aligns the local estimate with what the server reports so we never run ahead of it.
+    synchronized void limitTo(long remaining, long resetNanos) {
+        refill();
+        if (remaining < available) {
+            available = remaining;
+        }
+        if (remaining <= 0 && resetNanos > 0) {
+            available = Math.min(available, -resetNanos * tokensPerNano);
+        }
+    }
+
+    synchronized double available() {
+        refill();
+        return available;
+    }
+
+    private void refill() {
+        long now = nanoClock.getAsLong();
+        available = Math.min(capacity, available + (now - lastRefill) * tokensPerNano);
+        lastRefill = now;
+    }
+}
@@ -0,0 +1,104 @@
+package EchoNote.Config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Opt-in virtual-thread execution for the meeting pipeline. The build targets Java 17, so the JDK 21 API
+// (Thread.ofVirtual, Executors.newThreadPerTaskExecutor) is looked up reflectively; on older runtimes
+// isSupported() is false and every pool stays on platform threads.
+//
+// Pools created through newExecutor() keep their parallelism either way: platform mode sizes a fixed
+// pool with it, virtual mode starts one virtual thread per task and lets a semaphore admit that many.
+public class VirtualThreads {
+
+    private static final Method OF_VIRTUAL = lookup(Thread.class, "ofVirtual");
+    private static final Method NEW_THREAD_PER_TASK_EXECUTOR =
+            lookup(Executors.class, "newThreadPerTaskExecutor", ThreadFactory.class);
+    private static final Class<?> BUILDER_TYPE = lookupClass("java.lang.Thread$Builder");
+
+    private static volatile boolean enabled;
+
+    public static boolean isSupported() {
+        return OF_VIRTUAL != null && NEW_THREAD_PER_TASK_EXECUTOR != null && BUILDER_TYPE != null;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        if (enabled && !isSupported()) {
+            throw new IllegalStateException("Virtual threads need JDK 21 or newer, running " + Runtime.version());
+        }
+        VirtualThreads.enabled = enabled;
+    }
+
+    // Names threads namePrefix1, namePrefix2, ...
+    public static ThreadFactory factory(String namePrefix) {
+        requireSupported();
+        try {
+            Object builder = OF_VIRTUAL.invoke(null);
+            builder = BUILDER_TYPE.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 1L);
+            return (ThreadFactory) BUILDER_TYPE.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Unable to create a virtual thread factory", unwrap(e));
+        }
+    }
+
+    public static ExecutorService newThreadPerTaskExecutor(String namePrefix) {
+        ThreadFactory factory = factory(namePrefix);
+        try {
+            return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(null, factory);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Unable to create a virtual thread executor", unwrap(e));
+        }
+    }
+
+    // A pool for blocking sub-calls that run at most `parallelism` at a time: a fixed pool of daemon
+    // platform threads, or one virtual thread per task behind a semaphore when enabled.
+    public static ExecutorService newExecutor(String namePrefix, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+        if (enabled) {
+            return new SemaphoreExecutor(newThreadPerTaskExecutor(namePrefix), parallelism, Integer.MAX_VALUE);
+        }
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(parallelism, r -> {
+            Thread t = new Thread(r, namePrefix + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    private static void requireSupported() {
+        if (!isSupported()) {
+            throw new UnsupportedOperationException("Virtual threads need JDK 21 or newer, running "
+                    + Runtime.version());
+        }
+    }
+
+    private static Throwable unwrap(ReflectiveOperationException e) {
+        return e instanceof InvocationTargetException && e.getCause() != null ? e.getCause() : e;
+    }
+
+    private static Method lookup(Class<?> type, String name, Class<?>... parameterTypes) {
+        try {
+            return type.getMethod(name, parameterTypes);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static Class<?> lookupClass(String name) {
+        try {
+            return Class.forName(name);
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+    }
+}
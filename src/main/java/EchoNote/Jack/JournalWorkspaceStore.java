@@ -0,0 +1,400 @@
+package EchoNote.Jack;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class JournalWorkspaceStore implements WorkspaceStore {
+
+    private static final String SNAPSHOT_FILE = "snapshot.jsonl";
+    private static final String JOURNAL_FILE = "journal.jsonl";
+    private static final int DEFAULT_COMPACTION_THRESHOLD = 500;
+    private static final int MAX_BATCH = 256;
+
+    private final Path snapshotFile;
+    private final Path journalFile;
+    private final int compactionThreshold;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final MeetingRecordJson codec = new MeetingRecordJson(objectMapper);
+
+    private final BlockingQueue<Entry> queue = new LinkedBlockingQueue<>();
+    private final AtomicInteger entriesSinceSnapshot = new AtomicInteger();
+    private final FileChannel journal;
+    private final Thread writerThread;
+
+    private volatile Exception failure;
+    private volatile boolean closed;
+    private volatile boolean stopped;
+
+    public JournalWorkspaceStore(Path directory) {
+        this(directory, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    public JournalWorkspaceStore(Path directory, int compactionThreshold) {
+        if (directory == null) {
+            throw new IllegalArgumentException("directory cannot be null");
+        }
+        if (compactionThreshold < 1) {
+            throw new IllegalArgumentException("compactionThreshold must be at least 1");
+        }
+
+        this.snapshotFile = directory.resolve(SNAPSHOT_FILE);
+        this.journalFile = directory.resolve(JOURNAL_FILE);
+        this.compactionThreshold = compactionThreshold;
+
+        try {
+            Files.createDirectories(directory);
+            this.journal = FileChannel.open(journalFile,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            dropTornTail();
+        } catch (IOException e) {
+            throw new PersistenceException("Unable to open workspace journal in " + directory, e);
+        }
+
+        this.writerThread = new Thread(this::runWriter, "Workspace-Journal");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    @Override
+    public List<MeetingRecord> load() {
+        Map<UUID, MeetingRecord> records = new LinkedHashMap<>();
+        try {
+            if (Files.exists(snapshotFile)) {
+                readLines(snapshotFile, node -> put(records, codec.fromJson(node)));
+            }
+            int replayed = readLines(journalFile, node -> put(records, codec.fromJson(node.get("record"))));
+            entriesSinceSnapshot.set(replayed);
+        } catch (IOException e) {
+            throw new PersistenceException("Unable to read workspace journal", e);
+        }
+        return new ArrayList<>(records.values());
+    }
+
+    @Override
+    public CompletableFuture<Void> append(MeetingRecord record) {
+        ensureWritable();
+
+        ObjectNode entry = objectMapper.createObjectNode();
+        entry.put("op", "save");
+        entry.set("record", codec.toJson(record));
+
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(entry);
+            byte[] line = new byte[json.length + 1];
+            System.arraycopy(json, 0, line, 0, json.length);
+            line[json.length] = '\n';
+            Entry queued = Entry.line(line);
+            enqueue(queued);
+            entriesSinceSnapshot.incrementAndGet();
+            return queued.written;
+        } catch (IOException e) {
+            throw new PersistenceException("Unable to serialize meeting " + record.getId(), e);
+        }
+    }
+
+    @Override
+    public boolean needsCompaction() {
+        return entriesSinceSnapshot.get() >= compactionThreshold;
+    }
+
+    // Serialized here, under the caller's lock like append(), so the snapshot is fixed at this point and
+    // the writer thread never reads records another thread may be editing.
+    @Override
+    public void compact(Collection<MeetingRecord> records) {
+        ensureWritable();
+        ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+        try {
+            for (MeetingRecord record : records) {
+                snapshot.write(objectMapper.writeValueAsBytes(codec.toJson(record)));
+                snapshot.write('\n');
+            }
+        } catch (IOException e) {
+            throw new PersistenceException("Unable to serialize workspace snapshot", e);
+        }
+        enqueue(Entry.snapshot(snapshot.toByteArray()));
+        entriesSinceSnapshot.set(0);
+    }
+
+    @Override
+    public void flush() {
+        if (closed) {
+            return;
+        }
+        CountDownLatch barrier = new CountDownLatch(1);
+        enqueue(Entry.barrier(barrier));
+        try {
+            while (!barrier.await(1, TimeUnit.SECONDS)) {
+                ensureWriterAlive();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PersistenceException("Interrupted while flushing workspace journal", e);
+        }
+        if (failure != null) {
+            throw new PersistenceException("Workspace journal write failed", failure);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        queue.add(Entry.stop());
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            journal.close();
+        } catch (IOException ignored) {
+        }
+        if (failure != null) {
+            throw new PersistenceException("Workspace journal write failed; recent saves may be missing", failure);
+        }
+    }
+
+    // An entry queued after the writer's final drain is failed here, so its caller never waits forever.
+    private void enqueue(Entry entry) {
+        queue.add(entry);
+        if (stopped) {
+            failQueued();
+        }
+    }
+
+    private void runWriter() {
+        try {
+            writeUntilStopped();
+        } finally {
+            // Whatever ended the loop, nobody may be left waiting on a save or barrier that will never run.
+            stopped = true;
+            failQueued();
+        }
+    }
+
+    private void failQueued() {
+        List<Entry> abandoned = new ArrayList<>();
+        queue.drainTo(abandoned);
+        Exception cause = failure != null ? failure : new IOException("Workspace journal writer has stopped");
+        for (Entry entry : abandoned) {
+            entry.fail(cause);
+        }
+    }
+
+    private void writeUntilStopped() {
+        List<Entry> batch = new ArrayList<>();
+        while (true) {
+            batch.clear();
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                failure = new IOException("Workspace journal writer was interrupted", e);
+                return;
+            }
+            queue.drainTo(batch, MAX_BATCH - 1);
+
+            // Group commit: every line in the batch shares one fsync, and each save completes only after it.
+            boolean stop = false;
+            List<Entry> unsynced = new ArrayList<>();
+            try {
+                for (Entry entry : batch) {
+                    if (entry.line != null) {
+                        if (failure != null) {
+                            entry.fail(failure);
+                        } else {
+                            writeFully(journal, entry.line, journal.size());
+                            unsynced.add(entry);
+                        }
+                    } else if (entry.snapshot != null) {
+                        sync(unsynced);
+                        if (failure == null) {
+                            writeSnapshot(entry.snapshot);
+                        }
+                    } else if (entry.barrier != null) {
+                        sync(unsynced);
+                        entry.barrier.countDown();
+                    } else {
+                        stop = true;
+                    }
+                }
+                sync(unsynced);
+            } catch (IOException | RuntimeException e) {
+                failure = e;
+                for (Entry entry : batch) {
+                    entry.fail(e);
+                }
+            }
+
+            if (stop) {
+                return;
+            }
+        }
+    }
+
+    private void sync(List<Entry> unsynced) throws IOException {
+        if (unsynced.isEmpty()) {
+            return;
+        }
+        journal.force(false);
+        for (Entry entry : unsynced) {
+            entry.written.complete(null);
+        }
+        unsynced.clear();
+    }
+
+    private void writeSnapshot(byte[] snapshot) throws IOException {
+        Path tmp = snapshotFile.resolveSibling(SNAPSHOT_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(channel, snapshot, 0);
+            channel.force(true);
+        }
+
+        Files.move(tmp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        journal.truncate(0);
+        journal.force(true);
+    }
+
+    private void dropTornTail() throws IOException {
+        long size = journal.size();
+        if (size == 0) {
+            return;
+        }
+
+        ByteBuffer one = ByteBuffer.allocate(1);
+        long pos = size;
+        while (pos > 0) {
+            one.clear();
+            journal.read(one, pos - 1);
+            if (one.get(0) == '\n') {
+                break;
+            }
+            pos--;
+        }
+        if (pos < size) {
+            journal.truncate(pos);
+        }
+    }
+
+    private int readLines(Path file, LineHandler handler) throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+
+        int count = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                handler.handle(objectMapper.readTree(line));
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void ensureWritable() {
+        if (closed) {
+            throw new PersistenceException("Workspace store is closed");
+        }
+        if (failure != null) {
+            throw new PersistenceException("Workspace journal write failed", failure);
+        }
+        ensureWriterAlive();
+    }
+
+    private void ensureWriterAlive() {
+        if (!writerThread.isAlive()) {
+            throw new PersistenceException("Workspace journal writer has stopped", failure);
+        }
+    }
+
+    private static void put(Map<UUID, MeetingRecord> records, MeetingRecord record) {
+        records.remove(record.getId());
+        records.put(record.getId(), record);
+    }
+
+    private static void writeFully(FileChannel channel, byte[] bytes, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        long pos = position;
+        while (buffer.hasRemaining()) {
+            pos += channel.write(buffer, pos);
+        }
+    }
+
+    private interface LineHandler {
+        void handle(JsonNode node);
+    }
+
+    private static class Entry {
+        private final byte[] line;
+        private final byte[] snapshot;
+        private final CountDownLatch barrier;
+        private final CompletableFuture<Void> written;
+
+        private Entry(byte[] line, byte[] snapshot, CountDownLatch barrier) {
+            this.line = line;
+            this.snapshot = snapshot;
+            this.barrier = barrier;
+            this.written = line != null ? new CompletableFuture<>() : null;
+        }
+
+        // Saves that never reached the disk fail; barriers are released and flush() reports the failure.
+        void fail(Exception cause) {
+            if (written != null) {
+                written.completeExceptionally(cause);
+            }
+            if (barrier != null) {
+                barrier.countDown();
+            }
+        }
+
+        static Entry line(byte[] line) {
+            return new Entry(line, null, null);
+        }
+
+        static Entry snapshot(byte[] snapshot) {
+            return new Entry(null, snapshot, null);
+        }
+
+        static Entry barrier(CountDownLatch latch) {
+            return new Entry(null, null, latch);
+        }
+
+        static Entry stop() {
+            return new Entry(null, null, null);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package EchoNote.Jack;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class MeetingAnalysis {
+    private final Summary summary;
+    private final List<ActionItem> actions;
+
+    public MeetingAnalysis(Summary summary, List<ActionItem> actions) {
+        this.summary = summary;
+        this.actions = actions != null ? new ArrayList<>(actions) : new ArrayList<>();
+    }
+
+    public Summary getSummary() {
+        return summary;
+    }
+
+    public List<ActionItem> getActions() {
+        return Collections.unmodifiableList(actions);
+    }
+}
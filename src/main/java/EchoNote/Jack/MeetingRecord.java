@@ -19,7 +19,14 @@ public class MeetingRecord {
     private String audioFilePath;
 
     public MeetingRecord() {
-        this.id = UUID.randomUUID();
+        this(UUID.randomUUID());
+    }
+
+    public MeetingRecord(UUID id) {
+        if (id == null) {
+            throw new IllegalArgumentException("id cannot be null");
+        }
+        this.id = id;
         this.status = ApprovalStatus.DRAFT;
     }
 
@@ -0,0 +1,170 @@
+package EchoNote.Jack;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+public class MeetingRecordJson {
+
+    private final ObjectMapper objectMapper;
+
+    public MeetingRecordJson(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public ObjectNode toJson(MeetingRecord record) {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("id", record.getId().toString());
+        node.put("title", record.getTitle());
+        writeStrings(node.putArray("tags"), record.getTags());
+        node.put("date", record.getDate() != null ? record.getDate().toString() : null);
+        node.put("status", record.getStatus() != null ? record.getStatus().name() : null);
+
+        ArrayNode participants = node.putArray("participants");
+        for (Participant p : record.getParticipants()) {
+            participants.add(participantToJson(p));
+        }
+
+        Transcript transcript = record.getTranscript();
+        if (transcript != null) {
+            ObjectNode t = node.putObject("transcript");
+            t.put("id", transcript.getId());
+            t.put("rawText", transcript.getRawText());
+            writeStrings(t.putArray("timestamps"), transcript.getTimestamps());
+            t.put("source", transcript.getSource() != null ? transcript.getSource().name() : null);
+        }
+
+        Summary summary = record.getSummary();
+        if (summary != null) {
+            ObjectNode s = node.putObject("summary");
+            s.put("id", summary.getId());
+            writeStrings(s.putArray("topics"), summary.getTopics());
+            writeStrings(s.putArray("decisions"), summary.getDecisions());
+            s.put("notes", summary.getNotes());
+        }
+
+        ArrayNode actions = node.putArray("actions");
+        for (ActionItem item : record.getActions()) {
+            ObjectNode a = actions.addObject();
+            a.put("id", item.getId());
+            a.put("title", item.getTitle());
+            if (item.getOwner() != null) {
+                a.set("owner", participantToJson(item.getOwner()));
+            }
+            a.put("dueDate", item.getDueDate() != null ? item.getDueDate().toString() : null);
+            a.put("status", item.getStatus() != null ? item.getStatus().name() : null);
+        }
+
+        node.put("audioFilePath", record.getAudioFilePath());
+        return node;
+    }
+
+    public MeetingRecord fromJson(JsonNode node) {
+        MeetingRecord record = new MeetingRecord(UUID.fromString(node.get("id").asText()));
+        record.setTitle(text(node, "title"));
+        record.setTags(readStrings(node.get("tags")));
+
+        String date = text(node, "date");
+        record.setDate(date != null ? LocalDateTime.parse(date) : null);
+
+        String status = text(node, "status");
+        if (status != null) {
+            record.setStatus(ApprovalStatus.valueOf(status));
+        }
+
+        List<Participant> participants = new ArrayList<>();
+        JsonNode participantNodes = node.get("participants");
+        if (participantNodes != null) {
+            for (JsonNode p : participantNodes) {
+                participants.add(participantFromJson(p));
+            }
+        }
+        record.setParticipants(participants);
+
+        JsonNode t = node.get("transcript");
+        if (t != null && !t.isNull()) {
+            String source = text(t, "source");
+            record.setTranscript(new Transcript(
+                    text(t, "id"),
+                    text(t, "rawText"),
+                    readStrings(t.get("timestamps")),
+                    source != null ? TranscriptSource.valueOf(source) : null));
+        }
+
+        JsonNode s = node.get("summary");
+        if (s != null && !s.isNull()) {
+            Summary summary = new Summary(text(s, "id"));
+            for (String topic : readStrings(s.get("topics"))) {
+                summary.addTopic(topic);
+            }
+            for (String decision : readStrings(s.get("decisions"))) {
+                summary.addDecision(decision);
+            }
+            summary.setNotes(text(s, "notes"));
+            record.setSummary(summary);
+        }
+
+        List<ActionItem> actions = new ArrayList<>();
+        JsonNode actionNodes = node.get("actions");
+        if (actionNodes != null) {
+            for (JsonNode a : actionNodes) {
+                JsonNode owner = a.get("owner");
+                String dueDate = text(a, "dueDate");
+                ActionItem item = new ActionItem(
+                        text(a, "id"),
+                        text(a, "title"),
+                        owner != null && !owner.isNull() ? participantFromJson(owner) : null,
+                        dueDate != null ? LocalDate.parse(dueDate) : null);
+                String actionStatus = text(a, "status");
+                if (actionStatus != null) {
+                    item.setStatus(ActionStatus.valueOf(actionStatus));
+                }
+                actions.add(item);
+            }
+        }
+        record.setActions(actions);
+
+        record.setAudioFilePath(text(node, "audioFilePath"));
+        return record;
+    }
+
+    private ObjectNode participantToJson(Participant p) {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("name", p.getName());
+        node.put("email", p.getEmail());
+        node.put("role", p.getRole());
+        return node;
+    }
+
+    private Participant participantFromJson(JsonNode node) {
+        return new Participant(text(node, "name"), text(node, "email"), text(node, "role"));
+    }
+
+    private static void writeStrings(ArrayNode array, List<String> values) {
+        for (String value : values) {
+            array.add(value);
+        }
+    }
+
+    private static List<String> readStrings(JsonNode array) {
+        List<String> values = new ArrayList<>();
+        if (array != null && array.isArray()) {
+            for (JsonNode el : array) {
+                values.add(el.asText());
+            }
+        }
+        return values;
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+}
@@ -1,30 +1,106 @@
 package EchoNote.Jack;
 
+import EchoNote.Config.LatencyHistogram;
+import EchoNote.Config.Metrics;
+
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 
 public class Workspace {
 
-    private final List<MeetingRecord> records = new ArrayList<>();
+    private static final LatencyHistogram SAVE_LATENCY = Metrics.histogram("workspace.save");
+
+    private final Map<UUID, MeetingRecord> records = new ConcurrentHashMap<>();
+    // Save order, as the list-backed workspace kept it: a re-saved record moves to the end. Lock-free
+    // readers iterate this instead of the hash map so getAll() and findByQuery() stay chronological.
+    private final ConcurrentSkipListMap<Long, MeetingRecord> saveOrder = new ConcurrentSkipListMap<>();
+    private final Map<String, Set<UUID>> tagIndex = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<LocalDate, Set<UUID>> dateIndex = new ConcurrentSkipListMap<>();
 
-    public synchronized void save(MeetingRecord record) {
+    private final Object writeLock = new Object();
+    private final Map<UUID, IndexKeys> indexedKeys = new HashMap<>();
+    private final Map<UUID, Long> sequences = new HashMap<>();
+    private long nextSequence;
+    private final WorkspaceStore store;
+
+    public Workspace() {
+        this.store = null;
+    }
+
+    public Workspace(WorkspaceStore store) {
+        this.store = Objects.requireNonNull(store, "store cannot be null");
+        for (MeetingRecord record : store.load()) {
+            putInMemory(record);
+        }
+    }
+
+    public void save(MeetingRecord record) {
         Objects.requireNonNull(record, "record cannot be null");
 
-        records.removeIf(r -> r.getId().equals(record.getId()));
-        records.add(record);
+        long start = System.nanoTime();
+        try {
+            CompletableFuture<Void> durable = null;
+            synchronized (writeLock) {
+                if (store != null) {
+                    durable = store.append(record);
+                }
+                putInMemory(record);
+                if (store != null && store.needsCompaction()) {
+                    store.compact(saveOrder.values());
+                }
+            }
+            // Waited for outside the lock, so saves from other threads join the same journal fsync.
+            if (durable != null) {
+                awaitDurable(durable, record);
+            }
+        } finally {
+            SAVE_LATENCY.recordSince(start);
+        }
+    }
+
+    private static void awaitDurable(CompletableFuture<Void> durable, MeetingRecord record) {
+        try {
+            durable.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PersistenceException("Interrupted while saving meeting " + record.getId(), e);
+        } catch (ExecutionException e) {
+            throw new PersistenceException("Unable to save meeting " + record.getId(), e.getCause());
+        }
     }
 
-    public synchronized List<MeetingRecord> findByQuery(String query) {
+    public void flush() {
+        if (store != null) {
+            store.flush();
+        }
+    }
+
+    public void close() {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    public List<MeetingRecord> findByQuery(String query) {
         if (query == null || query.isBlank()) {
-            return new ArrayList<>(records);
+            return new ArrayList<>(saveOrder.values());
         }
 
         String lower = query.toLowerCase();
 
-        return records.stream()
+        return saveOrder.values().stream()
                 .filter(rec ->
                         (rec.getTitle() != null &&
                                 rec.getTitle().toLowerCase().contains(lower)) ||
@@ -33,26 +109,130 @@ public class Workspace {
                 .collect(Collectors.toList());
     }
 
-    public synchronized MeetingRecord getById(UUID id) {
+    public List<MeetingRecord> findByTag(String tag) {
+        if (tag == null || tag.isBlank()) {
+            throw new IllegalArgumentException("tag cannot be blank");
+        }
+        return resolve(tagIndex.get(tag.trim().toLowerCase()));
+    }
+
+    public List<MeetingRecord> findByDateRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("date range cannot be null");
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+
+        List<MeetingRecord> result = new ArrayList<>();
+        for (Set<UUID> ids : dateIndex.subMap(from, true, to, true).values()) {
+            result.addAll(resolve(ids));
+        }
+        return result;
+    }
+
+    public MeetingRecord getById(UUID id) {
         if (id == null) {
             throw new IllegalArgumentException("id cannot be null");
         }
 
-        return records.stream()
-                .filter(rec -> rec.getId().equals(id))
-                .findFirst()
-                .orElseThrow(() ->
-                        new RecordNotFoundException("No MeetingRecord found with id " + id));
+        MeetingRecord record = records.get(id);
+        if (record == null) {
+            throw new RecordNotFoundException("No MeetingRecord found with id " + id);
+        }
+        return record;
     }
 
-    public synchronized MeetingRecord getById(String id) {
+    public MeetingRecord getById(String id) {
         if (id == null || id.isBlank()) {
             throw new IllegalArgumentException("id cannot be blank");
         }
         return getById(UUID.fromString(id.trim()));
     }
 
-    public synchronized List<MeetingRecord> getAll() {
-        return new ArrayList<>(records);
+    public List<MeetingRecord> getAll() {
+        return new ArrayList<>(saveOrder.values());
+    }
+
+    private List<MeetingRecord> resolve(Collection<UUID> ids) {
+        List<MeetingRecord> result = new ArrayList<>();
+        if (ids == null) {
+            return result;
+        }
+        for (UUID id : ids) {
+            MeetingRecord record = records.get(id);
+            if (record != null) {
+                result.add(record);
+            }
+        }
+        return result;
+    }
+
+    private void putInMemory(MeetingRecord record) {
+        IndexKeys keys = IndexKeys.of(record);
+
+        synchronized (writeLock) {
+            IndexKeys previous = indexedKeys.put(record.getId(), keys);
+            if (previous != null) {
+                unindex(record.getId(), previous);
+            }
+            records.put(record.getId(), record);
+            Long previousSequence = sequences.put(record.getId(), nextSequence);
+            if (previousSequence != null) {
+                saveOrder.remove(previousSequence);
+            }
+            saveOrder.put(nextSequence++, record);
+            index(record.getId(), keys);
+        }
+    }
+
+    private void index(UUID id, IndexKeys keys) {
+        for (String tag : keys.tags) {
+            tagIndex.computeIfAbsent(tag, t -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+        if (keys.date != null) {
+            dateIndex.computeIfAbsent(keys.date, d -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+    }
+
+    private void unindex(UUID id, IndexKeys keys) {
+        for (String tag : keys.tags) {
+            Set<UUID> ids = tagIndex.get(tag);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    tagIndex.remove(tag);
+                }
+            }
+        }
+        if (keys.date != null) {
+            Set<UUID> ids = dateIndex.get(keys.date);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    dateIndex.remove(keys.date);
+                }
+            }
+        }
+    }
+
+    private static class IndexKeys {
+        private final List<String> tags;
+        private final LocalDate date;
+
+        private IndexKeys(List<String> tags, LocalDate date) {
+            this.tags = tags;
+            this.date = date;
+        }
+
+        static IndexKeys of(MeetingRecord record) {
+            List<String> tags = record.getTags().stream()
+                    .filter(t -> t != null && !t.isBlank())
+                    .map(t -> t.trim().toLowerCase())
+                    .distinct()
+                    .collect(Collectors.toList());
+            LocalDate date = record.getDate() != null ? record.getDate().toLocalDate() : null;
+            return new IndexKeys(tags, date);
+        }
     }
 }
@@ -0,0 +1,22 @@
+package EchoNote.Jack;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public interface WorkspaceStore extends AutoCloseable {
+
+    List<MeetingRecord> load();
+
+    // Completes once the record is durably stored, or exceptionally if it never will be.
+    CompletableFuture<Void> append(MeetingRecord record);
+
+    boolean needsCompaction();
+
+    void compact(Collection<MeetingRecord> records);
+
+    void flush();
+
+    @Override
+    void close();
+}
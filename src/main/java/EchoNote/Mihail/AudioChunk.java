@@ -0,0 +1,37 @@
+package EchoNote.Mihail;
+
+import java.time.Duration;
+
+public class AudioChunk {
+    private final int index;
+    private final long startFrame;
+    private final long frameCount;
+    private final float frameRate;
+
+    public AudioChunk(int index, long startFrame, long frameCount, float frameRate) {
+        this.index = index;
+        this.startFrame = startFrame;
+        this.frameCount = frameCount;
+        this.frameRate = frameRate;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public long getStartFrame() {
+        return startFrame;
+    }
+
+    public long getFrameCount() {
+        return frameCount;
+    }
+
+    public long getEndFrame() {
+        return startFrame + frameCount;
+    }
+
+    public Duration getStartOffset() {
+        return Duration.ofMillis(Math.round(startFrame * 1000.0 / frameRate));
+    }
+}
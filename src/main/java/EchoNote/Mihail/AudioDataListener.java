@@ -0,0 +1,12 @@
+package EchoNote.Mihail;
+
+public interface AudioDataListener {
+
+    // Called on the recorder's tap thread with a buffer that is reused afterwards; copy what you keep.
+    void onAudioData(byte[] data, int length);
+
+    // Called on the same thread when audio was dropped because this listener fell a full tap ring
+    // behind, so the data that follows is not contiguous with what came before.
+    default void onAudioDropped(long droppedBytes) {
+    }
+}
@@ -0,0 +1,389 @@
+package EchoNote.Mihail;
+
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+
+// Shrinks recordings before upload: downmixes to mono, resamples to a speech-friendly rate, drops long
+// silences and optionally encodes the samples as 8-bit mu-law. The input is read block by block, so
+// only the (much smaller) output is held in memory.
+public class AudioPreprocessor {
+
+    public static final float SPEECH_SAMPLE_RATE = 16_000f;
+
+    private static final int BLOCK_FRAMES = 4096;
+    private static final int WAVE_FORMAT_PCM = 1;
+    private static final int WAVE_FORMAT_MULAW = 7;
+
+    private final float targetSampleRate;
+    private final boolean muLaw;
+    private final boolean trimSilence;
+
+    public AudioPreprocessor(float targetSampleRate, boolean muLaw) {
+        this(targetSampleRate, muLaw, true);
+    }
+
+    public AudioPreprocessor(float targetSampleRate, boolean muLaw, boolean trimSilence) {
+        if (targetSampleRate < 8_000f) {
+            throw new IllegalArgumentException("targetSampleRate must be at least 8000 Hz");
+        }
+        this.targetSampleRate = targetSampleRate;
+        this.muLaw = muLaw;
+        this.trimSilence = trimSilence;
+    }
+
+    public static AudioPreprocessor speech() {
+        return new AudioPreprocessor(SPEECH_SAMPLE_RATE, false);
+    }
+
+    public PreparedAudio process(Path wavFile) throws IOException, UnsupportedAudioFileException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(wavFile))) {
+            return process(in);
+        }
+    }
+
+    public PreparedAudio process(byte[] wavBytes) throws IOException, UnsupportedAudioFileException {
+        return process(new ByteArrayInputStream(wavBytes));
+    }
+
+    public PreparedAudio process(InputStream wav) throws IOException, UnsupportedAudioFileException {
+        try (AudioInputStream source = AudioSystem.getAudioInputStream(wav)) {
+            return process(source);
+        }
+    }
+
+    // Upper bound of the upload size after preprocessing, or -1 when the file is not audio we can read.
+    public long estimateOutputBytes(Path wavFile) {
+        try {
+            AudioFileFormat fileFormat = AudioSystem.getAudioFileFormat(wavFile.toFile());
+            long frames = fileFormat.getFrameLength();
+            if (frames == AudioSystem.NOT_SPECIFIED) {
+                return -1;
+            }
+            float sourceRate = fileFormat.getFormat().getSampleRate();
+            double outputFrames = frames * (double) outputRate(sourceRate) / sourceRate;
+            return headerSize() + (long) Math.ceil(outputFrames) * bytesPerSample();
+        } catch (UnsupportedAudioFileException | IOException e) {
+            return -1;
+        }
+    }
+
+    // Upload bytes per second of audio recorded at sourceRate, header excluded.
+    public long outputBytesPerSecond(float sourceRate) {
+        return (long) Math.ceil(outputRate(sourceRate)) * bytesPerSample();
+    }
+
+    private PreparedAudio process(AudioInputStream source) throws IOException {
+        AudioFormat format = source.getFormat();
+        int channels = format.getChannels();
+        float sourceRate = format.getSampleRate();
+        AudioFormat pcm16 = new AudioFormat(sourceRate, 16, channels, true, false);
+
+        AudioInputStream pcm = format.matches(pcm16) ? source : AudioSystem.getAudioInputStream(pcm16, source);
+        float outputRate = outputRate(sourceRate);
+        Resampler resampler = new Resampler(sourceRate, outputRate);
+
+        long expectedFrames = source.getFrameLength() == AudioSystem.NOT_SPECIFIED
+                ? 0 : (long) (source.getFrameLength() * (double) outputRate / sourceRate);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(
+                (int) Math.min(Integer.MAX_VALUE - 64, headerSize() + expectedFrames * bytesPerSample() + 64));
+        out.write(new byte[headerSize()]);
+
+        SilenceTrimmer.Sink encoder = muLaw ? new MuLawSink(out) : out::write;
+        SilenceTrimmer trimmer = trimSilence ? new SilenceTrimmer(outputRate, encoder) : null;
+        SilenceTrimmer.Sink sink = trimmer != null ? trimmer::write : encoder;
+
+        byte[] block = new byte[BLOCK_FRAMES * 2 * channels];
+        float[] mono = new float[BLOCK_FRAMES];
+        byte[] samples = new byte[(resampler.maxOutputFor(BLOCK_FRAMES) + 1) * 2];
+        int frameBytes = 2 * channels;
+        int carry = 0;
+        int read;
+        while ((read = pcm.read(block, carry, block.length - carry)) >= 0) {
+            int available = carry + read;
+            int frames = available / frameBytes;
+            downmix(block, frames, channels, mono);
+            writeSamples(resampler.push(mono, frames), samples, sink);
+
+            carry = available - frames * frameBytes;
+            System.arraycopy(block, frames * frameBytes, block, 0, carry);
+        }
+        writeSamples(resampler.flush(), samples, sink);
+        if (trimmer != null) {
+            trimmer.finish();
+        }
+
+        byte[] wav = out.toByteArray();
+        int dataSize = wav.length - headerSize();
+        writeHeader(wav, Math.round(outputRate), dataSize);
+        AudioTimeMap timeMap = trimmer != null ? trimmer.getTimeMap() : new AudioTimeMap(outputRate);
+        return new PreparedAudio(wav, dataSize / bytesPerSample(), outputRate, timeMap);
+    }
+
+    private float outputRate(float sourceRate) {
+        // Never upsample; a phone-quality recording is already as small as it will get.
+        return Math.min(sourceRate, targetSampleRate);
+    }
+
+    private int bytesPerSample() {
+        return muLaw ? 1 : 2;
+    }
+
+    private int headerSize() {
+        // Non-PCM formats carry an 18-byte fmt chunk with an empty extension.
+        return muLaw ? 46 : 44;
+    }
+
+    private static void writeSamples(Resampler.Output samples, byte[] pcm, SilenceTrimmer.Sink sink) {
+        int length = 0;
+        for (int i = 0; i < samples.count; i++) {
+            int value = Math.round(samples.data[i]);
+            short sample = (short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, value));
+            pcm[length++] = (byte) sample;
+            pcm[length++] = (byte) (sample >> 8);
+        }
+        sink.accept(pcm, 0, length);
+    }
+
+    private void writeHeader(byte[] wav, int sampleRate, int dataSize) {
+        int bytesPerSample = bytesPerSample();
+        ByteBuffer header = ByteBuffer.wrap(wav, 0, headerSize()).order(ByteOrder.LITTLE_ENDIAN);
+        header.put(new byte[]{'R', 'I', 'F', 'F'});
+        header.putInt(wav.length - 8);
+        header.put(new byte[]{'W', 'A', 'V', 'E'});
+        header.put(new byte[]{'f', 'm', 't', ' '});
+        header.putInt(muLaw ? 18 : 16);
+        header.putShort((short) (muLaw ? WAVE_FORMAT_MULAW : WAVE_FORMAT_PCM));
+        header.putShort((short) 1);
+        header.putInt(sampleRate);
+        header.putInt(sampleRate * bytesPerSample);
+        header.putShort((short) bytesPerSample);
+        header.putShort((short) (8 * bytesPerSample));
+        if (muLaw) {
+            header.putShort((short) 0);
+        }
+        header.put(new byte[]{'d', 'a', 't', 'a'});
+        header.putInt(dataSize);
+    }
+
+    private static void downmix(byte[] block, int frames, int channels, float[] mono) {
+        for (int f = 0; f < frames; f++) {
+            int sum = 0;
+            int base = f * 2 * channels;
+            for (int c = 0; c < channels; c++) {
+                int i = base + 2 * c;
+                sum += (block[i + 1] << 8) | (block[i] & 0xFF);
+            }
+            mono[f] = (float) sum / channels;
+        }
+    }
+
+    // G.711 mu-law companding of a 16-bit linear sample.
+    static byte linearToMuLaw(short sample) {
+        final int bias = 0x84;
+        final int clip = 32_635;
+
+        int value = sample;
+        int sign = (value >> 8) & 0x80;
+        if (sign != 0) {
+            value = -value;
+        }
+        if (value > clip) {
+            value = clip;
+        }
+        value += bias;
+
+        int exponent = 7;
+        for (int mask = 0x4000; (value & mask) == 0 && exponent > 0; mask >>= 1) {
+            exponent--;
+        }
+        int mantissa = (value >> (exponent + 3)) & 0x0F;
+        return (byte) ~(sign | (exponent << 4) | mantissa);
+    }
+
+    public static class PreparedAudio {
+        private final byte[] wav;
+        private final long frames;
+        private final float frameRate;
+        private final AudioTimeMap timeMap;
+
+        PreparedAudio(byte[] wav, long frames, float frameRate, AudioTimeMap timeMap) {
+            this.wav = wav;
+            this.frames = frames;
+            this.frameRate = frameRate;
+            this.timeMap = timeMap;
+        }
+
+        public byte[] getWav() {
+            return wav;
+        }
+
+        public boolean isSilent() {
+            return frames == 0;
+        }
+
+        public Duration getDuration() {
+            return Duration.ofMillis(Math.round(frames * 1000.0 / frameRate));
+        }
+
+        public AudioTimeMap getTimeMap() {
+            return timeMap;
+        }
+    }
+
+    private static class MuLawSink implements SilenceTrimmer.Sink {
+        private final ByteArrayOutputStream out;
+        private byte[] encoded = new byte[0];
+
+        MuLawSink(ByteArrayOutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void accept(byte[] data, int offset, int length) {
+            int samples = length / 2;
+            if (encoded.length < samples) {
+                encoded = new byte[samples];
+            }
+            for (int i = 0; i < samples; i++) {
+                int at = offset + 2 * i;
+                encoded[i] = linearToMuLaw((short) ((data[at + 1] << 8) | (data[at] & 0xFF)));
+            }
+            out.write(encoded, 0, samples);
+        }
+    }
+
+    // Streaming low-pass + linear-interpolation resampler. The FIR keeps the content above the new
+    // Nyquist frequency from aliasing back into the speech band.
+    static class Resampler {
+        private static final int TAPS = 63;
+
+        private final double step;
+        private final float[] kernel;
+        private final boolean passThrough;
+
+        // The last TAPS - 1 inputs followed by the current block, so the FIR never checks bounds.
+        private float[] window = new float[TAPS - 1];
+        private float[] filtered = new float[0];
+        private int filteredCount;
+        private double position;
+        private final Output output = new Output();
+
+        Resampler(float sourceRate, float outputRate) {
+            this.step = sourceRate / outputRate;
+            this.passThrough = sourceRate == outputRate;
+            this.kernel = passThrough ? new float[0] : lowPass(0.45 / step);
+        }
+
+        int maxOutputFor(int inputFrames) {
+            return (int) Math.ceil((inputFrames + TAPS) / step) + 1;
+        }
+
+        Output push(float[] input, int count) {
+            output.ensure(maxOutputFor(count));
+            output.count = 0;
+            if (passThrough) {
+                System.arraycopy(input, 0, output.data, 0, count);
+                output.count = count;
+                return output;
+            }
+
+            int history = TAPS - 1;
+            if (window.length < history + count) {
+                window = Arrays.copyOf(window, history + count);
+            }
+            System.arraycopy(input, 0, window, history, count);
+
+            ensureFiltered(filteredCount + count);
+            for (int n = 0; n < count; n++) {
+                float acc = 0f;
+                int newest = history + n;
+                for (int k = 0; k < TAPS; k++) {
+                    acc += kernel[k] * window[newest - k];
+                }
+                filtered[filteredCount++] = acc;
+            }
+            System.arraycopy(window, count, window, 0, history);
+            drain();
+            return output;
+        }
+
+        Output flush() {
+            output.count = 0;
+            if (!passThrough && filteredCount > 0) {
+                // Emit the final sample so the output length matches the input duration.
+                ensureFiltered(filteredCount + 1);
+                filtered[filteredCount] = filtered[filteredCount - 1];
+                filteredCount++;
+                output.ensure(maxOutputFor(filteredCount));
+                drain();
+                filteredCount = 0;
+            }
+            return output;
+        }
+
+        private void drain() {
+            while (position + 1 < filteredCount) {
+                int i = (int) position;
+                double frac = position - i;
+                output.data[output.count++] = (float) (filtered[i] + (filtered[i + 1] - filtered[i]) * frac);
+                position += step;
+            }
+            int consumed = Math.min((int) position, filteredCount);
+            System.arraycopy(filtered, consumed, filtered, 0, filteredCount - consumed);
+            filteredCount -= consumed;
+            position -= consumed;
+        }
+
+        private void ensureFiltered(int size) {
+            if (filtered.length < size) {
+                float[] grown = new float[Math.max(size, filtered.length * 2)];
+                System.arraycopy(filtered, 0, grown, 0, filteredCount);
+                filtered = grown;
+            }
+        }
+
+        // Blackman-windowed sinc, normalised to unity gain at DC.
+        private static float[] lowPass(double cutoff) {
+            float[] taps = new float[TAPS];
+            int middle = TAPS / 2;
+            double sum = 0;
+            for (int i = 0; i < TAPS; i++) {
+                int n = i - middle;
+                double sinc = n == 0 ? 2 * cutoff : Math.sin(2 * Math.PI * cutoff * n) / (Math.PI * n);
+                double window = 0.42 - 0.5 * Math.cos(2 * Math.PI * i / (TAPS - 1))
+                        + 0.08 * Math.cos(4 * Math.PI * i / (TAPS - 1));
+                taps[i] = (float) (sinc * window);
+                sum += taps[i];
+            }
+            for (int i = 0; i < TAPS; i++) {
+                taps[i] /= (float) sum;
+            }
+            return taps;
+        }
+
+        static class Output {
+            float[] data = new float[0];
+            int count;
+
+            void ensure(int size) {
+                if (data.length < size) {
+                    data = new float[size];
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package EchoNote.Mihail;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// One TargetDataLine.read on the capture thread; its duration is how long we waited on the device.
+@Name("EchoNote.AudioRead")
+@Label("Audio Read")
+@Category({"EchoNote", "Recording"})
+@Description("A blocking read from the microphone line")
+@StackTrace(false)
+class AudioReadEvent extends jdk.jfr.Event {
+
+    @Label("Bytes Requested")
+    @DataAmount
+    int bytesRequested;
+
+    @Label("Bytes Read")
+    @DataAmount
+    int bytesRead;
+
+    @Label("Bytes Available Before Read")
+    @DataAmount
+    int available;
+}
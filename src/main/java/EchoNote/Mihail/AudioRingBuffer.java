@@ -0,0 +1,137 @@
+package EchoNote.Mihail;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Single-producer/single-consumer ring of preallocated audio blocks. The producer never blocks: when the
+// consumer has fallen a full ring behind, claim() returns null and the overrun is counted instead.
+class AudioRingBuffer {
+
+    interface BlockHandler {
+        void handle(byte[] data, int length) throws IOException;
+    }
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final byte[][] blocks;
+    private final int[] lengths;
+    private final long[] tags;
+    private final int mask;
+    // Slot the consumer is handing to its handler; consumer only.
+    private int handling;
+
+    // Next sequence the producer will publish; written only by the producer.
+    private final AtomicLong published = new AtomicLong();
+    // Next sequence the consumer will read; written only by the consumer.
+    private final AtomicLong consumed = new AtomicLong();
+    private long cachedConsumed;
+
+    private volatile long overruns;
+    private volatile boolean closed;
+    private volatile Thread consumer;
+
+    AudioRingBuffer(int blockCount, int blockSize) {
+        if (blockCount < 2 || Integer.bitCount(blockCount) != 1) {
+            throw new IllegalArgumentException("blockCount must be a power of two >= 2");
+        }
+        this.blocks = new byte[blockCount][blockSize];
+        this.lengths = new int[blockCount];
+        this.tags = new long[blockCount];
+        this.mask = blockCount - 1;
+    }
+
+    // Producer: the block to fill next, or null when the ring is full. Calling again without
+    // publish() returns the same block.
+    byte[] claim() {
+        long seq = published.get();
+        if (seq - cachedConsumed > mask) {
+            cachedConsumed = consumed.get();
+            if (seq - cachedConsumed > mask) {
+                overruns++;
+                return null;
+            }
+        }
+        return blocks[(int) seq & mask];
+    }
+
+    void publish(int length) {
+        publish(length, 0);
+    }
+
+    // The tag travels with the block; the consumer reads it back with currentTag() while handling it.
+    void publish(int length, long tag) {
+        long seq = published.get();
+        int index = (int) seq & mask;
+        lengths[index] = length;
+        tags[index] = tag;
+        published.lazySet(seq + 1);
+        wakeConsumer();
+    }
+
+    // Producer: copies data into the next block, counting an overrun if there is no room.
+    boolean offer(byte[] data, int length) {
+        byte[] block = claim();
+        if (block == null) {
+            return false;
+        }
+        int n = Math.min(length, block.length);
+        System.arraycopy(data, 0, block, 0, n);
+        publish(n);
+        return true;
+    }
+
+    void close() {
+        closed = true;
+        wakeConsumer();
+    }
+
+    // Consumer: hands every published block to the handler; returns false once closed and drained.
+    boolean drain(BlockHandler handler) throws IOException {
+        long seq = consumed.get();
+        long available = published.get();
+        while (seq < available) {
+            int index = (int) seq & mask;
+            handling = index;
+            handler.handle(blocks[index], lengths[index]);
+            consumed.lazySet(++seq);
+        }
+        return !(closed && seq == published.get());
+    }
+
+    // Consumer: parks until the producer publishes or closes (or a short timeout passes).
+    void awaitData() {
+        consumer = Thread.currentThread();
+        if (!closed && consumed.get() == published.get()) {
+            LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+        }
+    }
+
+    // Consumer loop for a dedicated thread.
+    void consumeUntilClosed(BlockHandler handler) throws IOException {
+        while (drain(handler)) {
+            awaitData();
+        }
+    }
+
+    // Consumer, inside BlockHandler.handle: the tag the block was published with.
+    long currentTag() {
+        return tags[handling];
+    }
+
+    long getOverruns() {
+        return overruns;
+    }
+
+    int getBacklog() {
+        return (int) (published.get() - consumed.get());
+    }
+
+    private void wakeConsumer() {
+        Thread t = consumer;
+        if (t != null) {
+            LockSupport.unpark(t);
+        }
+    }
+}
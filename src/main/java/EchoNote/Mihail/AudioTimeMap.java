@@ -0,0 +1,56 @@
+package EchoNote.Mihail;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// Maps positions in trimmed audio back to the recording it was cut from. Each span records where a
+// run of kept frames starts in both timelines; positions between spans are linear.
+public class AudioTimeMap {
+
+    public static final AudioTimeMap IDENTITY = new AudioTimeMap(1f);
+
+    private final float frameRate;
+    private final List<long[]> spans = new ArrayList<>();
+
+    AudioTimeMap(float frameRate) {
+        this.frameRate = frameRate;
+        spans.add(new long[]{0, 0});
+    }
+
+    void addSpan(long outputFrame, long sourceFrame) {
+        long[] last = spans.get(spans.size() - 1);
+        if (last[0] == outputFrame) {
+            last[1] = sourceFrame;
+        } else {
+            spans.add(new long[]{outputFrame, sourceFrame});
+        }
+    }
+
+    public long toSourceFrame(long outputFrame) {
+        int low = 0;
+        int high = spans.size() - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (spans.get(mid)[0] <= outputFrame) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        long[] span = spans.get(low);
+        return span[1] + (outputFrame - span[0]);
+    }
+
+    public Duration toSource(Duration outputOffset) {
+        if (this == IDENTITY) {
+            return outputOffset;
+        }
+        long outputFrame = Math.round(outputOffset.toNanos() * (double) frameRate / 1_000_000_000L);
+        return Duration.ofNanos(Math.round(toSourceFrame(outputFrame) * 1_000_000_000.0 / frameRate));
+    }
+
+    public int getSpanCount() {
+        return spans.size();
+    }
+}
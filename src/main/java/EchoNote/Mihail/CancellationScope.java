@@ -0,0 +1,52 @@
+package EchoNote.Mihail;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Future;
+
+// CompletableFuture.cancel() does not reach the stages a result was composed from. Work started for
+// one async call registers its futures here, and cancelling the caller's future cancels all of them,
+// which for OpenAiRequestScheduler futures aborts the HTTP call itself.
+class CancellationScope<T> {
+
+    private final CompletableFuture<T> result = new CompletableFuture<>();
+    private final Queue<Future<?>> children = new ConcurrentLinkedQueue<>();
+
+    CancellationScope() {
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                Future<?> child;
+                while ((child = children.poll()) != null) {
+                    child.cancel(true);
+                }
+            }
+        });
+    }
+
+    <F extends Future<?>> F track(F child) {
+        children.add(child);
+        if (result.isCancelled()) {
+            child.cancel(true);
+        }
+        return child;
+    }
+
+    CompletableFuture<T> completeFrom(CompletableFuture<T> work) {
+        track(work);
+        work.whenComplete((value, error) -> {
+            if (error == null) {
+                result.complete(value);
+            } else {
+                result.completeExceptionally(unwrap(error));
+            }
+            children.clear();
+        });
+        return result;
+    }
+
+    static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+}
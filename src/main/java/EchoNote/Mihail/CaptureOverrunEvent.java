@@ -0,0 +1,35 @@
+package EchoNote.Mihail;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("EchoNote.CaptureOverrun")
+@Label("Capture Overrun")
+@Category({"EchoNote", "Recording"})
+@Description("Audio was lost because the line buffer filled up or a consumer ring fell behind")
+@StackTrace(false)
+class CaptureOverrunEvent extends jdk.jfr.Event {
+
+    static final String LINE = "line";
+    static final String FILE = "file";
+    static final String METER = "meter";
+    static final String TAP = "tap";
+
+    @Label("Source")
+    String source;
+
+    @Label("Total Overruns")
+    long total;
+
+    static void emit(String source, long total) {
+        CaptureOverrunEvent event = new CaptureOverrunEvent();
+        if (event.shouldCommit()) {
+            event.source = source;
+            event.total = total;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package EchoNote.Mihail;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.DoubleConsumer;
+
+// Decouples the microphone read loop from everything downstream. The capture thread reads straight
+// into the file ring's next block and copies it into the optional metering and tap rings; each ring has
+// its own consumer thread, so a slow disk, repaint or listener shows up as an overrun count instead of
+// a stalled TargetDataLine.
+//
+// Audio the file ring had no room for is still counted, and the writer puts the same number of bytes
+// of silence in its place, so everything after a gap keeps its position in the recording.
+class CapturePipeline implements Closeable {
+
+    static final int BLOCK_BYTES = 4096;
+    // ~12 s of 44.1 kHz mono before the writer would drop audio.
+    static final int FILE_RING_BLOCKS = 256;
+    static final int TAP_RING_BLOCKS = 128;
+    static final int METER_RING_BLOCKS = 16;
+
+    private final AudioRingBuffer fileRing;
+    private final AudioRingBuffer meterRing;
+    private final AudioRingBuffer tapRing;
+    private final byte[] scratch = new byte[BLOCK_BYTES];
+    // Zero samples are silence for the signed PCM the recorder captures.
+    private final byte[] silence = new byte[BLOCK_BYTES];
+    private final List<Thread> consumers = new ArrayList<>();
+    private volatile IOException writerError;
+    // Written by the capture thread only; each file block carries the total dropped before it.
+    private volatile long fileDroppedBytes;
+    private long fileSilencedBytes;
+    // Written by the capture thread only; the tap thread reports the growth to the listener.
+    private volatile long tapDroppedBytes;
+    private long tapReportedBytes;
+    private byte[] current;
+
+    CapturePipeline(WavFileWriter writer, DoubleConsumer levelCallback, LevelMeter meter,
+                    AudioDataListener audioListener) {
+        this.fileRing = new AudioRingBuffer(FILE_RING_BLOCKS, BLOCK_BYTES);
+        this.meterRing = levelCallback != null || meter != null
+                ? new AudioRingBuffer(METER_RING_BLOCKS, BLOCK_BYTES) : null;
+        this.tapRing = audioListener != null ? new AudioRingBuffer(TAP_RING_BLOCKS, BLOCK_BYTES) : null;
+
+        startConsumer("Recorder-Writer", fileRing, (data, length) -> {
+            writeSilenceUpTo(writer, fileRing.currentTag());
+            writer.write(data, 0, length);
+        }, () -> {
+            if (writerError == null) {
+                try {
+                    writeSilenceUpTo(writer, fileDroppedBytes);
+                } catch (IOException e) {
+                    writerError = e;
+                }
+            }
+        });
+        if (meterRing != null) {
+            byte[] meterBlock = new byte[BLOCK_BYTES];
+            ShortBuffer samples = ByteBuffer.wrap(meterBlock).order(ByteOrder.LITTLE_ENDIAN).asShortBuffer();
+            startConsumer("Recorder-Meter", meterRing, (data, length) -> {
+                if (meter != null) {
+                    System.arraycopy(data, 0, meterBlock, 0, length);
+                    samples.clear().limit(length / 2);
+                    meter.process(samples);
+                }
+                if (levelCallback != null) {
+                    try {
+                        levelCallback.accept(Recorder.computeLevelRms(data, length));
+                    } catch (Exception ignored) {
+                    }
+                }
+            }, null);
+        }
+        if (tapRing != null) {
+            startConsumer("Recorder-Tap", tapRing, (data, length) -> {
+                reportTapGap(audioListener);
+                try {
+                    audioListener.onAudioData(data, length);
+                } catch (Exception ignored) {
+                }
+            }, () -> reportTapGap(audioListener));
+        }
+    }
+
+    // Buffer for the next microphone read. When the writer is a full ring behind this is a scratch
+    // buffer whose audio is replaced by silence in the file (counted in getFileDroppedBytes()).
+    byte[] nextBuffer() throws IOException {
+        IOException error = writerError;
+        if (error != null) {
+            throw error;
+        }
+        byte[] block = fileRing.claim();
+        if (block == null) {
+            CaptureOverrunEvent.emit(CaptureOverrunEvent.FILE, fileRing.getOverruns());
+        }
+        current = block != null ? block : scratch;
+        return current;
+    }
+
+    void commit(int length) {
+        if (length <= 0) {
+            return;
+        }
+        if (current != scratch) {
+            fileRing.publish(length, fileDroppedBytes);
+        } else {
+            fileDroppedBytes += length;
+        }
+        if (meterRing != null && !meterRing.offer(current, length)) {
+            CaptureOverrunEvent.emit(CaptureOverrunEvent.METER, meterRing.getOverruns());
+        }
+        if (tapRing != null && !tapRing.offer(current, length)) {
+            tapDroppedBytes += length;
+            CaptureOverrunEvent.emit(CaptureOverrunEvent.TAP, tapRing.getOverruns());
+        }
+    }
+
+    long getDroppedBlocks() {
+        return fileRing.getOverruns();
+    }
+
+    long getFileDroppedBytes() {
+        return fileDroppedBytes;
+    }
+
+    long getMeterOverruns() {
+        return meterRing != null ? meterRing.getOverruns() : 0;
+    }
+
+    long getTapOverruns() {
+        return tapRing != null ? tapRing.getOverruns() : 0;
+    }
+
+    long getTapDroppedBytes() {
+        return tapDroppedBytes;
+    }
+
+    // Lets every consumer drain what was captured, then reports a failed file write.
+    @Override
+    public void close() throws IOException {
+        fileRing.close();
+        if (meterRing != null) {
+            meterRing.close();
+        }
+        if (tapRing != null) {
+            tapRing.close();
+        }
+
+        boolean interrupted = false;
+        for (Thread consumer : consumers) {
+            while (true) {
+                try {
+                    consumer.join();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (writerError != null) {
+            throw writerError;
+        }
+    }
+
+    // Runs on the writer thread: pads the file with silence until it covers `droppedBytes` of lost audio.
+    private void writeSilenceUpTo(WavFileWriter writer, long droppedBytes) throws IOException {
+        while (fileSilencedBytes < droppedBytes) {
+            int length = (int) Math.min(silence.length, droppedBytes - fileSilencedBytes);
+            writer.write(silence, 0, length);
+            fileSilencedBytes += length;
+        }
+    }
+
+    // Runs on the tap thread, so the listener hears about a gap before the first block after it.
+    private void reportTapGap(AudioDataListener audioListener) {
+        long dropped = tapDroppedBytes;
+        if (dropped > tapReportedBytes) {
+            long gap = dropped - tapReportedBytes;
+            tapReportedBytes = dropped;
+            try {
+                audioListener.onAudioDropped(gap);
+            } catch (Exception ignored) {
+            }
+        }
+    }
+
+    private void startConsumer(String name, AudioRingBuffer ring, AudioRingBuffer.BlockHandler handler,
+                               Runnable afterDrain) {
+        Thread thread = new Thread(() -> {
+            try {
+                ring.consumeUntilClosed(handler);
+            } catch (IOException e) {
+                writerError = e;
+            }
+            if (afterDrain != null) {
+                afterDrain.run();
+            }
+        }, name);
+        thread.setDaemon(true);
+        consumers.add(thread);
+        thread.start();
+    }
+}
@@ -0,0 +1,144 @@
+package EchoNote.Mihail;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class ChatResponseCache {
+
+    private final DiskCache diskCache;
+    private final Duration ttl;
+    private final int maxMemoryEntries;
+    private final Clock clock;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LinkedHashMap<String, CachedResponse> memory;
+
+    public ChatResponseCache(Path directory, long maxDiskBytes, int maxMemoryEntries, Duration ttl) {
+        this(directory, maxDiskBytes, maxMemoryEntries, ttl, Clock.systemUTC());
+    }
+
+    ChatResponseCache(Path directory, long maxDiskBytes, int maxMemoryEntries, Duration ttl, Clock clock) {
+        if (maxMemoryEntries < 0) {
+            throw new IllegalArgumentException("maxMemoryEntries cannot be negative");
+        }
+        if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("ttl must be positive");
+        }
+
+        this.diskCache = directory != null ? new DiskCache(directory, maxDiskBytes) : null;
+        this.ttl = ttl;
+        this.maxMemoryEntries = maxMemoryEntries;
+        this.clock = clock;
+        this.memory = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return size() > ChatResponseCache.this.maxMemoryEntries;
+            }
+        };
+    }
+
+    public String keyFor(String model, double temperature, String systemMessage, String prompt) {
+        MessageDigest digest = sha256();
+        digest.update(model.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(Double.toString(temperature).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(systemMessage.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(prompt.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    public String get(String key) {
+        long now = clock.millis();
+
+        synchronized (memory) {
+            CachedResponse hit = memory.get(key);
+            if (hit != null) {
+                if (!isExpired(hit, now)) {
+                    return hit.content;
+                }
+                memory.remove(key);
+            }
+        }
+
+        if (diskCache == null) {
+            return null;
+        }
+
+        String json = diskCache.get(key);
+        if (json == null) {
+            return null;
+        }
+
+        try {
+            JsonNode node = objectMapper.readTree(json);
+            CachedResponse fromDisk = new CachedResponse(node.get("content").asText(), node.get("createdAt").asLong());
+            if (isExpired(fromDisk, now)) {
+                return null;
+            }
+            remember(key, fromDisk);
+            return fromDisk.content;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    public void put(String key, String content) {
+        CachedResponse response = new CachedResponse(content, clock.millis());
+        remember(key, response);
+
+        if (diskCache == null) {
+            return;
+        }
+
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("createdAt", response.createdAt);
+        node.put("content", content);
+        try {
+            diskCache.put(key, objectMapper.writeValueAsString(node));
+        } catch (Exception ignored) {
+        }
+    }
+
+    private void remember(String key, CachedResponse response) {
+        if (maxMemoryEntries == 0) {
+            return;
+        }
+        synchronized (memory) {
+            memory.put(key, response);
+        }
+    }
+
+    private boolean isExpired(CachedResponse response, long now) {
+        return now - response.createdAt > ttl.toMillis();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static class CachedResponse {
+        private final String content;
+        private final long createdAt;
+
+        CachedResponse(String content, long createdAt) {
+            this.content = content;
+            this.createdAt = createdAt;
+        }
+    }
+}
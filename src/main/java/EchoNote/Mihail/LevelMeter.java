@@ -0,0 +1,86 @@
+package EchoNote.Mihail;
+
+import java.nio.ShortBuffer;
+
+// RMS and peak meter for 16-bit capture. The capture thread accumulates samples without allocating and
+// publishes one reading per display frame into a single volatile slot; the UI polls it at its own pace,
+// so a slow repaint can never hold up the microphone.
+public class LevelMeter {
+
+    public static final int DEFAULT_UPDATES_PER_SECOND = 30;
+
+    private final int framesPerUpdate;
+
+    // Only touched by the capture thread.
+    private long sumSquares;
+    private int peak;
+    private int frames;
+
+    // RMS float bits in the high word, peak float bits in the low word.
+    private volatile long published;
+
+    public LevelMeter(float frameRate) {
+        this(frameRate, DEFAULT_UPDATES_PER_SECOND);
+    }
+
+    public LevelMeter(float frameRate, int updatesPerSecond) {
+        if (frameRate <= 0 || updatesPerSecond < 1) {
+            throw new IllegalArgumentException("frameRate and updatesPerSecond must be positive");
+        }
+        this.framesPerUpdate = Math.max(1, Math.round(frameRate / updatesPerSecond));
+    }
+
+    // Consumes samples between position and limit; the buffer's position is left untouched.
+    public void process(ShortBuffer samples) {
+        int i = samples.position();
+        int end = samples.limit();
+        while (i < end) {
+            int run = Math.min(end - i, framesPerUpdate - frames);
+            long squares = 0;
+            int max = peak;
+            for (int j = i; j < i + run; j++) {
+                int s = samples.get(j);
+                squares += s * s;
+                max = Math.max(max, Math.abs(s));
+            }
+            sumSquares += squares;
+            peak = max;
+            frames += run;
+            i += run;
+
+            if (frames == framesPerUpdate) {
+                publish();
+            }
+        }
+    }
+
+    public long snapshot() {
+        return published;
+    }
+
+    public double getRms() {
+        return rmsOf(published);
+    }
+
+    public double getPeak() {
+        return peakOf(published);
+    }
+
+    public static double rmsOf(long snapshot) {
+        return Float.intBitsToFloat((int) (snapshot >>> 32));
+    }
+
+    public static double peakOf(long snapshot) {
+        return Float.intBitsToFloat((int) snapshot);
+    }
+
+    private void publish() {
+        float rms = (float) Math.min(1.0, Math.sqrt((double) sumSquares / frames) / 32768.0);
+        float peakLevel = Math.min(1f, peak / 32768f);
+        published = ((long) Float.floatToRawIntBits(rms) << 32) | (Float.floatToRawIntBits(peakLevel) & 0xFFFFFFFFL);
+
+        sumSquares = 0;
+        peak = 0;
+        frames = 0;
+    }
+}
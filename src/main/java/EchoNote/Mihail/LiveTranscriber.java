@@ -0,0 +1,268 @@
+package EchoNote.Mihail;
+
+import EchoNote.Config.VirtualThreads;
+import EchoNote.Jack.Transcript;
+import EchoNote.Jack.TranscriptSource;
+
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+// Receives PCM from the recorder while it is still capturing, cuts it into overlapping segments at
+// quiet points and transcribes each segment in the background, so only the tail is left after Stop.
+public class LiveTranscriber implements AudioDataListener {
+
+    static final Duration DEFAULT_SEGMENT_LENGTH = Duration.ofSeconds(30);
+    static final Duration DEFAULT_OVERLAP = Duration.ofSeconds(1);
+    static final int DEFAULT_PARALLELISM = 2;
+    private static final Duration SILENCE_SEARCH_WINDOW = Duration.ofSeconds(3);
+    private static final Duration ENERGY_WINDOW = Duration.ofMillis(100);
+    private static final Duration MIN_TAIL = Duration.ofMillis(300);
+
+    private final Transcriber transcriber;
+    private final AudioFormat format;
+    private final int frameSize;
+    private final int segmentBytes;
+    private final int overlapBytes;
+    private final int searchBytes;
+    private final int windowBytes;
+    private final int minTailBytes;
+    private final ExecutorService executor;
+    private final String filePrefix = "live-" + UUID.randomUUID();
+
+    private final List<Segment> segments = new ArrayList<>();
+    private byte[] pending;
+    private int pendingLength;
+    private long pendingStartFrame;
+    private boolean finished;
+    private long droppedBytes;
+
+    public LiveTranscriber(Transcriber transcriber, AudioFormat format) {
+        this(transcriber, format, DEFAULT_SEGMENT_LENGTH, DEFAULT_OVERLAP, DEFAULT_PARALLELISM);
+    }
+
+    public LiveTranscriber(Transcriber transcriber, AudioFormat format,
+                           Duration segmentLength, Duration overlap, int parallelism) {
+        if (transcriber == null || format == null) {
+            throw new IllegalArgumentException("transcriber and format cannot be null");
+        }
+        if (format.getSampleSizeInBits() != 16 || format.getChannels() != 1 || format.isBigEndian()) {
+            throw new IllegalArgumentException("Live transcription needs 16-bit mono little-endian PCM: " + format);
+        }
+        if (segmentLength == null || overlap == null || overlap.isNegative()
+                || overlap.compareTo(segmentLength.dividedBy(2)) > 0) {
+            throw new IllegalArgumentException("overlap must be between zero and half the segment length");
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+
+        this.transcriber = transcriber;
+        this.format = format;
+        this.frameSize = format.getFrameSize();
+        this.segmentBytes = toBytes(segmentLength);
+        this.overlapBytes = toBytes(overlap);
+        this.searchBytes = Math.min(toBytes(SILENCE_SEARCH_WINDOW), segmentBytes / 2);
+        this.windowBytes = Math.max(frameSize, toBytes(ENERGY_WINDOW));
+        this.minTailBytes = toBytes(MIN_TAIL);
+        this.pending = new byte[segmentBytes + 64 * 1024];
+
+        this.executor = VirtualThreads.newExecutor("LiveTranscriber-", parallelism);
+    }
+
+    @Override
+    public synchronized void onAudioData(byte[] data, int length) {
+        if (finished || droppedBytes > 0 || length <= 0) {
+            return;
+        }
+        if (pendingLength + length > pending.length) {
+            pending = Arrays.copyOf(pending, Math.max(pending.length * 2, pendingLength + length));
+        }
+        System.arraycopy(data, 0, pending, pendingLength, length);
+        pendingLength += length;
+
+        while (pendingLength >= segmentBytes) {
+            int cut = findCut();
+            emit(cut);
+
+            int keepFrom = Math.max(0, cut - overlapBytes);
+            keepFrom -= keepFrom % frameSize;
+            pendingStartFrame += keepFrom / frameSize;
+            System.arraycopy(pending, keepFrom, pending, 0, pendingLength - keepFrom);
+            pendingLength -= keepFrom;
+        }
+    }
+
+    // Stitching across a hole would shift every later offset and lose words, so the live transcript is
+    // abandoned and awaitTranscript() fails, letting the caller transcribe the recording instead.
+    @Override
+    public synchronized void onAudioDropped(long droppedBytes) {
+        this.droppedBytes += droppedBytes;
+        pending = new byte[0];
+        pendingLength = 0;
+        executor.shutdownNow();
+    }
+
+    // Flushes the last partial segment. Call once capture has stopped.
+    public synchronized void finish() {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        if (droppedBytes == 0 && pendingLength >= minTailBytes || (segments.isEmpty() && pendingLength > 0)) {
+            emit(pendingLength - pendingLength % frameSize);
+        }
+        pending = new byte[0];
+        pendingLength = 0;
+        executor.shutdown();
+    }
+
+    public synchronized int getSegmentCount() {
+        return segments.size();
+    }
+
+    // Text of the leading segments that are already transcribed; grows while recording continues.
+    public Transcript getPartialTranscript() {
+        List<Segment> snapshot;
+        synchronized (this) {
+            snapshot = new ArrayList<>(segments);
+        }
+
+        List<String> texts = new ArrayList<>();
+        List<String> timestamps = new ArrayList<>();
+        for (Segment segment : snapshot) {
+            if (!segment.future.isDone() || segment.future.isCancelled()) {
+                break;
+            }
+            try {
+                texts.add(segment.future.get());
+                timestamps.add(Transcriber.formatOffset(segment.startOffset));
+            } catch (Exception e) {
+                break;
+            }
+        }
+        return new Transcript(UUID.randomUUID().toString(),
+                Transcriber.stitchChunkTexts(texts), timestamps, TranscriptSource.LIVE);
+    }
+
+    // Blocks until every segment is transcribed and returns the stitched transcript.
+    public Transcript awaitTranscript() {
+        List<Segment> snapshot;
+        synchronized (this) {
+            if (!finished) {
+                throw new IllegalStateException("finish() must be called before awaiting the transcript");
+            }
+            snapshot = new ArrayList<>(segments);
+            if (droppedBytes > 0) {
+                throw new TranscriptionException("Live transcription missed " + droppedBytes
+                        + " bytes of audio; transcribe the recording instead");
+            }
+        }
+        if (snapshot.isEmpty()) {
+            throw new TranscriptionException("No audio was captured");
+        }
+
+        List<String> texts = new ArrayList<>();
+        List<String> timestamps = new ArrayList<>();
+        try {
+            for (Segment segment : snapshot) {
+                texts.add(awaitSegment(segment));
+                timestamps.add(Transcriber.formatOffset(segment.startOffset));
+            }
+        } catch (RuntimeException e) {
+            cancel();
+            throw e;
+        }
+        return new Transcript(UUID.randomUUID().toString(),
+                Transcriber.stitchChunkTexts(texts), timestamps, TranscriptSource.LIVE);
+    }
+
+    public void cancel() {
+        synchronized (this) {
+            finished = true;
+            pending = new byte[0];
+            pendingLength = 0;
+        }
+        executor.shutdownNow();
+    }
+
+    private int findCut() {
+        // Cut at the quietest short window near the end of the segment so words are rarely split.
+        int searchStart = segmentBytes - searchBytes;
+        int best = segmentBytes;
+        double bestLevel = Double.MAX_VALUE;
+        for (int offset = searchStart; offset + windowBytes <= segmentBytes; offset += windowBytes) {
+            double level = Recorder.computeLevelRms(pending, offset, windowBytes);
+            if (level < bestLevel) {
+                bestLevel = level;
+                best = offset + windowBytes / 2;
+            }
+        }
+        return best - best % frameSize;
+    }
+
+    private void emit(int length) {
+        if (length <= 0) {
+            return;
+        }
+        byte[] pcm = Arrays.copyOf(pending, length);
+        int index = segments.size();
+        Duration startOffset = Duration.ofNanos((long) (pendingStartFrame * 1_000_000_000L / format.getFrameRate()));
+        String filename = filePrefix + "-part" + (index + 1) + ".wav";
+
+        Future<String> future = executor.submit(() -> transcriber.transcribeWavBytes(toWav(pcm), filename));
+        segments.add(new Segment(startOffset, future));
+    }
+
+    private byte[] toWav(byte[] pcm) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(pcm.length + 64);
+        try (AudioInputStream stream = new AudioInputStream(
+                new ByteArrayInputStream(pcm), format, pcm.length / frameSize)) {
+            AudioSystem.write(stream, AudioFileFormat.Type.WAVE, out);
+        }
+        return out.toByteArray();
+    }
+
+    private String awaitSegment(Segment segment) {
+        try {
+            return segment.future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TranscriptionException("Interrupted while waiting for live transcription", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof TranscriptionException te) {
+                throw te;
+            }
+            throw new TranscriptionException("Live transcription of segment at "
+                    + Transcriber.formatOffset(segment.startOffset) + " failed", cause);
+        }
+    }
+
+    private int toBytes(Duration duration) {
+        long frames = (long) (duration.toNanos() * (double) format.getFrameRate() / 1_000_000_000L);
+        return (int) (frames * format.getFrameSize());
+    }
+
+    private static class Segment {
+        private final Duration startOffset;
+        private final Future<String> future;
+
+        Segment(Duration startOffset, Future<String> future) {
+            this.startOffset = startOffset;
+            this.future = future;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package EchoNote.Mihail;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// Spans the whole call, including waiting on the rate limiter and reading (or streaming) the body.
+@Name("EchoNote.OpenAiCall")
+@Label("OpenAI Call")
+@Category({"EchoNote", "OpenAI"})
+@Description("One transcription or chat completion request")
+class OpenAiCallEvent extends jdk.jfr.Event {
+
+    @Label("Endpoint")
+    String endpoint;
+
+    @Label("Request Size")
+    @DataAmount
+    long requestBytes;
+
+    @Label("Response Size")
+    @DataAmount
+    long responseBytes;
+
+    @Label("HTTP Status")
+    int status;
+
+    @Label("Streamed")
+    boolean streamed;
+}
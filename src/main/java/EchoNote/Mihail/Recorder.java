@@ -1,12 +1,11 @@
 package EchoNote.Mihail;
 
 import javax.sound.sampled.*;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Duration;
+import java.util.function.BooleanSupplier;
 import java.util.function.DoubleConsumer;
 
 public class Recorder {
@@ -44,7 +43,13 @@ public class Recorder {
             throw new TranscriptionException("Microphone line unavailable", e);
         }
 
-        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        WavFileWriter writer;
+        try {
+            writer = new WavFileWriter(outputFile, AUDIO_FORMAT);
+        } catch (IOException e) {
+            microphone.close();
+            throw new TranscriptionException("Unable to open WAV file " + outputFile, e);
+        }
 
         final boolean[] running = {true};
 
@@ -62,34 +67,10 @@ public class Recorder {
 
         microphone.start();
 
-        byte[] data = new byte[4096];
-
-        while (running[0]) {
-            int bytesRead = microphone.read(data, 0, data.length);
-            if (bytesRead <= 0) {
-                break;
-            }
-
-            buffer.write(data, 0, bytesRead);
-
-            if (levelCallback != null) {
-                double level = computeLevelRms(data, bytesRead);
-                try {
-                    levelCallback.accept(level);
-                } catch (Exception ignored) {
-                }
-            }
-        }
-
-        byte[] audioBytes = buffer.toByteArray();
-        int frameSize = AUDIO_FORMAT.getFrameSize();
-        long frameCount = frameSize > 0 ? audioBytes.length / frameSize : audioBytes.length;
-
-        try (ByteArrayInputStream bais = new ByteArrayInputStream(audioBytes);
-             AudioInputStream ais = new AudioInputStream(bais, AUDIO_FORMAT, frameCount)) {
-
-            AudioSystem.write(ais, AudioFileFormat.Type.WAVE, outputFile.toFile());
+        try (WavFileWriter out = writer) {
+            capture(microphone, out, () -> running[0], levelCallback, null, null);
         } catch (IOException e) {
+            stopper.interrupt();
             throw new TranscriptionException("Error while writing WAV file " + outputFile, e);
         }
 
@@ -109,42 +90,65 @@ public class Recorder {
         }
     }
 
-    private double computeLevelRms(byte[] data, int length) {
-        if (length <= 0) {
+    public static AudioFormat getAudioFormat() {
+        return AUDIO_FORMAT;
+    }
+
+    static double computeLevelRms(byte[] data, int length) {
+        return computeLevelRms(data, 0, length);
+    }
+
+    static double computeLevelRms(byte[] data, int offset, int length) {
+        int sampleCount = length / 2;
+        if (sampleCount <= 0) {
             return 0.0;
         }
 
-        int sampleCount = length / 2;
-        if (sampleCount == 0) return 0.0;
-
-        double sumSquares = 0.0;
-        for (int i = 0; i < length; i += 2) {
-            int low = data[i] & 0xFF;
-            int high = data[i + 1];
-            int sample = (high << 8) | low;
-            double normalized = sample / 32768.0;
-            sumSquares += normalized * normalized;
+        // Integer accumulation: exact, and no per-sample floating-point division.
+        long sumSquares = 0;
+        int end = offset + sampleCount * 2;
+        for (int i = offset; i < end; i += 2) {
+            int sample = (data[i + 1] << 8) | (data[i] & 0xFF);
+            sumSquares += sample * sample;
         }
 
-        double rms = Math.sqrt(sumSquares / sampleCount);
-        if (rms < 0) rms = 0;
-        if (rms > 1) rms = 1;
-        return rms;
+        double rms = Math.sqrt((double) sumSquares / sampleCount) / 32768.0;
+        return Math.min(1.0, rms);
     }
 
     private volatile boolean interactiveRecording = false;
+    private volatile long lineOverruns;
+    private volatile CapturePipeline activePipeline;
     private Thread interactiveThread;
     private Path interactiveOutputFile;
     private Exception interactiveError;
+    private long interactiveDroppedBytes;
 
 
     public synchronized void startInteractiveRecording(String filePrefix, DoubleConsumer levelCallback) {
+        startInteractiveRecording(filePrefix, levelCallback, null);
+    }
+
+    public synchronized void startInteractiveRecording(String filePrefix, DoubleConsumer levelCallback,
+                                                       AudioDataListener audioListener) {
+        startInteractiveRecording(filePrefix, levelCallback, null, audioListener);
+    }
+
+    // The meter is fed on the capture thread and polled by the caller, instead of a callback per buffer.
+    public synchronized void startInteractiveRecording(String filePrefix, LevelMeter meter,
+                                                       AudioDataListener audioListener) {
+        startInteractiveRecording(filePrefix, null, meter, audioListener);
+    }
+
+    private void startInteractiveRecording(String filePrefix, DoubleConsumer levelCallback, LevelMeter meter,
+                                           AudioDataListener audioListener) {
         if (interactiveRecording) {
             throw new IllegalStateException("Already recording");
         }
 
         interactiveRecording = true;
         interactiveError = null;
+        interactiveDroppedBytes = 0;
 
         try {
             Path recordingsDir = Path.of("recordings");
@@ -159,45 +163,22 @@ public class Recorder {
 
         interactiveThread = new Thread(() -> {
             TargetDataLine microphone = null;
-            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
 
-            try {
+            try (WavFileWriter writer = new WavFileWriter(interactiveOutputFile, AUDIO_FORMAT)) {
                 DataLine.Info info = new DataLine.Info(TargetDataLine.class, AUDIO_FORMAT);
                 microphone = (TargetDataLine) AudioSystem.getLine(info);
                 microphone.open(AUDIO_FORMAT);
                 microphone.start();
 
-                byte[] data = new byte[4096];
-
-                while (interactiveRecording) {
-                    int bytesRead = microphone.read(data, 0, data.length);
-                    if (bytesRead <= 0) {
-                        continue;
-                    }
-
-                    buffer.write(data, 0, bytesRead);
-
-                    if (levelCallback != null) {
-                        double level = computeLevelRms(data, bytesRead);
-                        try {
-                            levelCallback.accept(level);
-                        } catch (Exception ignored) {
-                        }
-                    }
+                long droppedBytes = capture(microphone, writer, () -> interactiveRecording, levelCallback, meter,
+                        audioListener);
+                synchronized (Recorder.this) {
+                    interactiveDroppedBytes = droppedBytes;
                 }
 
                 microphone.stop();
                 microphone.close();
                 microphone = null;
-
-                byte[] audioBytes = buffer.toByteArray();
-                int frameSize = AUDIO_FORMAT.getFrameSize();
-                long frameCount = frameSize > 0 ? audioBytes.length / frameSize : audioBytes.length;
-
-                try (ByteArrayInputStream bais = new ByteArrayInputStream(audioBytes);
-                     AudioInputStream ais = new AudioInputStream(bais, AUDIO_FORMAT, frameCount)) {
-                    AudioSystem.write(ais, AudioFileFormat.Type.WAVE, interactiveOutputFile.toFile());
-                }
             } catch (Exception ex) {
                 synchronized (Recorder.this) {
                     interactiveError = ex;
@@ -215,7 +196,68 @@ public class Recorder {
         interactiveThread.start();
     }
 
-    public synchronized Path stopInteractiveRecording() {
+    // Reads the line until it is told to stop or the line closes. The pipeline's consumer threads do the
+    // writing, metering and tapping, so this loop only ever waits on the microphone. Returns how many bytes
+    // of audio the writer could not keep up with and replaced with silence.
+    private long capture(TargetDataLine microphone, WavFileWriter writer, BooleanSupplier running,
+                         DoubleConsumer levelCallback, LevelMeter meter, AudioDataListener audioListener)
+            throws IOException {
+        lineOverruns = 0;
+        try (CapturePipeline pipeline = new CapturePipeline(writer, levelCallback, meter, audioListener)) {
+            activePipeline = pipeline;
+            int lineBufferSize = microphone.getBufferSize();
+            while (running.getAsBoolean()) {
+                // A full line buffer means the device has been waiting on us and may have overwritten audio.
+                int available = microphone.available();
+                if (available >= lineBufferSize) {
+                    lineOverruns++;
+                    CaptureOverrunEvent.emit(CaptureOverrunEvent.LINE, lineOverruns);
+                }
+                byte[] buffer = pipeline.nextBuffer();
+                AudioReadEvent readEvent = new AudioReadEvent();
+                readEvent.begin();
+                int bytesRead = microphone.read(buffer, 0, buffer.length);
+                if (readEvent.shouldCommit()) {
+                    readEvent.bytesRequested = buffer.length;
+                    readEvent.bytesRead = bytesRead;
+                    readEvent.available = available;
+                    readEvent.commit();
+                }
+                if (bytesRead <= 0) {
+                    if (!microphone.isOpen()) {
+                        break;
+                    }
+                    continue;
+                }
+                pipeline.commit(bytesRead);
+            }
+            return pipeline.getFileDroppedBytes();
+        }
+    }
+
+    public long getLineOverruns() {
+        return lineOverruns;
+    }
+
+    public long getDroppedBlocks() {
+        CapturePipeline pipeline = activePipeline;
+        return pipeline != null ? pipeline.getDroppedBlocks() : 0;
+    }
+
+    // Level-meter blocks skipped; only the meter display is affected.
+    public long getMeterOverruns() {
+        CapturePipeline pipeline = activePipeline;
+        return pipeline != null ? pipeline.getMeterOverruns() : 0;
+    }
+
+    // Blocks the audio listener never saw; it is told through AudioDataListener.onAudioDropped.
+    public long getTapOverruns() {
+        CapturePipeline pipeline = activePipeline;
+        return pipeline != null ? pipeline.getTapOverruns() : 0;
+    }
+
+    // The result reports any audio that was replaced with silence so the caller can warn the user.
+    public synchronized RecordingResult stopInteractiveRecording() {
         if (!interactiveRecording || interactiveThread == null || interactiveOutputFile == null) {
             throw new IllegalStateException("Not currently recording");
         }
@@ -235,7 +277,10 @@ public class Recorder {
             throw new TranscriptionException("Error during recording", ex);
         }
 
-        Path result = interactiveOutputFile;
+        long droppedBytes = interactiveDroppedBytes;
+        Duration droppedAudio = Duration.ofMillis(Math.round(droppedBytes * 1000.0
+                / (AUDIO_FORMAT.getFrameSize() * AUDIO_FORMAT.getFrameRate())));
+        RecordingResult result = new RecordingResult(interactiveOutputFile, droppedBytes, droppedAudio);
         interactiveThread = null;
         interactiveOutputFile = null;
         return result;
@@ -0,0 +1,34 @@
+package EchoNote.Mihail;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+// A finished interactive recording. Dropped audio is audio the disk writer fell too far behind to keep;
+// it is present in the file as silence of the same length.
+public class RecordingResult {
+    private final Path file;
+    private final long droppedBytes;
+    private final Duration droppedAudio;
+
+    public RecordingResult(Path file, long droppedBytes, Duration droppedAudio) {
+        this.file = file;
+        this.droppedBytes = droppedBytes;
+        this.droppedAudio = droppedAudio;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public long getDroppedBytes() {
+        return droppedBytes;
+    }
+
+    public Duration getDroppedAudio() {
+        return droppedAudio;
+    }
+
+    public boolean hasDroppedAudio() {
+        return droppedBytes > 0;
+    }
+}
@@ -0,0 +1,153 @@
+package EchoNote.Mihail;
+
+import java.time.Duration;
+
+// Streaming voice-activity gate for 16-bit mono little-endian PCM. Silent spans longer than twice the
+// padding keep one padding of lead-out and one of lead-in around the speech and lose the middle;
+// everything else passes through untouched. Memory use is one window plus one padding.
+class SilenceTrimmer {
+
+    interface Sink {
+        void accept(byte[] data, int offset, int length);
+    }
+
+    static final Duration DEFAULT_WINDOW = Duration.ofMillis(30);
+    static final Duration DEFAULT_PADDING = Duration.ofMillis(300);
+    static final double DEFAULT_MIN_SPEECH_LEVEL = 0.005;
+    private static final double NOISE_FLOOR_RATIO = 3.0;
+    // Per-window pull towards louder levels (~15 s time constant); quieter windows reset it at once,
+    // so the gaps between words keep the floor near the room noise.
+    private static final double NOISE_FLOOR_RISE = 0.002;
+
+    private final Sink sink;
+    private final int windowBytes;
+    private final int paddingWindows;
+    private final double minSpeechLevel;
+    private final AudioTimeMap timeMap;
+
+    private final byte[] window;
+    private int windowFill;
+
+    // Ring of the most recent silent windows beyond the lead-out padding.
+    private final byte[] tail;
+    private int tailStart;
+    private int tailCount;
+
+    private int silentWindows;
+    private boolean droppedSilence;
+    private double noiseFloor;
+    private long sourceFrames;
+    private long outputFrames;
+    private long droppedFrames;
+
+    SilenceTrimmer(float frameRate, Sink sink) {
+        this(frameRate, DEFAULT_WINDOW, DEFAULT_PADDING, DEFAULT_MIN_SPEECH_LEVEL, sink);
+    }
+
+    SilenceTrimmer(float frameRate, Duration window, Duration padding, double minSpeechLevel, Sink sink) {
+        if (sink == null) {
+            throw new IllegalArgumentException("sink cannot be null");
+        }
+        int windowFrames = Math.max(1, (int) (frameRate * window.toNanos() / 1_000_000_000L));
+        this.sink = sink;
+        this.windowBytes = windowFrames * 2;
+        this.paddingWindows = Math.max(1, (int) Math.ceil(padding.toNanos() / (double) window.toNanos()));
+        this.minSpeechLevel = minSpeechLevel;
+        this.timeMap = new AudioTimeMap(frameRate);
+        this.window = new byte[windowBytes];
+        this.tail = new byte[paddingWindows * windowBytes];
+        // Silence before the first speech only earns a lead-in, so an all-silent input produces nothing.
+        this.silentWindows = paddingWindows;
+    }
+
+    void write(byte[] data, int offset, int length) {
+        int end = offset + length;
+        while (offset < end) {
+            int n = Math.min(windowBytes - windowFill, end - offset);
+            System.arraycopy(data, offset, window, windowFill, n);
+            windowFill += n;
+            offset += n;
+            if (windowFill == windowBytes) {
+                processWindow(windowBytes);
+                windowFill = 0;
+            }
+        }
+    }
+
+    // Pushes out the last partial window; trailing silence past the padding is dropped.
+    void finish() {
+        if (windowFill >= 2) {
+            processWindow(windowFill - windowFill % 2);
+        }
+        windowFill = 0;
+        droppedFrames += (long) tailCount * (windowBytes / 2);
+        tailCount = 0;
+    }
+
+    AudioTimeMap getTimeMap() {
+        return timeMap;
+    }
+
+    long getOutputFrames() {
+        return outputFrames;
+    }
+
+    long getDroppedFrames() {
+        return droppedFrames;
+    }
+
+    private void processWindow(int length) {
+        double level = Recorder.computeLevelRms(window, 0, length);
+        boolean voiced = level >= Math.max(minSpeechLevel, noiseFloor * NOISE_FLOOR_RATIO);
+        trackNoiseFloor(level);
+
+        if (voiced) {
+            releaseTail();
+            emit(window, 0, length);
+        } else if (++silentWindows <= paddingWindows) {
+            emit(window, 0, length);
+        } else {
+            holdSilence(length);
+        }
+        sourceFrames += length / 2;
+    }
+
+    private void trackNoiseFloor(double level) {
+        if (level < noiseFloor) {
+            noiseFloor = level;
+        } else {
+            noiseFloor += (level - noiseFloor) * NOISE_FLOOR_RISE;
+        }
+    }
+
+    private void holdSilence(int length) {
+        if (tailCount == paddingWindows) {
+            tailStart = (tailStart + 1) % paddingWindows;
+            tailCount--;
+            droppedSilence = true;
+            droppedFrames += windowBytes / 2;
+        }
+        int slot = (tailStart + tailCount) % paddingWindows;
+        System.arraycopy(window, 0, tail, slot * windowBytes, length);
+        tailCount++;
+    }
+
+    private void releaseTail() {
+        if (droppedSilence) {
+            timeMap.addSpan(outputFrames, sourceFrames - (long) tailCount * (windowBytes / 2));
+        }
+        for (int i = 0; i < tailCount; i++) {
+            int slot = (tailStart + i) % paddingWindows;
+            emit(tail, slot * windowBytes, windowBytes);
+        }
+        tailStart = 0;
+        tailCount = 0;
+        silentWindows = 0;
+        droppedSilence = false;
+    }
+
+    private void emit(byte[] data, int offset, int length) {
+        sink.accept(data, offset, length);
+        outputFrames += length / 2;
+    }
+}
@@ -0,0 +1,106 @@
+package EchoNote.Mihail;
+
+import EchoNote.Jack.Summary;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+// Feeds completion text through Jackson's non-blocking parser as it streams in, so finished
+// topics, decisions and notes can be shown before the closing brace arrives.
+class StreamingSummaryParser {
+
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+
+    private final List<String> topics = new ArrayList<>();
+    private final List<String> decisions = new ArrayList<>();
+    private String notes;
+
+    private int depth;
+    private String topLevelField;
+    private boolean started;
+    private boolean failed;
+
+    StreamingSummaryParser(JsonFactory factory) {
+        try {
+            this.parser = factory.createNonBlockingByteArrayParser();
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to create streaming JSON parser", e);
+        }
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    boolean feed(String fragment) {
+        if (failed || fragment == null || fragment.isEmpty()) {
+            return false;
+        }
+        if (!started) {
+            int brace = fragment.indexOf('{');
+            if (brace < 0) {
+                return false;
+            }
+            fragment = fragment.substring(brace);
+            started = true;
+        }
+
+        byte[] bytes = fragment.getBytes(StandardCharsets.UTF_8);
+        boolean changed = false;
+        try {
+            feeder.feedInput(bytes, 0, bytes.length);
+            JsonToken token;
+            while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                changed |= handle(token);
+            }
+        } catch (IOException e) {
+            // Malformed output is reported by the final full parse; stop publishing partials.
+            failed = true;
+        }
+        return changed;
+    }
+
+    Summary snapshot() {
+        return new Summary(new ArrayList<>(topics), new ArrayList<>(decisions), notes != null ? notes : "");
+    }
+
+    private boolean handle(JsonToken token) throws IOException {
+        switch (token) {
+            case START_OBJECT, START_ARRAY -> depth++;
+            case END_OBJECT, END_ARRAY -> depth--;
+            case FIELD_NAME -> {
+                if (depth == 1) {
+                    topLevelField = parser.currentName();
+                }
+            }
+            case VALUE_STRING -> {
+                return handleString(parser.getText());
+            }
+            default -> {
+            }
+        }
+        return false;
+    }
+
+    private boolean handleString(String value) {
+        if (depth == 1 && "notes".equals(topLevelField)) {
+            notes = value;
+            return true;
+        }
+        if (depth == 2 && parser.getParsingContext().inArray()) {
+            if ("topics".equals(topLevelField)) {
+                topics.add(value);
+                return true;
+            }
+            if ("decisions".equals(topLevelField)) {
+                decisions.add(value);
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,86 +1,256 @@
 package EchoNote.Mihail;
 
+import EchoNote.Config.HttpClientProvider;
+import EchoNote.Config.LatencyHistogram;
+import EchoNote.Config.Metrics;
+import EchoNote.Config.OpenAiEndpoints;
+import EchoNote.Config.OpenAiRequestScheduler;
+import EchoNote.Config.VirtualThreads;
 import EchoNote.Jack.ActionItem;
 import EchoNote.Jack.ActionStatus;
+import EchoNote.Jack.MeetingAnalysis;
 import EchoNote.Jack.Participant;
 import EchoNote.Jack.Summary;
 import EchoNote.Jack.Transcript;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.github.cdimascio.dotenv.Dotenv;
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.RequestBody;
 import okhttp3.Response;
+import okio.BufferedSource;
 
 import java.io.IOException;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 public class Summarizer {
 
-    private static final String CHAT_COMPLETIONS_URL = "https://api.openai.com/v1/chat/completions";
     private static final String MODEL = "gpt-4.1-mini";
+    private static final double TEMPERATURE = 0.2;
+    private static final String SYSTEM_MESSAGE = "You are a helpful assistant that always responds with valid JSON only.";
+    static final long DEFAULT_REQUESTS_PER_MINUTE = 500;
+    static final long DEFAULT_TOKENS_PER_MINUTE = 200_000;
+    private static final int CHARS_PER_TOKEN = 4;
+    private static final int EXPECTED_COMPLETION_TOKENS = 1024;
+    static final int MAX_SEGMENT_TOKENS = 12_000;
+    static final int DEFAULT_MAP_PARALLELISM = 4;
+
+    private static final LatencyHistogram CHAT_LATENCY = Metrics.histogram("summarizer.chat");
+    private static final LongAdder PROMPT_TOKENS = Metrics.counter("summarizer.promptTokens");
+    private static final LongAdder COMPLETION_TOKENS = Metrics.counter("summarizer.completionTokens");
+    private static final LongAdder CACHE_HITS = Metrics.counter("summarizer.cacheHits");
+    private static final LongAdder FAILURES = Metrics.counter("summarizer.failures");
 
     private final OkHttpClient httpClient;
     private final ObjectMapper objectMapper;
     private final String apiKey;
+    private final ChatResponseCache cache;
+    private final OpenAiRequestScheduler scheduler;
 
     public Summarizer() {
         this(resolveApiKey());
     }
 
+    public Summarizer(ChatResponseCache cache) {
+        this(resolveApiKey(), cache);
+    }
+
     public Summarizer(String apiKey) {
-        this.httpClient = new OkHttpClient();
+        this(apiKey, null);
+    }
+
+    public Summarizer(String apiKey, ChatResponseCache cache) {
+        this(apiKey, HttpClientProvider.getClient(), cache);
+    }
+
+    public Summarizer(String apiKey, OkHttpClient httpClient, ChatResponseCache cache) {
+        this(apiKey, httpClient,
+                new OpenAiRequestScheduler(DEFAULT_REQUESTS_PER_MINUTE, DEFAULT_TOKENS_PER_MINUTE), cache);
+    }
+
+    public Summarizer(String apiKey, OkHttpClient httpClient, OpenAiRequestScheduler scheduler,
+                      ChatResponseCache cache) {
+        if (httpClient == null || scheduler == null) {
+            throw new IllegalArgumentException("httpClient and scheduler cannot be null");
+        }
+        this.httpClient = httpClient;
+        this.scheduler = scheduler;
         this.objectMapper = new ObjectMapper();
         this.apiKey = apiKey;
+        this.cache = cache;
     }
 
-    public Summary summarize(Transcript transcript) {
-        if (transcript == null) {
-            throw new IllegalArgumentException("transcript cannot be null");
+    public MeetingAnalysis analyze(Transcript transcript) {
+        return analyze(transcript, null);
+    }
+
+    public MeetingAnalysis analyze(Transcript transcript, Consumer<Summary> partialListener) {
+        String text = requireText(transcript);
+        List<String> segments = segment(text);
+        if (segments.size() <= 1) {
+            JsonNode result = partialListener != null
+                    ? streamChatApiForJson(analysisPrompt(text), partialListener)
+                    : callChatApiForJson(analysisPrompt(text));
+            return toAnalysis(result);
         }
 
-        String text = transcript.getRawText();
-        if (text == null || text.isBlank()) {
-            throw new IllegalArgumentException("transcript raw text cannot be blank");
+        // Long meetings: analyze each segment independently, preview what is done so far, then merge.
+        List<Summary> finished = new ArrayList<>(Collections.nCopies(segments.size(), null));
+        List<MeetingAnalysis> parts = mapSegments(segments, (index, segmentText) -> {
+            MeetingAnalysis part = toAnalysis(callChatApiForJson(analysisPrompt(segmentText)));
+            if (partialListener != null) {
+                Summary preview;
+                synchronized (finished) {
+                    finished.set(index, part.getSummary());
+                    preview = concatSummaries(finished);
+                }
+                partialListener.accept(preview);
+            }
+            return part;
+        });
+
+        List<Summary> summaries = new ArrayList<>();
+        List<List<ActionItem>> actions = new ArrayList<>();
+        for (MeetingAnalysis part : parts) {
+            summaries.add(part.getSummary());
+            actions.add(part.getActions());
         }
+        return new MeetingAnalysis(reduceSummaries(summaries), mergeActionItems(actions));
+    }
 
-        String prompt = """
-                You are a meeting summarizer. The meeting can be about any topic (school, work, language class, etc.).
-                Given the full transcript below, produce a concise structured summary.
+    private String analysisPrompt(String text) {
+        return """
+                You are a meeting assistant. The meeting can be about any topic (school, work, language class, etc.).
+                Given the full transcript below, produce a concise structured summary and extract all clear action items.
 
-                Return your answer as a JSON object with the following fields:
+                Return your answer as a JSON object with the following fields, in this order:
                 - "topics": an array of short bullet-like strings summarizing main topics.
                 - "decisions": an array of short bullet-like strings summarizing key decisions or conclusions.
                 - "notes": a single string with any additional important context, paraphrased in the same language as the transcript when possible.
+                - "actionItems": an array of objects, one per action item, each with:
+                    - "title": short imperative phrase describing the task.
+                    - "owner": name of the person responsible (if unclear, use "Unassigned").
+                    - "dueDate": ISO date (YYYY-MM-DD) if a specific deadline is mentioned; otherwise null.
 
                 Transcript:
                 """ + text;
+    }
 
-        JsonNode result = callChatApiForJson(prompt);
+    private MeetingAnalysis toAnalysis(JsonNode result) {
+        JsonNode actionsNode = result.get("actionItems");
+        List<ActionItem> actions = actionsNode != null && !actionsNode.isNull()
+                ? parseActionItems(actionsNode)
+                : new ArrayList<>();
 
-        List<String> topics = readStringList(result, "topics");
-        List<String> decisions = readStringList(result, "decisions");
-        String notes = result.has("notes") ? result.get("notes").asText() : "";
+        return new MeetingAnalysis(parseSummary(result), actions);
+    }
 
-        return new Summary(topics, decisions, notes);
+    public Summary summarize(Transcript transcript) {
+        String text = requireText(transcript);
+        List<String> segments = segment(text);
+        if (segments.size() <= 1) {
+            return parseSummary(callChatApiForJson(summaryPrompt(text)));
+        }
+
+        List<Summary> partials = mapSegments(segments,
+                (index, segmentText) -> parseSummary(callChatApiForJson(summaryPrompt(segmentText))));
+        return reduceSummaries(partials);
     }
 
     public List<ActionItem> extractActions(Transcript transcript) {
-        if (transcript == null) {
-            throw new IllegalArgumentException("transcript cannot be null");
+        String text = requireText(transcript);
+        List<String> segments = segment(text);
+        if (segments.size() <= 1) {
+            return parseActionItems(callChatApiForJson(actionsPrompt(text)));
         }
 
-        String text = transcript.getRawText();
-        if (text == null || text.isBlank()) {
-            throw new IllegalArgumentException("transcript raw text cannot be blank");
+        return mergeActionItems(mapSegments(segments,
+                (index, segmentText) -> parseActionItems(callChatApiForJson(actionsPrompt(segmentText)))));
+    }
+
+    // Non-blocking variants: every chat call is an async OkHttp request, segments of long meetings are
+    // analyzed concurrently and the reduce rounds chain on their completion, so no thread waits on the
+    // network. Cancelling the returned future cancels the in-flight HTTP requests.
+    public CompletableFuture<MeetingAnalysis> analyzeAsync(Transcript transcript) {
+        String text = requireText(transcript);
+        CancellationScope<MeetingAnalysis> scope = new CancellationScope<>();
+        List<String> segments = segment(text);
+        if (segments.size() <= 1) {
+            return scope.completeFrom(callChatApiForJsonAsync(analysisPrompt(text), scope).thenApply(this::toAnalysis));
         }
 
-        String prompt = """
+        CompletableFuture<MeetingAnalysis> work = mapSegmentsAsync(segments,
+                segmentText -> callChatApiForJsonAsync(analysisPrompt(segmentText), scope).thenApply(this::toAnalysis))
+                .thenCompose(parts -> {
+                    List<Summary> summaries = new ArrayList<>();
+                    List<List<ActionItem>> actions = new ArrayList<>();
+                    for (MeetingAnalysis part : parts) {
+                        summaries.add(part.getSummary());
+                        actions.add(part.getActions());
+                    }
+                    return reduceSummariesAsync(summaries, scope)
+                            .thenApply(summary -> new MeetingAnalysis(summary, mergeActionItems(actions)));
+                });
+        return scope.completeFrom(work);
+    }
+
+    public CompletableFuture<Summary> summarizeAsync(Transcript transcript) {
+        String text = requireText(transcript);
+        CancellationScope<Summary> scope = new CancellationScope<>();
+        List<String> segments = segment(text);
+        if (segments.size() <= 1) {
+            return scope.completeFrom(
+                    callChatApiForJsonAsync(summaryPrompt(text), scope).thenApply(this::parseSummary));
+        }
+
+        return scope.completeFrom(mapSegmentsAsync(segments,
+                segmentText -> callChatApiForJsonAsync(summaryPrompt(segmentText), scope).thenApply(this::parseSummary))
+                .thenCompose(partials -> reduceSummariesAsync(partials, scope)));
+    }
+
+    public CompletableFuture<List<ActionItem>> extractActionsAsync(Transcript transcript) {
+        String text = requireText(transcript);
+        CancellationScope<List<ActionItem>> scope = new CancellationScope<>();
+        return scope.completeFrom(mapSegmentsAsync(segment(text),
+                segmentText -> callChatApiForJsonAsync(actionsPrompt(segmentText), scope)
+                        .thenApply(this::parseActionItems))
+                .thenApply(Summarizer::mergeActionItems));
+    }
+
+    private String summaryPrompt(String text) {
+        return """
+                You are a meeting summarizer. The meeting can be about any topic (school, work, language class, etc.).
+                Given the full transcript below, produce a concise structured summary.
+
+                Return your answer as a JSON object with the following fields:
+                - "topics": an array of short bullet-like strings summarizing main topics.
+                - "decisions": an array of short bullet-like strings summarizing key decisions or conclusions.
+                - "notes": a single string with any additional important context, paraphrased in the same language as the transcript when possible.
+
+                Transcript:
+                """ + text;
+    }
+
+    private String actionsPrompt(String text) {
+        return """
                 You are an assistant that extracts action items from meeting transcripts.
 
                 From the transcript below, identify all clear action items. For each action item,
@@ -93,9 +263,218 @@ public class Summarizer {
 
                 Transcript:
                 """ + text;
+    }
+
+    private String mergePrompt(String partialsJson) {
+        return """
+                You are a meeting summarizer. Below are structured summaries of consecutive parts of one long meeting,
+                as a JSON array in meeting order. Merge them into a single summary of the whole meeting:
+                combine duplicate or overlapping items, keep the original order of first appearance, and keep it concise.
+
+                Return your answer as a JSON object with the following fields:
+                - "topics": an array of short bullet-like strings summarizing main topics.
+                - "decisions": an array of short bullet-like strings summarizing key decisions or conclusions.
+                - "notes": a single string with any additional important context.
+
+                Partial summaries:
+                """ + partialsJson;
+    }
+
+    private List<String> segment(String text) {
+        if (text.length() <= MAX_SEGMENT_TOKENS * CHARS_PER_TOKEN) {
+            return List.of(text);
+        }
+
+        List<String> pieces = new TranscriptSegmenter(MAX_SEGMENT_TOKENS * CHARS_PER_TOKEN).split(text);
+        List<String> segments = new ArrayList<>(pieces.size());
+        for (int i = 0; i < pieces.size(); i++) {
+            segments.add("(Part " + (i + 1) + " of " + pieces.size()
+                    + " of a longer meeting; cover only this part.)\n" + pieces.get(i));
+        }
+        return segments;
+    }
+
+    // Merges partial summaries with the model, a batch at a time, until one summary is left.
+    private Summary reduceSummaries(List<Summary> summaries) {
+        List<Summary> level = summaries;
+        while (level.size() > 1) {
+            List<String> batches = new ArrayList<>();
+            for (List<Summary> batch : batchForReduce(level, MAX_SEGMENT_TOKENS * CHARS_PER_TOKEN)) {
+                batches.add(toJsonArray(batch));
+            }
+            level = mapSegments(batches, (index, json) -> parseSummary(callChatApiForJson(mergePrompt(json))));
+        }
+        return level.get(0);
+    }
+
+    private CompletableFuture<Summary> reduceSummariesAsync(List<Summary> level, CancellationScope<?> scope) {
+        if (level.size() <= 1) {
+            return CompletableFuture.completedFuture(level.get(0));
+        }
+        List<String> batches = new ArrayList<>();
+        for (List<Summary> batch : batchForReduce(level, MAX_SEGMENT_TOKENS * CHARS_PER_TOKEN)) {
+            batches.add(toJsonArray(batch));
+        }
+        return mapSegmentsAsync(batches,
+                json -> callChatApiForJsonAsync(mergePrompt(json), scope).thenApply(this::parseSummary))
+                .thenCompose(next -> reduceSummariesAsync(next, scope));
+    }
+
+    List<List<Summary>> batchForReduce(List<Summary> summaries, int maxChars) {
+        List<List<Summary>> batches = new ArrayList<>();
+        List<Summary> current = new ArrayList<>();
+        int currentChars = 0;
+        for (Summary summary : summaries) {
+            int size = toJsonArray(List.of(summary)).length();
+            // Always pair at least two summaries so every round shrinks the list.
+            if (current.size() >= 2 && currentChars + size > maxChars) {
+                batches.add(current);
+                current = new ArrayList<>();
+                currentChars = 0;
+            }
+            current.add(summary);
+            currentChars += size;
+        }
+        if (current.size() == 1 && !batches.isEmpty()) {
+            batches.get(batches.size() - 1).add(current.get(0));
+        } else if (!current.isEmpty()) {
+            batches.add(current);
+        }
+        return batches;
+    }
+
+    private String toJsonArray(List<Summary> summaries) {
+        ArrayNode array = objectMapper.createArrayNode();
+        for (Summary summary : summaries) {
+            ObjectNode node = array.addObject();
+            ArrayNode topics = node.putArray("topics");
+            summary.getTopics().forEach(topics::add);
+            ArrayNode decisions = node.putArray("decisions");
+            summary.getDecisions().forEach(decisions::add);
+            node.put("notes", summary.getNotes());
+        }
+        return array.toString();
+    }
+
+    private static Summary concatSummaries(List<Summary> summaries) {
+        List<String> topics = new ArrayList<>();
+        List<String> decisions = new ArrayList<>();
+        StringBuilder notes = new StringBuilder();
+        for (Summary summary : summaries) {
+            if (summary == null) {
+                continue;
+            }
+            topics.addAll(summary.getTopics());
+            decisions.addAll(summary.getDecisions());
+            if (summary.getNotes() != null && !summary.getNotes().isBlank()) {
+                if (notes.length() > 0) {
+                    notes.append(' ');
+                }
+                notes.append(summary.getNotes());
+            }
+        }
+        return new Summary(topics, decisions, notes.toString());
+    }
+
+    // Concatenates per-segment action items, dropping items the model repeats across adjacent segments
+    // (e.g. a task restated after a segment boundary); segments themselves do not overlap.
+    static List<ActionItem> mergeActionItems(List<List<ActionItem>> perSegment) {
+        Map<String, ActionItem> merged = new LinkedHashMap<>();
+        for (List<ActionItem> items : perSegment) {
+            for (ActionItem item : items) {
+                String owner = item.getOwner() != null && item.getOwner().getName() != null
+                        ? item.getOwner().getName().toLowerCase(Locale.ROOT)
+                        : "";
+                String key = item.getTitle().toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]+", " ").trim()
+                        + "|" + owner;
+                ActionItem existing = merged.get(key);
+                if (existing == null || (existing.getDueDate() == null && item.getDueDate() != null)) {
+                    merged.put(key, item);
+                }
+            }
+        }
+        return new ArrayList<>(merged.values());
+    }
+
+    private <T> List<T> mapSegments(List<String> segments, SegmentTask<T> task) {
+        if (segments.size() == 1) {
+            return List.of(task.run(0, segments.get(0)));
+        }
+
+        ExecutorService executor = VirtualThreads.newExecutor("Summarizer-Segment-",
+                Math.min(DEFAULT_MAP_PARALLELISM, segments.size()));
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < segments.size(); i++) {
+                int index = i;
+                futures.add(executor.submit(() -> task.run(index, segments.get(index))));
+            }
+
+            List<T> results = new ArrayList<>(futures.size());
+            for (int i = 0; i < futures.size(); i++) {
+                results.add(awaitSegment(futures.get(i), i));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static <T> CompletableFuture<List<T>> mapSegmentsAsync(List<String> segments,
+                                                                   Function<String, CompletableFuture<T>> task) {
+        List<CompletableFuture<T>> futures = new ArrayList<>(segments.size());
+        for (String segment : segments) {
+            futures.add(task.apply(segment));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).thenApply(ignored -> {
+            List<T> results = new ArrayList<>(futures.size());
+            for (CompletableFuture<T> future : futures) {
+                results.add(future.join());
+            }
+            return results;
+        });
+    }
+
+    private static <T> T awaitSegment(Future<T> future, int index) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SummarizationException("Interrupted while summarizing segment " + (index + 1), e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SummarizationException se) {
+                throw se;
+            }
+            throw new SummarizationException("Error summarizing segment " + (index + 1), cause);
+        }
+    }
+
+    private interface SegmentTask<T> {
+        T run(int index, String text);
+    }
+
+    private String requireText(Transcript transcript) {
+        if (transcript == null) {
+            throw new IllegalArgumentException("transcript cannot be null");
+        }
+
+        String text = transcript.getRawText();
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("transcript raw text cannot be blank");
+        }
+        return text;
+    }
 
-        JsonNode arrayNode = callChatApiForJson(prompt);
+    Summary parseSummary(JsonNode result) {
+        List<String> topics = readStringList(result, "topics");
+        List<String> decisions = readStringList(result, "decisions");
+        String notes = result.has("notes") ? result.get("notes").asText() : "";
+
+        return new Summary(topics, decisions, notes);
+    }
 
+    List<ActionItem> parseActionItems(JsonNode arrayNode) {
         if (!arrayNode.isArray()) {
             throw new SummarizationException("Expected JSON array for action items");
         }
@@ -131,55 +510,264 @@ public class Summarizer {
     }
 
     private JsonNode callChatApiForJson(String prompt) {
+        String cacheKey = cache != null ? cache.keyFor(MODEL, TEMPERATURE, SYSTEM_MESSAGE, prompt) : null;
+        JsonNode cached = readCached(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        OpenAiCallEvent event = new OpenAiCallEvent();
+        event.begin();
+        long start = System.nanoTime();
+        try (Response response = scheduler.execute(httpClient, buildChatRequest(prompt, false), estimateTokens(prompt))) {
+            return readChatResponse(response, cacheKey, event);
+        } catch (IOException e) {
+            FAILURES.increment();
+            throw new SummarizationException("Error calling OpenAI chat API", e);
+        } catch (SummarizationException e) {
+            FAILURES.increment();
+            throw e;
+        } finally {
+            CHAT_LATENCY.recordSince(start);
+            commit(event);
+        }
+    }
+
+    private CompletableFuture<JsonNode> callChatApiForJsonAsync(String prompt, CancellationScope<?> scope) {
+        String cacheKey = cache != null ? cache.keyFor(MODEL, TEMPERATURE, SYSTEM_MESSAGE, prompt) : null;
+        JsonNode cached = readCached(cacheKey);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        Request request;
         try {
-            Map<String, Object> payload = Map.of(
-                    "model", MODEL,
-                    "messages", List.of(
-                            Map.of("role", "system",
-                                    "content", "You are a helpful assistant that always responds with valid JSON only."),
-                            Map.of("role", "user",
-                                    "content", prompt)
-                    ),
-                    "temperature", 0.2
-            );
-
-            String jsonPayload = objectMapper.writeValueAsString(payload);
-
-            RequestBody body = RequestBody.create(
-                    jsonPayload,
-                    MediaType.parse("application/json")
-            );
-
-            Request request = new Request.Builder()
-                    .url(CHAT_COMPLETIONS_URL)
-                    .header("Authorization", "Bearer " + apiKey)
-                    .post(body)
-                    .build();
-
-            try (Response response = httpClient.newCall(request).execute()) {
-                if (!response.isSuccessful()) {
-                    String errorBody = response.body() != null ? response.body().string() : "";
-                    throw new SummarizationException("Chat completion failed: HTTP " +
-                            response.code() + " - " + errorBody);
+            request = buildChatRequest(prompt, false);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(new SummarizationException("Error calling OpenAI chat API", e));
+        }
+
+        OpenAiCallEvent event = new OpenAiCallEvent();
+        event.begin();
+        long start = System.nanoTime();
+        return scope.track(scheduler.executeAsync(httpClient, request, estimateTokens(prompt)))
+                .handle((response, error) -> {
+                    try {
+                        if (error != null) {
+                            throw asSummarizationFailure(CancellationScope.unwrap(error));
+                        }
+                        try (response) {
+                            return readChatResponse(response, cacheKey, event);
+                        } catch (IOException e) {
+                            FAILURES.increment();
+                            throw new SummarizationException("Error calling OpenAI chat API", e);
+                        } catch (SummarizationException e) {
+                            FAILURES.increment();
+                            throw e;
+                        }
+                    } finally {
+                        CHAT_LATENCY.recordSince(start);
+                        commit(event);
+                    }
+                });
+    }
+
+    private static RuntimeException asSummarizationFailure(Throwable error) {
+        if (error instanceof CancellationException ce) {
+            return ce;
+        }
+        FAILURES.increment();
+        if (error instanceof SummarizationException se) {
+            return se;
+        }
+        return new SummarizationException("Error calling OpenAI chat API", error);
+    }
+
+    private JsonNode readChatResponse(Response response, String cacheKey, OpenAiCallEvent event) throws IOException {
+        describe(event, response);
+        requireSuccess(response);
+
+        String responseJson = response.body() != null ? response.body().string() : "";
+        event.responseBytes = responseJson.length();
+        JsonNode root = objectMapper.readTree(responseJson);
+        recordUsage(root);
+        return parseAndCache(cacheKey, extractMessageContent(root));
+    }
+
+    private JsonNode streamChatApiForJson(String prompt, Consumer<Summary> partialListener) {
+        String cacheKey = cache != null ? cache.keyFor(MODEL, TEMPERATURE, SYSTEM_MESSAGE, prompt) : null;
+        JsonNode cached = readCached(cacheKey);
+        if (cached != null) {
+            partialListener.accept(parseSummary(cached));
+            return cached;
+        }
+
+        OpenAiCallEvent event = new OpenAiCallEvent();
+        event.begin();
+        event.streamed = true;
+        long start = System.nanoTime();
+        try (Response response = scheduler.execute(httpClient, buildChatRequest(prompt, true), estimateTokens(prompt))) {
+            describe(event, response);
+            requireSuccess(response);
+            if (response.body() == null) {
+                throw new SummarizationException("Chat completion returned an empty stream");
+            }
+
+            StreamingSummaryParser parser = new StreamingSummaryParser(objectMapper.getFactory());
+            StringBuilder content = new StringBuilder();
+            BufferedSource source = response.body().source();
+            String line;
+            while ((line = source.readUtf8Line()) != null) {
+                event.responseBytes += line.length() + 1;
+                if (!line.startsWith("data:")) {
+                    continue;
+                }
+                String data = line.substring(5).trim();
+                if (data.equals("[DONE]")) {
+                    break;
                 }
 
-                String responseJson = response.body() != null ? response.body().string() : "";
-                JsonNode root = objectMapper.readTree(responseJson);
-                JsonNode choices = root.get("choices");
-                if (choices == null || !choices.isArray() || choices.isEmpty()) {
-                    throw new SummarizationException("Chat completion returned no choices");
+                // The usage-only chunk at the end of the stream has no choices, so it yields no delta.
+                JsonNode chunk = objectMapper.readTree(data);
+                recordUsage(chunk);
+                String delta = extractDeltaContent(chunk);
+                if (delta.isEmpty()) {
+                    continue;
                 }
+                content.append(delta);
+                if (parser.feed(delta)) {
+                    partialListener.accept(parser.snapshot());
+                }
+            }
 
-                String content = choices.get(0)
-                        .get("message")
-                        .get("content")
-                        .asText();
+            return parseAndCache(cacheKey, content.toString());
+        } catch (IOException e) {
+            FAILURES.increment();
+            throw new SummarizationException("Error streaming OpenAI chat API", e);
+        } catch (SummarizationException e) {
+            FAILURES.increment();
+            throw e;
+        } finally {
+            CHAT_LATENCY.recordSince(start);
+            commit(event);
+        }
+    }
 
-                return objectMapper.readTree(content);
-            }
+    private JsonNode readCached(String cacheKey) {
+        if (cacheKey == null) {
+            return null;
+        }
+        String cached = cache.get(cacheKey);
+        if (cached == null) {
+            return null;
+        }
+        try {
+            JsonNode node = objectMapper.readTree(cached);
+            CACHE_HITS.increment();
+            return node;
         } catch (IOException e) {
-            throw new SummarizationException("Error calling OpenAI chat API", e);
+            return null;
+        }
+    }
+
+    private JsonNode parseAndCache(String cacheKey, String content) throws IOException {
+        JsonNode result = objectMapper.readTree(content);
+        if (cacheKey != null) {
+            cache.put(cacheKey, content);
+        }
+        return result;
+    }
+
+    private Request buildChatRequest(String prompt, boolean stream) throws IOException {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("model", MODEL);
+        payload.put("messages", List.of(
+                Map.of("role", "system",
+                        "content", SYSTEM_MESSAGE),
+                Map.of("role", "user",
+                        "content", prompt)
+        ));
+        payload.put("temperature", TEMPERATURE);
+        if (stream) {
+            payload.put("stream", true);
+            payload.put("stream_options", Map.of("include_usage", true));
+        }
+
+        String jsonPayload = objectMapper.writeValueAsString(payload);
+
+        RequestBody body = RequestBody.create(
+                jsonPayload,
+                MediaType.parse("application/json")
+        );
+
+        return new Request.Builder()
+                .url(OpenAiEndpoints.resolve(OpenAiEndpoints.CHAT_COMPLETIONS))
+                .header("Authorization", "Bearer " + apiKey)
+                .post(body)
+                .build();
+    }
+
+    private static void describe(OpenAiCallEvent event, Response response) throws IOException {
+        event.status = response.code();
+        RequestBody body = response.request().body();
+        event.requestBytes = body != null ? Math.max(0, body.contentLength()) : 0;
+    }
+
+    private static void commit(OpenAiCallEvent event) {
+        if (event.shouldCommit()) {
+            event.endpoint = "chat/completions";
+            event.commit();
+        }
+    }
+
+    private void requireSuccess(Response response) throws IOException {
+        if (!response.isSuccessful()) {
+            String errorBody = response.body() != null ? response.body().string() : "";
+            throw new SummarizationException("Chat completion failed: HTTP " +
+                    response.code() + " - " + errorBody);
+        }
+    }
+
+    private long estimateTokens(String prompt) {
+        return (SYSTEM_MESSAGE.length() + prompt.length()) / CHARS_PER_TOKEN + EXPECTED_COMPLETION_TOKENS;
+    }
+
+    String extractMessageContent(String responseJson) throws IOException {
+        return extractMessageContent(objectMapper.readTree(responseJson));
+    }
+
+    private String extractMessageContent(JsonNode root) {
+        JsonNode choices = root.get("choices");
+        if (choices == null || !choices.isArray() || choices.isEmpty()) {
+            throw new SummarizationException("Chat completion returned no choices");
+        }
+
+        return choices.get(0)
+                .get("message")
+                .get("content")
+                .asText();
+    }
+
+    String extractDeltaContent(String chunkJson) throws IOException {
+        return extractDeltaContent(objectMapper.readTree(chunkJson));
+    }
+
+    private String extractDeltaContent(JsonNode chunk) {
+        JsonNode choices = chunk.get("choices");
+        if (choices == null || !choices.isArray() || choices.isEmpty()) {
+            return "";
+        }
+        JsonNode content = choices.get(0).path("delta").get("content");
+        return content != null && !content.isNull() ? content.asText() : "";
+    }
+
+    static void recordUsage(JsonNode root) {
+        JsonNode usage = root.get("usage");
+        if (usage == null || !usage.isObject()) {
+            return;
         }
+        PROMPT_TOKENS.add(usage.path("prompt_tokens").asLong());
+        COMPLETION_TOKENS.add(usage.path("completion_tokens").asLong());
     }
 
     private List<String> readStringList(JsonNode node, String fieldName) {
@@ -1,5 +1,11 @@
 package EchoNote.Mihail;
 
+import EchoNote.Config.HttpClientProvider;
+import EchoNote.Config.LatencyHistogram;
+import EchoNote.Config.Metrics;
+import EchoNote.Config.OpenAiEndpoints;
+import EchoNote.Config.OpenAiRequestScheduler;
+import EchoNote.Config.VirtualThreads;
 import EchoNote.Jack.Transcript;
 import EchoNote.Jack.TranscriptSource;
 import com.fasterxml.jackson.databind.JsonNode;
@@ -7,28 +13,100 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.cdimascio.dotenv.Dotenv;
 import okhttp3.*;
 
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
 
 
 public class Transcriber {
 
-    private static final String TRANSCRIPTION_URL = "https://api.openai.com/v1/audio/transcriptions";
     private static final MediaType MEDIA_TYPE_WAV = MediaType.parse("audio/wav");
+    private static final String MODEL = "whisper-1";
+
+    static final long MAX_UPLOAD_BYTES = 25L * 1024 * 1024;
+    // Upper bound; chunkLengthFor() shortens it so every chunk upload fits MAX_UPLOAD_BYTES.
+    static final Duration DEFAULT_CHUNK_LENGTH = Duration.ofMinutes(5);
+    // Room for the WAV header and frame rounding when sizing chunks.
+    private static final long CHUNK_HEADER_ALLOWANCE = 1024;
+    static final Duration DEFAULT_CHUNK_OVERLAP = Duration.ofSeconds(2);
+    static final int DEFAULT_PARALLELISM = 4;
+    private static final int MAX_STITCH_OVERLAP_WORDS = 30;
+    static final long DEFAULT_REQUESTS_PER_MINUTE = 50;
+
+    private static final LatencyHistogram TRANSCRIBE_LATENCY = Metrics.histogram("transcriber.transcribeFile");
+    private static final LatencyHistogram REQUEST_LATENCY = Metrics.histogram("transcriber.request");
+    private static final LongAdder UPLOAD_BYTES = Metrics.counter("transcriber.uploadBytes");
+    private static final LongAdder SILENT_UPLOADS_SKIPPED = Metrics.counter("transcriber.silentUploadsSkipped");
+    private static final LongAdder FAILURES = Metrics.counter("transcriber.failures");
 
     private final OkHttpClient httpClient;
     private final ObjectMapper objectMapper;
     private final String apiKey;
+    private final TranscriptionCache cache;
+    private final OpenAiRequestScheduler scheduler;
+    private final AudioPreprocessor preprocessor;
 
     public Transcriber() {
         this(resolveApiKey());
     }
 
+    public Transcriber(TranscriptionCache cache) {
+        this(resolveApiKey(), cache);
+    }
+
+    public Transcriber(TranscriptionCache cache, AudioPreprocessor preprocessor) {
+        this(resolveApiKey(), HttpClientProvider.getClient(),
+                new OpenAiRequestScheduler(DEFAULT_REQUESTS_PER_MINUTE, 0), cache, preprocessor);
+    }
+
     public Transcriber(String apiKey) {
-        this.httpClient = new OkHttpClient();
+        this(apiKey, null);
+    }
+
+    public Transcriber(String apiKey, TranscriptionCache cache) {
+        this(apiKey, HttpClientProvider.getClient(), cache);
+    }
+
+    public Transcriber(String apiKey, OkHttpClient httpClient, TranscriptionCache cache) {
+        this(apiKey, httpClient, new OpenAiRequestScheduler(DEFAULT_REQUESTS_PER_MINUTE, 0), cache);
+    }
+
+    public Transcriber(String apiKey, OkHttpClient httpClient, OpenAiRequestScheduler scheduler,
+                       TranscriptionCache cache) {
+        this(apiKey, httpClient, scheduler, cache, AudioPreprocessor.speech());
+    }
+
+    // A null preprocessor uploads audio exactly as recorded.
+    public Transcriber(String apiKey, OkHttpClient httpClient, OpenAiRequestScheduler scheduler,
+                       TranscriptionCache cache, AudioPreprocessor preprocessor) {
+        if (httpClient == null || scheduler == null) {
+            throw new IllegalArgumentException("httpClient and scheduler cannot be null");
+        }
+        this.httpClient = httpClient;
+        this.scheduler = scheduler;
         this.objectMapper = new ObjectMapper();
         this.apiKey = apiKey;
+        this.cache = cache;
+        this.preprocessor = preprocessor;
     }
 
 
@@ -37,38 +115,491 @@ public class Transcriber {
             throw new IllegalArgumentException("wavFile must exist: " + wavFile);
         }
 
-        RequestBody fileBody = RequestBody.create(wavFile.toFile(), MEDIA_TYPE_WAV);
+        long start = System.nanoTime();
+        try {
+            return transcribeWholeFile(wavFile);
+        } finally {
+            TRANSCRIBE_LATENCY.recordSince(start);
+        }
+    }
+
+    private Transcript transcribeWholeFile(Path wavFile) {
+        if (uploadSizeOf(wavFile) > MAX_UPLOAD_BYTES) {
+            return transcribeFileChunked(wavFile, chunkLengthFor(wavFile), DEFAULT_CHUNK_OVERLAP,
+                    DEFAULT_PARALLELISM);
+        }
+
+        return cached(wavFile, () -> toTranscript(
+                requestTranscription(wavFile.getFileName().toString(), upload(wavFile))));
+    }
+
+    public CompletableFuture<Transcript> transcribeFileAsync(Path wavFile) {
+        return transcribeFileAsync(wavFile, ForkJoinPool.commonPool());
+    }
+
+    // Non-blocking variant of transcribeFile: preprocessing, hashing and cache I/O run on the given
+    // executor and the upload is an async OkHttp call, so no thread waits on the network. Cancelling
+    // the returned future cancels the in-flight HTTP requests.
+    public CompletableFuture<Transcript> transcribeFileAsync(Path wavFile, Executor executor) {
+        if (wavFile == null || !Files.exists(wavFile)) {
+            throw new IllegalArgumentException("wavFile must exist: " + wavFile);
+        }
+        if (executor == null) {
+            throw new IllegalArgumentException("executor cannot be null");
+        }
+
+        CancellationScope<Transcript> scope = new CancellationScope<>();
+        long start = System.nanoTime();
+        CompletableFuture<Transcript> work = scope.track(CompletableFuture.supplyAsync(
+                        () -> cache != null ? cache.keyFor(wavFile, MODEL) : null, executor))
+                .thenCompose(key -> {
+                    Transcript hit = key != null ? cache.get(key) : null;
+                    if (hit != null) {
+                        return CompletableFuture.completedFuture(hit);
+                    }
+                    CompletableFuture<Transcript> fresh = uploadSizeOf(wavFile) > MAX_UPLOAD_BYTES
+                            ? transcribeChunksAsync(wavFile, chunkLengthFor(wavFile), DEFAULT_CHUNK_OVERLAP,
+                                    DEFAULT_PARALLELISM, scope, executor)
+                            : scope.track(CompletableFuture.supplyAsync(() -> upload(wavFile), executor))
+                                    .thenCompose(upload -> requestTranscriptionAsync(
+                                            wavFile.getFileName().toString(), upload, scope))
+                                    .thenApply(Transcriber::toTranscript);
+                    if (key == null) {
+                        return fresh;
+                    }
+                    return fresh.thenApplyAsync(transcript -> {
+                        cache.put(key, transcript);
+                        return transcript;
+                    }, executor);
+                })
+                .whenComplete((transcript, error) -> TRANSCRIBE_LATENCY.recordSince(start));
+        return scope.completeFrom(work);
+    }
+
+    private static Transcript toTranscript(TranscribedAudio result) {
+        List<String> timestamps = new ArrayList<>();
+        for (Duration start : result.segmentStarts) {
+            timestamps.add(formatOffset(start));
+        }
+        return new Transcript(UUID.randomUUID().toString(), result.text, timestamps, TranscriptSource.LIVE);
+    }
+
+    public Transcript transcribeFileChunked(Path wavFile, Duration chunkLength, Duration overlap, int parallelism) {
+        if (wavFile == null || !Files.exists(wavFile)) {
+            throw new IllegalArgumentException("wavFile must exist: " + wavFile);
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+
+        return cached(wavFile, () -> transcribeChunks(wavFile, chunkLength, overlap, parallelism));
+    }
+
+    public String transcribeWavBytes(byte[] wavBytes, String filename) {
+        if (wavBytes == null || wavBytes.length == 0) {
+            throw new IllegalArgumentException("wavBytes cannot be empty");
+        }
+        return requestTranscription(filename, upload(wavBytes)).text;
+    }
+
+    private Upload upload(Path wavFile) {
+        if (preprocessor != null) {
+            try {
+                return new Upload(preprocessor.process(wavFile));
+            } catch (UnsupportedAudioFileException e) {
+                // Not something the JDK can decode; let the API have a go at the original bytes.
+            } catch (IOException e) {
+                throw new TranscriptionException("Unable to prepare " + wavFile + " for upload", e);
+            }
+        }
+        return new Upload(RequestBody.create(wavFile.toFile(), MEDIA_TYPE_WAV));
+    }
+
+    private Upload upload(byte[] wavBytes) {
+        if (preprocessor != null) {
+            try {
+                return new Upload(preprocessor.process(wavBytes));
+            } catch (UnsupportedAudioFileException ignored) {
+            } catch (IOException e) {
+                throw new TranscriptionException("Unable to prepare audio for upload", e);
+            }
+        }
+        return new Upload(RequestBody.create(wavBytes, MEDIA_TYPE_WAV));
+    }
+
+    private long uploadSizeOf(Path wavFile) {
+        long fileSize = sizeOf(wavFile);
+        if (preprocessor == null) {
+            return fileSize;
+        }
+        long estimate = preprocessor.estimateOutputBytes(wavFile);
+        return estimate < 0 ? fileSize : estimate;
+    }
+
+    // Longest chunk whose upload, overlap included, stays under MAX_UPLOAD_BYTES at the byte rate it is
+    // actually sent at: the preprocessor's output rate, or the file's own rate when uploaded as recorded.
+    Duration chunkLengthFor(Path wavFile) {
+        AudioFormat format;
+        try {
+            format = AudioSystem.getAudioFileFormat(wavFile.toFile()).getFormat();
+        } catch (UnsupportedAudioFileException | IOException e) {
+            throw new TranscriptionException("Unable to split " + wavFile + " for upload", e);
+        }
+        long bytesPerSecond = preprocessor != null
+                ? preprocessor.outputBytesPerSecond(format.getSampleRate())
+                : (long) Math.ceil(format.getFrameRate() * format.getFrameSize());
+        long fitMillis = (MAX_UPLOAD_BYTES - CHUNK_HEADER_ALLOWANCE) * 1000 / bytesPerSecond
+                - DEFAULT_CHUNK_OVERLAP.toMillis();
+        if (fitMillis <= DEFAULT_CHUNK_OVERLAP.toMillis()) {
+            throw new TranscriptionException("Audio at " + bytesPerSecond
+                    + " bytes/s is too dense to upload in chunks: " + wavFile);
+        }
+        return fitMillis < DEFAULT_CHUNK_LENGTH.toMillis() ? Duration.ofMillis(fitMillis) : DEFAULT_CHUNK_LENGTH;
+    }
+
+    private Transcript cached(Path wavFile, Supplier<Transcript> loader) {
+        if (cache == null) {
+            return loader.get();
+        }
+
+        String key = cache.keyFor(wavFile, MODEL);
+        Transcript hit = cache.get(key);
+        if (hit != null) {
+            return hit;
+        }
+
+        Transcript transcript = loader.get();
+        cache.put(key, transcript);
+        return transcript;
+    }
+
+    private Transcript transcribeChunks(Path wavFile, Duration chunkLength, Duration overlap, int parallelism) {
+        WavChunker chunker = new WavChunker(chunkLength, overlap);
+        List<AudioChunk> chunks = planChunks(chunker, wavFile);
+
+        ExecutorService executor = newChunkExecutor(Math.min(parallelism, chunks.size()));
+        try {
+            List<Future<TranscribedAudio>> futures = new ArrayList<>();
+            for (AudioChunk chunk : chunks) {
+                futures.add(executor.submit(() -> requestTranscription(chunkFilename(wavFile, chunk),
+                        upload(chunker.readChunk(wavFile, chunk)))));
+            }
+
+            List<TranscribedAudio> results = new ArrayList<>();
+            for (int i = 0; i < futures.size(); i++) {
+                results.add(awaitChunk(futures.get(i), chunks.get(i)));
+            }
+            return assembleChunks(chunks, results);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // Chunks are uploaded over `parallelism` lanes, each lane starting its next chunk when the previous
+    // one finishes, so at most that many prepared chunks are held in memory at once.
+    private CompletableFuture<Transcript> transcribeChunksAsync(Path wavFile, Duration chunkLength, Duration overlap,
+                                                              int parallelism, CancellationScope<?> scope,
+                                                              Executor executor) {
+        WavChunker chunker = new WavChunker(chunkLength, overlap);
+        List<AudioChunk> chunks = planChunks(chunker, wavFile);
+        List<TranscribedAudio> results = new ArrayList<>(Collections.nCopies(chunks.size(), null));
+
+        List<CompletableFuture<Void>> lanes = new ArrayList<>();
+        for (int lane = 0; lane < Math.min(parallelism, chunks.size()); lane++) {
+            CompletableFuture<Void> tail = CompletableFuture.completedFuture(null);
+            for (int i = lane; i < chunks.size(); i += parallelism) {
+                AudioChunk chunk = chunks.get(i);
+                tail = tail.thenComposeAsync(ignored -> {
+                            byte[] wavBytes;
+                            try {
+                                wavBytes = chunker.readChunk(wavFile, chunk);
+                            } catch (IOException e) {
+                                throw new TranscriptionException("Unable to read chunk " + (chunk.getIndex() + 1)
+                                        + " of " + wavFile, e);
+                            }
+                            return requestTranscriptionAsync(chunkFilename(wavFile, chunk), upload(wavBytes), scope);
+                        }, executor)
+                        .thenAccept(result -> {
+                            synchronized (results) {
+                                results.set(chunk.getIndex(), result);
+                            }
+                        });
+                scope.track(tail);
+            }
+            lanes.add(tail);
+        }
+
+        return CompletableFuture.allOf(lanes.toArray(new CompletableFuture<?>[0])).thenApply(ignored -> {
+            synchronized (results) {
+                return assembleChunks(chunks, results);
+            }
+        });
+    }
+
+    private static List<AudioChunk> planChunks(WavChunker chunker, Path wavFile) {
+        try {
+            return chunker.plan(wavFile);
+        } catch (IOException e) {
+            throw new TranscriptionException("Unable to split WAV file " + wavFile, e);
+        }
+    }
+
+    private static String chunkFilename(Path wavFile, AudioChunk chunk) {
+        String baseName = wavFile.getFileName().toString().replaceFirst("(?i)\\.wav$", "");
+        return baseName + "-part" + (chunk.getIndex() + 1) + ".wav";
+    }
+
+    private static Transcript assembleChunks(List<AudioChunk> chunks, List<TranscribedAudio> results) {
+        List<String> texts = new ArrayList<>();
+        List<String> timestamps = new ArrayList<>();
+        Duration last = null;
+        for (int i = 0; i < chunks.size(); i++) {
+            AudioChunk chunk = chunks.get(i);
+            TranscribedAudio result = results.get(i);
+            texts.add(result.text);
+
+            List<Duration> starts = new ArrayList<>();
+            for (Duration start : result.segmentStarts) {
+                starts.add(chunk.getStartOffset().plus(start));
+            }
+            if (starts.isEmpty()) {
+                starts.add(chunk.getStartOffset());
+            }
+            // Segments inside the overlap were already reported by the previous chunk.
+            for (Duration start : starts) {
+                if (last == null || start.compareTo(last) > 0) {
+                    timestamps.add(formatOffset(start));
+                    last = start;
+                }
+            }
+        }
+
+        return new Transcript(UUID.randomUUID().toString(),
+                stitchChunkTexts(texts), timestamps, TranscriptSource.LIVE);
+    }
 
+    private TranscribedAudio awaitChunk(Future<TranscribedAudio> future, AudioChunk chunk) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TranscriptionException("Interrupted while transcribing chunk " + (chunk.getIndex() + 1), e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof TranscriptionException te) {
+                throw te;
+            }
+            throw new TranscriptionException("Error transcribing chunk " + (chunk.getIndex() + 1), cause);
+        }
+    }
+
+    private TranscribedAudio requestTranscription(String filename, Upload upload) {
+        if (upload.silent) {
+            // Nothing but silence survived trimming; there is nothing to bill for.
+            SILENT_UPLOADS_SKIPPED.increment();
+            return new TranscribedAudio("", List.of());
+        }
+
+        OpenAiCallEvent event = new OpenAiCallEvent();
+        event.begin();
+        long start = System.nanoTime();
+        try (Response response = scheduler.execute(httpClient, buildRequest(filename, upload), 0)) {
+            return readTranscription(response, upload, event);
+        } catch (IOException e) {
+            FAILURES.increment();
+            throw new TranscriptionException("Error calling OpenAI transcription API", e);
+        } catch (TranscriptionException e) {
+            FAILURES.increment();
+            throw e;
+        } finally {
+            finish(event, start);
+        }
+    }
+
+    private CompletableFuture<TranscribedAudio> requestTranscriptionAsync(String filename, Upload upload,
+                                                                          CancellationScope<?> scope) {
+        if (upload.silent) {
+            SILENT_UPLOADS_SKIPPED.increment();
+            return CompletableFuture.completedFuture(new TranscribedAudio("", List.of()));
+        }
+
+        OpenAiCallEvent event = new OpenAiCallEvent();
+        event.begin();
+        long start = System.nanoTime();
+        return scope.track(scheduler.executeAsync(httpClient, buildRequest(filename, upload), 0))
+                .handle((response, error) -> {
+                    try {
+                        if (error != null) {
+                            throw asTranscriptionFailure(CancellationScope.unwrap(error));
+                        }
+                        try (response) {
+                            return readTranscription(response, upload, event);
+                        } catch (IOException e) {
+                            FAILURES.increment();
+                            throw new TranscriptionException("Error calling OpenAI transcription API", e);
+                        } catch (TranscriptionException e) {
+                            FAILURES.increment();
+                            throw e;
+                        }
+                    } finally {
+                        finish(event, start);
+                    }
+                });
+    }
+
+    private static RuntimeException asTranscriptionFailure(Throwable error) {
+        if (error instanceof CancellationException ce) {
+            return ce;
+        }
+        FAILURES.increment();
+        if (error instanceof TranscriptionException te) {
+            return te;
+        }
+        return new TranscriptionException("Error calling OpenAI transcription API", error);
+    }
+
+    private Request buildRequest(String filename, Upload upload) {
         MultipartBody requestBody = new MultipartBody.Builder()
                 .setType(MultipartBody.FORM)
-                .addFormDataPart("file", wavFile.getFileName().toString(), fileBody)
-                .addFormDataPart("model", "whisper-1")
+                .addFormDataPart("file", filename, upload.body)
+                .addFormDataPart("model", MODEL)
+                .addFormDataPart("response_format", "verbose_json")
+                .addFormDataPart("timestamp_granularities[]", "segment")
                 .build();
 
-        Request request = new Request.Builder()
-                .url(TRANSCRIPTION_URL)
+        return new Request.Builder()
+                .url(OpenAiEndpoints.resolve(OpenAiEndpoints.TRANSCRIPTIONS))
                 .header("Authorization", "Bearer " + apiKey)
                 .post(requestBody)
                 .build();
+    }
+
+    private TranscribedAudio readTranscription(Response response, Upload upload, OpenAiCallEvent event)
+            throws IOException {
+        long uploadBytes = Math.max(0, upload.body.contentLength());
+        UPLOAD_BYTES.add(uploadBytes);
+        event.requestBytes = uploadBytes;
+        event.status = response.code();
+        if (!response.isSuccessful()) {
+            String errorBody = response.body() != null ? response.body().string() : "";
+            throw new TranscriptionException("Transcription failed: HTTP " +
+                    response.code() + " - " + errorBody);
+        }
+
+        String json = response.body() != null ? response.body().string() : "";
+        event.responseBytes = json.length();
+        return parseTranscription(json, upload.timeMap);
+    }
+
+    private static void finish(OpenAiCallEvent event, long startNanos) {
+        REQUEST_LATENCY.recordSince(startNanos);
+        if (event.shouldCommit()) {
+            event.endpoint = "transcriptions";
+            event.commit();
+        }
+    }
+
+    TranscribedAudio parseTranscription(String json, AudioTimeMap timeMap) throws IOException {
+        JsonNode root = objectMapper.readTree(json);
+        String text = root.has("text") ? root.get("text").asText() : "";
+
+        List<Duration> starts = new ArrayList<>();
+        JsonNode segments = root.get("segments");
+        if (segments != null && segments.isArray()) {
+            for (JsonNode segment : segments) {
+                if (segment.has("start")) {
+                    Duration start = Duration.ofMillis(Math.round(segment.get("start").asDouble() * 1000));
+                    starts.add(timeMap.toSource(start));
+                }
+            }
+        }
+        return new TranscribedAudio(text, starts);
+    }
+
+    static String stitchChunkTexts(List<String> texts) {
+        List<String> words = new ArrayList<>();
+        for (String text : texts) {
+            if (text == null || text.isBlank()) {
+                continue;
+            }
+            String[] next = text.trim().split("\\s+");
+            int skip = overlappingWordCount(words, next);
+            for (int i = skip; i < next.length; i++) {
+                words.add(next[i]);
+            }
+        }
+        return String.join(" ", words);
+    }
 
-        try (Response response = httpClient.newCall(request).execute()) {
-            if (!response.isSuccessful()) {
-                String errorBody = response.body() != null ? response.body().string() : "";
-                throw new TranscriptionException("Transcription failed: HTTP " +
-                        response.code() + " - " + errorBody);
+    private static int overlappingWordCount(List<String> previous, String[] next) {
+        int max = Math.min(MAX_STITCH_OVERLAP_WORDS, Math.min(previous.size(), next.length));
+        for (int k = max; k > 0; k--) {
+            boolean match = true;
+            for (int i = 0; i < k; i++) {
+                String a = normalizeWord(previous.get(previous.size() - k + i));
+                String b = normalizeWord(next[i]);
+                if (a.isEmpty() || !a.equals(b)) {
+                    match = false;
+                    break;
+                }
             }
+            if (match) {
+                return k;
+            }
+        }
+        return 0;
+    }
 
-            String json = response.body() != null ? response.body().string() : "";
-            JsonNode root = objectMapper.readTree(json);
-            String text = root.has("text") ? root.get("text").asText() : "";
+    private static String normalizeWord(String word) {
+        return word.replaceAll("[^\\p{L}\\p{N}]", "").toLowerCase(Locale.ROOT);
+    }
 
+    static String formatOffset(Duration offset) {
+        return String.format("%02d:%02d:%02d.%03d",
+                offset.toHours(), offset.toMinutesPart(), offset.toSecondsPart(), offset.toMillisPart());
+    }
 
-            return new Transcript(text, TranscriptSource.LIVE);
+    private static long sizeOf(Path file) {
+        try {
+            return Files.size(file);
         } catch (IOException e) {
-            throw new TranscriptionException("Error calling OpenAI transcription API", e);
+            throw new TranscriptionException("Unable to read size of " + file, e);
         }
     }
 
+    private static class Upload {
+        private final RequestBody body;
+        private final AudioTimeMap timeMap;
+        private final boolean silent;
+
+        Upload(RequestBody body) {
+            this.body = body;
+            this.timeMap = AudioTimeMap.IDENTITY;
+            this.silent = false;
+        }
+
+        Upload(AudioPreprocessor.PreparedAudio prepared) {
+            this.body = RequestBody.create(prepared.getWav(), MEDIA_TYPE_WAV);
+            this.timeMap = prepared.getTimeMap();
+            this.silent = prepared.isSilent();
+        }
+    }
+
+    // Text of one upload plus where each recognised segment starts in the audio as recorded.
+    static class TranscribedAudio {
+        final String text;
+        final List<Duration> segmentStarts;
+
+        TranscribedAudio(String text, List<Duration> segmentStarts) {
+            this.text = text;
+            this.segmentStarts = segmentStarts;
+        }
+    }
+
+    private static ExecutorService newChunkExecutor(int threads) {
+        return VirtualThreads.newExecutor("Transcriber-Chunk-", threads);
+    }
+
     private static String resolveApiKey() {
         String key = System.getenv("OPENAI_API_KEY");
         if (key != null && !key.isBlank()) {
@@ -0,0 +1,76 @@
+package EchoNote.Mihail;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Splits transcript text into pieces of at most maxChars, preferring sentence boundaries, then word
+// boundaries, and only cutting inside a word when a single word is longer than the limit.
+class TranscriptSegmenter {
+
+    private final int maxChars;
+
+    TranscriptSegmenter(int maxChars) {
+        if (maxChars < 1) {
+            throw new IllegalArgumentException("maxChars must be at least 1");
+        }
+        this.maxChars = maxChars;
+    }
+
+    List<String> split(String text) {
+        List<String> segments = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return segments;
+        }
+
+        StringBuilder current = new StringBuilder();
+        for (String sentence : text.trim().split("(?<=[.!?])\\s+")) {
+            for (String piece : fit(sentence)) {
+                int needed = current.length() == 0 ? piece.length() : current.length() + 1 + piece.length();
+                if (needed > maxChars && current.length() > 0) {
+                    segments.add(current.toString());
+                    current.setLength(0);
+                }
+                if (current.length() > 0) {
+                    current.append(' ');
+                }
+                current.append(piece);
+            }
+        }
+        if (current.length() > 0) {
+            segments.add(current.toString());
+        }
+        return segments;
+    }
+
+    private List<String> fit(String sentence) {
+        List<String> pieces = new ArrayList<>();
+        if (sentence.length() <= maxChars) {
+            pieces.add(sentence);
+            return pieces;
+        }
+
+        StringBuilder current = new StringBuilder();
+        for (String word : sentence.split("\\s+")) {
+            while (word.length() > maxChars) {
+                if (current.length() > 0) {
+                    pieces.add(current.toString());
+                    current.setLength(0);
+                }
+                pieces.add(word.substring(0, maxChars));
+                word = word.substring(maxChars);
+            }
+            if (current.length() > 0 && current.length() + 1 + word.length() > maxChars) {
+                pieces.add(current.toString());
+                current.setLength(0);
+            }
+            if (current.length() > 0) {
+                current.append(' ');
+            }
+            current.append(word);
+        }
+        if (current.length() > 0) {
+            pieces.add(current.toString());
+        }
+        return pieces;
+    }
+}
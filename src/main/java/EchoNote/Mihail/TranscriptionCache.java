@@ -0,0 +1,115 @@
+package EchoNote.Mihail;
+
+import EchoNote.Jack.Transcript;
+import EchoNote.Jack.TranscriptSource;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+public class TranscriptionCache {
+
+    private final DiskCache diskCache;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public TranscriptionCache(Path directory, long maxBytes) {
+        this.diskCache = new DiskCache(directory, maxBytes);
+    }
+
+    public String keyFor(Path wavFile, String model) {
+        MessageDigest digest = sha256();
+        digest.update(model.getBytes(StandardCharsets.UTF_8));
+
+        try (AudioInputStream ais = AudioSystem.getAudioInputStream(wavFile.toFile())) {
+            AudioFormat format = ais.getFormat();
+            digest.update(format.toString().getBytes(StandardCharsets.UTF_8));
+            update(digest, ais);
+        } catch (UnsupportedAudioFileException e) {
+            try (InputStream in = Files.newInputStream(wavFile)) {
+                update(digest, in);
+            } catch (IOException io) {
+                return null;
+            }
+        } catch (IOException e) {
+            return null;
+        }
+
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    public Transcript get(String key) {
+        if (key == null) {
+            return null;
+        }
+
+        String json = diskCache.get(key);
+        if (json == null) {
+            return null;
+        }
+
+        try {
+            JsonNode node = objectMapper.readTree(json);
+            List<String> timestamps = new ArrayList<>();
+            JsonNode array = node.get("timestamps");
+            if (array != null) {
+                for (JsonNode el : array) {
+                    timestamps.add(el.asText());
+                }
+            }
+            return new Transcript(UUID.randomUUID().toString(), node.get("text").asText(), timestamps,
+                    TranscriptSource.LIVE);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    public void put(String key, Transcript transcript) {
+        if (key == null || transcript == null) {
+            return;
+        }
+
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("text", transcript.getRawText());
+        ArrayNode timestamps = node.putArray("timestamps");
+        for (String ts : transcript.getTimestamps()) {
+            timestamps.add(ts);
+        }
+
+        try {
+            diskCache.put(key, objectMapper.writeValueAsString(node));
+        } catch (IOException ignored) {
+        }
+    }
+
+    private static void update(MessageDigest digest, InputStream in) throws IOException {
+        byte[] buffer = new byte[64 * 1024];
+        int read;
+        while ((read = in.read(buffer)) > 0) {
+            digest.update(buffer, 0, read);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package EchoNote.Mihail;
+
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+public class WavChunker {
+
+    private static final Duration ENERGY_WINDOW = Duration.ofMillis(100);
+
+    private final Duration chunkLength;
+    private final Duration overlap;
+    private final Duration silenceSearchWindow;
+
+    public WavChunker(Duration chunkLength, Duration overlap) {
+        this(chunkLength, overlap, chunkLength.dividedBy(5));
+    }
+
+    public WavChunker(Duration chunkLength, Duration overlap, Duration silenceSearchWindow) {
+        if (chunkLength == null || chunkLength.isZero() || chunkLength.isNegative()) {
+            throw new IllegalArgumentException("chunkLength must be positive");
+        }
+        if (overlap == null || overlap.isNegative() || overlap.compareTo(chunkLength) >= 0) {
+            throw new IllegalArgumentException("overlap must be non-negative and shorter than chunkLength");
+        }
+        if (silenceSearchWindow == null || silenceSearchWindow.isNegative()) {
+            throw new IllegalArgumentException("silenceSearchWindow must be non-negative");
+        }
+        this.chunkLength = chunkLength;
+        this.overlap = overlap;
+        this.silenceSearchWindow = silenceSearchWindow;
+    }
+
+    public List<AudioChunk> plan(Path wavFile) throws IOException {
+        try (AudioInputStream ais = open(wavFile)) {
+            AudioFormat format = ais.getFormat();
+            float frameRate = format.getFrameRate();
+            long totalFrames = ais.getFrameLength();
+
+            long chunkFrames = toFrames(chunkLength, frameRate);
+            long overlapFrames = toFrames(overlap, frameRate);
+            long searchFrames = Math.min(toFrames(silenceSearchWindow, frameRate), chunkFrames / 2);
+
+            List<AudioChunk> chunks = new ArrayList<>();
+            if (totalFrames <= chunkFrames) {
+                chunks.add(new AudioChunk(0, 0, totalFrames, frameRate));
+                return chunks;
+            }
+
+            long windowFrames = Math.max(1, toFrames(ENERGY_WINDOW, frameRate));
+            double[] energy = isRmsSupported(format) ? readWindowEnergy(ais, windowFrames) : null;
+
+            long cut = 0;
+            while (cut < totalFrames) {
+                long start = Math.max(0, cut - (chunks.isEmpty() ? 0 : overlapFrames));
+                long next;
+                if (totalFrames - cut <= chunkFrames) {
+                    next = totalFrames;
+                } else {
+                    long target = cut + chunkFrames;
+                    next = energy != null
+                            ? quietestFrame(energy, windowFrames, target - searchFrames, target)
+                            : target;
+                    if (next <= cut) {
+                        next = target;
+                    }
+                }
+                chunks.add(new AudioChunk(chunks.size(), start, next - start, frameRate));
+                cut = next;
+            }
+            return chunks;
+        }
+    }
+
+    public byte[] readChunk(Path wavFile, AudioChunk chunk) throws IOException {
+        try (AudioInputStream ais = open(wavFile)) {
+            AudioFormat format = ais.getFormat();
+            int frameSize = format.getFrameSize();
+
+            long toSkip = chunk.getStartFrame() * frameSize;
+            while (toSkip > 0) {
+                long skipped = ais.skip(toSkip);
+                if (skipped <= 0) {
+                    throw new IOException("Unexpected end of audio while seeking chunk " + chunk.getIndex());
+                }
+                toSkip -= skipped;
+            }
+
+            byte[] pcm = ais.readNBytes(Math.toIntExact(chunk.getFrameCount() * frameSize));
+            long frames = pcm.length / frameSize;
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(pcm.length + 44);
+            try (AudioInputStream chunkStream = new AudioInputStream(new ByteArrayInputStream(pcm), format, frames)) {
+                AudioSystem.write(chunkStream, AudioFileFormat.Type.WAVE, out);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    private long quietestFrame(double[] energy, long windowFrames, long fromFrame, long toFrame) {
+        int from = (int) Math.max(0, fromFrame / windowFrames);
+        int to = (int) Math.min(energy.length - 1, toFrame / windowFrames);
+
+        int best = to;
+        for (int i = to; i >= from; i--) {
+            if (energy[i] < energy[best]) {
+                best = i;
+            }
+        }
+        return best * windowFrames + windowFrames / 2;
+    }
+
+    private double[] readWindowEnergy(AudioInputStream ais, long windowFrames) throws IOException {
+        int frameSize = ais.getFormat().getFrameSize();
+        int windowBytes = Math.toIntExact(windowFrames * frameSize);
+        byte[] window = new byte[windowBytes];
+
+        int windows = (int) ((ais.getFrameLength() + windowFrames - 1) / windowFrames);
+        double[] energy = new double[windows];
+
+        for (int i = 0; i < windows; i++) {
+            int read = ais.readNBytes(window, 0, windowBytes);
+            if (read <= 0) {
+                break;
+            }
+            energy[i] = Recorder.computeLevelRms(window, read - (read % 2));
+        }
+        return energy;
+    }
+
+    private boolean isRmsSupported(AudioFormat format) {
+        return AudioFormat.Encoding.PCM_SIGNED.equals(format.getEncoding())
+                && format.getSampleSizeInBits() == 16
+                && format.getChannels() == 1
+                && !format.isBigEndian();
+    }
+
+    private AudioInputStream open(Path wavFile) throws IOException {
+        try {
+            AudioInputStream ais = AudioSystem.getAudioInputStream(wavFile.toFile());
+            if (ais.getFrameLength() == AudioSystem.NOT_SPECIFIED) {
+                ais.close();
+                throw new IOException("WAV file has no frame length: " + wavFile);
+            }
+            return ais;
+        } catch (UnsupportedAudioFileException e) {
+            throw new IOException("Unsupported audio file: " + wavFile, e);
+        }
+    }
+
+    private static long toFrames(Duration duration, float frameRate) {
+        return Math.round(duration.toMillis() / 1000.0 * frameRate);
+    }
+}
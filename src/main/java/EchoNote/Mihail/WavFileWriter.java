@@ -0,0 +1,137 @@
+package EchoNote.Mihail;
+
+import javax.sound.sampled.AudioFormat;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class WavFileWriter implements Closeable {
+
+    private static final int HEADER_SIZE = 44;
+    private static final long MAX_DATA_SIZE = 0xFFFFFFFFL - (HEADER_SIZE - 8);
+
+    private final Path file;
+    private final AudioFormat format;
+    private final FileChannel channel;
+    private long dataLength;
+    private boolean closed;
+
+    public WavFileWriter(Path file, AudioFormat format) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("file cannot be null");
+        }
+        if (format == null) {
+            throw new IllegalArgumentException("format cannot be null");
+        }
+        if (format.isBigEndian() && format.getSampleSizeInBits() > 8) {
+            throw new IllegalArgumentException("WAV output requires little-endian samples");
+        }
+        if (!AudioFormat.Encoding.PCM_SIGNED.equals(format.getEncoding())
+                && !AudioFormat.Encoding.PCM_UNSIGNED.equals(format.getEncoding())) {
+            throw new IllegalArgumentException("Unsupported WAV encoding: " + format.getEncoding());
+        }
+
+        this.file = file;
+        this.format = format;
+        this.channel = FileChannel.open(file,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+
+        try {
+            writeFully(buildHeader(0), 0);
+            channel.position(HEADER_SIZE);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public void write(byte[] data, int offset, int length) throws IOException {
+        if (closed) {
+            throw new IOException("WAV writer already closed: " + file);
+        }
+        if (length <= 0) {
+            return;
+        }
+        if (dataLength + length > MAX_DATA_SIZE) {
+            throw new IOException("WAV data would exceed 4 GB limit: " + file);
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(data, offset, length);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        dataLength += length;
+    }
+
+    public long getDataLength() {
+        return dataLength;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        WavFinalizeEvent event = new WavFinalizeEvent();
+        event.begin();
+        try {
+            if ((dataLength & 1) == 1) {
+                writeFully(ByteBuffer.wrap(new byte[]{0}), HEADER_SIZE + dataLength);
+            }
+            writeFully(buildHeader(dataLength), 0);
+            channel.force(false);
+        } finally {
+            channel.close();
+            if (event.shouldCommit()) {
+                event.file = file.toString();
+                event.dataBytes = dataLength;
+                event.commit();
+            }
+        }
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        long pos = position;
+        while (buffer.hasRemaining()) {
+            pos += channel.write(buffer, pos);
+        }
+    }
+
+    private ByteBuffer buildHeader(long dataSize) {
+        int channels = format.getChannels();
+        int bitsPerSample = format.getSampleSizeInBits();
+        int sampleRate = Math.round(format.getSampleRate());
+        int blockAlign = format.getFrameSize() > 0 ? format.getFrameSize() : channels * ((bitsPerSample + 7) / 8);
+        int byteRate = sampleRate * blockAlign;
+        long paddedSize = dataSize + (dataSize & 1);
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.put(new byte[]{'R', 'I', 'F', 'F'});
+        header.putInt((int) (HEADER_SIZE - 8 + paddedSize));
+        header.put(new byte[]{'W', 'A', 'V', 'E'});
+        header.put(new byte[]{'f', 'm', 't', ' '});
+        header.putInt(16);
+        header.putShort((short) 1);
+        header.putShort((short) channels);
+        header.putInt(sampleRate);
+        header.putInt(byteRate);
+        header.putShort((short) blockAlign);
+        header.putShort((short) bitsPerSample);
+        header.put(new byte[]{'d', 'a', 't', 'a'});
+        header.putInt((int) dataSize);
+        header.flip();
+        return header;
+    }
+}
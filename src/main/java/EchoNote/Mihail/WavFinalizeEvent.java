@@ -0,0 +1,23 @@
+package EchoNote.Mihail;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("EchoNote.WavFinalize")
+@Label("WAV Finalize")
+@Category({"EchoNote", "Recording"})
+@Description("Patching the WAV header and forcing the recording to disk")
+@StackTrace(false)
+class WavFinalizeEvent extends jdk.jfr.Event {
+
+    @Label("File")
+    String file;
+
+    @Label("Audio Data")
+    @DataAmount
+    long dataBytes;
+}
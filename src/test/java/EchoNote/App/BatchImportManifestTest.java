@@ -0,0 +1,39 @@
+package EchoNote.App;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchImportManifestTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void entryWrittenAfterATornLineSurvivesTheNextResume() throws Exception {
+        Path file = tempDir.resolve("manifest.jsonl");
+        try (BatchImportManifest manifest = new BatchImportManifest(file)) {
+            manifest.markImported("first", tempDir.resolve("a.wav"), UUID.randomUUID());
+        }
+        Files.writeString(file, "{\"fingerprint\":\"sec", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        try (BatchImportManifest resumed = new BatchImportManifest(file)) {
+            assertTrue(resumed.isImported("first"));
+            assertFalse(resumed.isImported("second"));
+            resumed.markImported("third", tempDir.resolve("c.wav"), UUID.randomUUID());
+        }
+
+        try (BatchImportManifest reopened = new BatchImportManifest(file)) {
+            assertTrue(reopened.isImported("first"));
+            assertTrue(reopened.isImported("third"), "The entry after the torn line must not be lost");
+        }
+        assertEquals(2, Files.readAllLines(file, StandardCharsets.UTF_8).size());
+    }
+}
@@ -0,0 +1,128 @@
+package EchoNote.App;
+
+import EchoNote.Arpit.SearchService;
+import EchoNote.Jack.MeetingAnalysis;
+import EchoNote.Jack.MeetingRecord;
+import EchoNote.Jack.Summary;
+import EchoNote.Jack.Transcript;
+import EchoNote.Jack.TranscriptSource;
+import EchoNote.Jack.Workspace;
+import EchoNote.Mihail.Summarizer;
+import EchoNote.Mihail.Transcriber;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchImporterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static class StubTranscriber extends Transcriber {
+        private final AtomicInteger calls = new AtomicInteger();
+        private volatile boolean failBadFiles = true;
+
+        StubTranscriber() {
+            super("dummy-api-key");
+        }
+
+        @Override
+        public Transcript transcribeFile(Path wavFile) {
+            calls.incrementAndGet();
+            if (failBadFiles && wavFile.getFileName().toString().startsWith("bad")) {
+                throw new IllegalStateException("cannot decode " + wavFile.getFileName());
+            }
+            return new Transcript("Discussion of " + wavFile.getFileName(), TranscriptSource.LIVE);
+        }
+    }
+
+    private static class StubSummarizer extends Summarizer {
+        StubSummarizer() {
+            super("dummy-api-key");
+        }
+
+        @Override
+        public MeetingAnalysis analyze(Transcript transcript) {
+            return new MeetingAnalysis(new Summary(List.of("Roadmap"), List.of(), "notes"), List.of());
+        }
+    }
+
+    @Test
+    void importDirectory_importsEveryWavAndSkipsThemOnRerun() throws Exception {
+        for (int i = 0; i < 12; i++) {
+            Files.write(tempDir.resolve("meeting_" + i + ".wav"), new byte[]{(byte) i});
+        }
+        Files.writeString(tempDir.resolve("notes.txt"), "not audio");
+
+        Workspace workspace = new Workspace();
+        SearchService searchService = new SearchService(workspace);
+        StubTranscriber transcriber = new StubTranscriber();
+        BatchImporter importer = new BatchImporter(transcriber, new StubSummarizer(), workspace, searchService, 3, 2, 2);
+
+        List<BatchImportProgress> updates = new CopyOnWriteArrayList<>();
+        BatchImportProgress result = importer.importDirectory(tempDir, updates::add);
+
+        assertEquals(12, result.getTotal());
+        assertEquals(12, result.getCompleted());
+        assertEquals(0, result.getRemaining());
+        assertEquals(12, workspace.getAll().size());
+        assertEquals(12, searchService.search("roadmap").size());
+        assertFalse(updates.isEmpty());
+        assertTrue(workspace.findByQuery("meeting 3").stream()
+                .map(MeetingRecord::getTitle).anyMatch("meeting 3"::equals));
+
+        BatchImportProgress rerun = importer.importDirectory(tempDir, null);
+        assertEquals(12, rerun.getSkipped());
+        assertEquals(0, rerun.getCompleted());
+        assertEquals(12, transcriber.calls.get());
+    }
+
+    @Test
+    void importDirectory_failedFilesAreRetriedOnTheNextRun() throws Exception {
+        Files.write(tempDir.resolve("good.wav"), new byte[]{1});
+        Files.write(tempDir.resolve("bad.wav"), new byte[]{2});
+
+        Workspace workspace = new Workspace();
+        StubTranscriber transcriber = new StubTranscriber();
+        BatchImporter importer = new BatchImporter(transcriber, new StubSummarizer(), workspace,
+                new SearchService(workspace), 2, 2, 1);
+
+        List<Path> failedFiles = new CopyOnWriteArrayList<>();
+        BatchImportProgress first = importer.importDirectory(tempDir, new BatchImportListener() {
+            @Override
+            public void onProgress(BatchImportProgress progress) {
+            }
+
+            @Override
+            public void onFileFailed(Path file, Exception error) {
+                failedFiles.add(file.getFileName());
+            }
+        });
+        assertEquals(1, first.getCompleted());
+        assertEquals(1, first.getFailed());
+        assertEquals(List.of(Path.of("bad.wav")), failedFiles);
+
+        transcriber.failBadFiles = false;
+        BatchImportProgress second = importer.importDirectory(tempDir, null);
+        assertEquals(1, second.getSkipped());
+        assertEquals(1, second.getCompleted());
+        assertEquals(2, workspace.getAll().size());
+    }
+
+    @Test
+    void importDirectory_rejectsMissingDirectory() {
+        Workspace workspace = new Workspace();
+        BatchImporter importer = new BatchImporter(new StubTranscriber(), new StubSummarizer(), workspace,
+                new SearchService(workspace), 1, 1, 1);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> importer.importDirectory(tempDir.resolve("missing"), null));
+    }
+}
@@ -0,0 +1,219 @@
+package EchoNote.App;
+
+import EchoNote.Arpit.SearchService;
+import EchoNote.Config.VirtualThreads;
+import EchoNote.Jack.MeetingAnalysis;
+import EchoNote.Jack.Summary;
+import EchoNote.Jack.Transcript;
+import EchoNote.Jack.TranscriptSource;
+import EchoNote.Jack.Workspace;
+import EchoNote.Mihail.Summarizer;
+import EchoNote.Mihail.Transcriber;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class MeetingJobExecutorTest {
+
+    private static class StubTranscriber extends Transcriber {
+        private final CountDownLatch release;
+
+        StubTranscriber(CountDownLatch release) {
+            super("dummy-api-key");
+            this.release = release;
+        }
+
+        @Override
+        public Transcript transcribeFile(Path wavFile) {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new Transcript("We will ship on Friday.", TranscriptSource.LIVE);
+        }
+    }
+
+    private static class StubSummarizer extends Summarizer {
+        StubSummarizer() {
+            super("dummy-api-key");
+        }
+
+        @Override
+        public MeetingAnalysis analyze(Transcript transcript, Consumer<Summary> partialListener) {
+            partialListener.accept(new Summary(List.of("Release"), List.of(), ""));
+            return new MeetingAnalysis(new Summary(List.of("Release"), List.of("Ship Friday"), "notes"), List.of());
+        }
+    }
+
+    private File createWavPlaceholder() throws Exception {
+        return Files.createTempFile("echonote-job-test", ".wav").toFile();
+    }
+
+    @Test
+    void submit_runsAllStagesAndSavesRecord() throws Exception {
+        Workspace workspace = new Workspace();
+        SearchService searchService = new SearchService(workspace);
+        MeetingJobExecutor executor = new MeetingJobExecutor(
+                new StubTranscriber(new CountDownLatch(0)), new StubSummarizer(), workspace, searchService, 2, 4);
+
+        List<MeetingJobStage> stages = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(1);
+        executor.addListener(job -> {
+            stages.add(job.getStage());
+            if (job.isDone()) {
+                done.countDown();
+            }
+        });
+
+        MeetingJob job = executor.submit(createWavPlaceholder(), "Release Planning");
+
+        assertTrue(done.await(5, TimeUnit.SECONDS), "Job should finish");
+        assertEquals(MeetingJobStage.COMPLETED, job.getStage());
+        assertEquals(List.of(MeetingJobStage.QUEUED, MeetingJobStage.TRANSCRIBING, MeetingJobStage.ANALYZING,
+                MeetingJobStage.SAVING, MeetingJobStage.COMPLETED), stages);
+
+        assertSame(job.getRecord(), workspace.getById(job.getRecord().getId()));
+        assertEquals(1, searchService.search("release").size(), "Completed meeting should be indexed for search");
+        assertTrue(executor.getActiveJobs().isEmpty());
+    }
+
+    @Test
+    void submit_publishesPartialSummaryWhileAnalyzing() throws Exception {
+        Workspace workspace = new Workspace();
+        MeetingJobExecutor executor = new MeetingJobExecutor(
+                new StubTranscriber(new CountDownLatch(0)), new StubSummarizer(), workspace,
+                new SearchService(workspace), 1, 4);
+
+        List<String> partialTopics = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(1);
+        executor.addListener(new MeetingJobListener() {
+            @Override
+            public void onJobUpdated(MeetingJob job) {
+                if (job.isDone()) {
+                    done.countDown();
+                }
+            }
+
+            @Override
+            public void onPartialSummary(MeetingJob job) {
+                assertEquals(MeetingJobStage.ANALYZING, job.getStage());
+                partialTopics.addAll(job.getPartialSummary().getTopics());
+            }
+        });
+
+        executor.submit(createWavPlaceholder(), "Release Planning");
+
+        assertTrue(done.await(5, TimeUnit.SECONDS), "Job should finish");
+        assertEquals(List.of("Release"), partialTopics);
+    }
+
+    @Test
+    void cancel_whileTranscribing_neverSavesRecord() throws Exception {
+        Workspace workspace = new Workspace();
+        CountDownLatch release = new CountDownLatch(1);
+        MeetingJobExecutor executor = new MeetingJobExecutor(
+                new StubTranscriber(release), new StubSummarizer(), workspace, new SearchService(workspace), 1, 4);
+
+        CountDownLatch transcribing = new CountDownLatch(1);
+        executor.addListener(job -> {
+            if (job.getStage() == MeetingJobStage.TRANSCRIBING) {
+                transcribing.countDown();
+            }
+        });
+
+        MeetingJob job = executor.submit(createWavPlaceholder(), "Cancelled Meeting");
+        assertTrue(transcribing.await(5, TimeUnit.SECONDS));
+
+        job.cancel();
+        release.countDown();
+        Thread.sleep(200);
+
+        assertEquals(MeetingJobStage.CANCELLED, job.getStage());
+        assertNull(job.getRecord());
+        assertTrue(workspace.getAll().isEmpty(), "Cancelled job must not save a meeting");
+    }
+
+    @Test
+    void cancel_whileSaving_isRefusedAndRecordIsKept() throws Exception {
+        Workspace workspace = new Workspace();
+        MeetingJobExecutor executor = new MeetingJobExecutor(
+                new StubTranscriber(new CountDownLatch(0)), new StubSummarizer(), workspace,
+                new SearchService(workspace), 1, 4);
+
+        List<Boolean> cancelResults = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(1);
+        executor.addListener(job -> {
+            if (job.getStage() == MeetingJobStage.SAVING) {
+                cancelResults.add(job.cancel());
+            }
+            if (job.isDone()) {
+                done.countDown();
+            }
+        });
+
+        MeetingJob job = executor.submit(createWavPlaceholder(), "Saved Meeting");
+
+        assertTrue(done.await(5, TimeUnit.SECONDS), "Job should finish");
+        assertEquals(List.of(false), cancelResults);
+        assertEquals(MeetingJobStage.COMPLETED, job.getStage());
+        assertNotNull(job.getRecord());
+        assertEquals(1, workspace.getAll().size());
+    }
+
+    @Test
+    void virtualThreads_limitConcurrentJobsWithSemaphore() throws Exception {
+        assumeTrue(VirtualThreads.isSupported());
+        Workspace workspace = new Workspace();
+        CountDownLatch release = new CountDownLatch(1);
+        MeetingJobExecutor executor = new MeetingJobExecutor(new StubTranscriber(release), new StubSummarizer(),
+                workspace, new SearchService(workspace), 1, 1, true);
+
+        CountDownLatch done = new CountDownLatch(2);
+        executor.addListener(job -> {
+            if (job.isDone()) {
+                done.countDown();
+            }
+        });
+        CountDownLatch transcribing = new CountDownLatch(1);
+        executor.addListener(job -> {
+            if (job.getStage() == MeetingJobStage.TRANSCRIBING) {
+                transcribing.countDown();
+            }
+        });
+
+        MeetingJob first = executor.submit(createWavPlaceholder(), "First");
+        assertTrue(transcribing.await(5, TimeUnit.SECONDS));
+        MeetingJob second = executor.submit(createWavPlaceholder(), "Second");
+        assertEquals(1, executor.getQueuedCount());
+        assertThrows(IllegalStateException.class, () -> executor.submit(createWavPlaceholder(), "Third"));
+
+        release.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS), "Both admitted jobs should finish");
+        assertEquals(MeetingJobStage.COMPLETED, first.getStage());
+        assertEquals(MeetingJobStage.COMPLETED, second.getStage());
+        assertEquals(2, workspace.getAll().size());
+        executor.shutdown();
+    }
+
+    @Test
+    void submit_missingFile_throwsIllegalArgumentException() {
+        Workspace workspace = new Workspace();
+        MeetingJobExecutor executor = new MeetingJobExecutor(
+                new StubTranscriber(new CountDownLatch(0)), new StubSummarizer(), workspace,
+                new SearchService(workspace), 1, 1);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> executor.submit(new File("no_such_recording_123.wav"), "Missing"));
+    }
+}
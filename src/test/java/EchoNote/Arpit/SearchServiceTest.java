@@ -2,6 +2,9 @@ package EchoNote.Arpit;
 
 import EchoNote.Jack.MeetingRecord;
 import EchoNote.Jack.MeetingRecordBuilder;
+import EchoNote.Jack.Summary;
+import EchoNote.Jack.Transcript;
+import EchoNote.Jack.TranscriptSource;
 import EchoNote.Jack.Workspace;
 import org.junit.jupiter.api.Test;
 
@@ -65,4 +68,82 @@ public class SearchServiceTest {
         assertEquals(1, results.size(), "Only the AI Strategy meeting should match 'strategy'");
         assertSame(aiMeeting, results.get(0));
     }
+
+    @Test
+    void search_multipleTermsRequireAllTermsToMatch() {
+        SearchService service = new SearchService(new Workspace());
+
+        MeetingRecord budget2024 = createRecord("Budget Review 2024");
+        MeetingRecord budget2025 = createRecord("Budget Review 2025");
+        service.index(budget2024);
+        service.index(budget2025);
+
+        List<MeetingRecord> results = service.search("budget 2025");
+
+        assertEquals(1, results.size(), "All terms of a query should have to match");
+        assertSame(budget2025, results.get(0));
+    }
+
+    @Test
+    void search_orOperatorAndPrefixTerms() {
+        SearchService service = new SearchService(new Workspace());
+
+        MeetingRecord planning = createRecord("Sprint Planning");
+        MeetingRecord retro = createRecord("Sprint Retrospective");
+        MeetingRecord hiring = createRecord("Hiring Sync");
+        service.index(planning);
+        service.index(retro);
+        service.index(hiring);
+
+        List<MeetingRecord> either = service.search("planning OR hiring");
+        assertEquals(List.of(planning, hiring), either, "OR should union the clauses in indexing order");
+
+        List<MeetingRecord> prefix = service.search("retro*");
+        assertEquals(List.of(retro), prefix, "A trailing * should match terms by prefix");
+    }
+
+    @Test
+    void search_partialWordsMatchAsPrefixes() {
+        SearchService service = new SearchService(new Workspace());
+
+        MeetingRecord budget = createRecord("Budget Meeting");
+        MeetingRecord hiring = createRecord("Hiring Sync");
+        service.index(budget);
+        service.index(hiring);
+
+        assertEquals(List.of(budget), service.search("meet"), "A partial word should match by prefix");
+        assertEquals(List.of(budget), service.search("BUDG meet"));
+        assertEquals(List.of(budget, hiring), service.search("budg OR hir"));
+        assertTrue(service.search("udget").isEmpty(), "Only word prefixes match, not inner substrings");
+    }
+
+    @Test
+    void search_matchesSummaryAndTranscriptContent() {
+        SearchService service = new SearchService(new Workspace());
+
+        MeetingRecord record = new MeetingRecordBuilder()
+                .withTitle("Weekly Sync")
+                .withSummary(new Summary(List.of("Database migration"), List.of(), "Notes"))
+                .withTranscript(new Transcript("Mihail will benchmark the recorder.", TranscriptSource.LIVE))
+                .build();
+        service.index(record);
+
+        assertEquals(1, service.search("migration").size(), "Summary topics should be searchable");
+        assertEquals(1, service.search("benchmark").size(), "Transcript text should be searchable");
+    }
+
+    @Test
+    void index_sameRecordAgain_replacesStaleTerms() {
+        SearchService service = new SearchService(new Workspace());
+
+        MeetingRecord record = createRecord("Draft Title");
+        service.index(record);
+
+        record.setTitle("Final Title");
+        service.index(record);
+
+        assertTrue(service.search("draft").isEmpty(), "Terms from the old title should no longer match");
+        assertEquals(1, service.search("final").size());
+        assertEquals(1, service.search("").size(), "Re-indexing should not duplicate the record");
+    }
 }
@@ -0,0 +1,51 @@
+package EchoNote.Config;
+
+import EchoNote.Mihail.WavFileWriter;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.sound.sampled.AudioFormat;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiagnosticRecordingTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void dumpContainsEchoNoteEvents() throws Exception {
+        Path wav = tempDir.resolve("take.wav");
+        Path dump;
+        try (DiagnosticRecording recording = DiagnosticRecording.startRolling(
+                tempDir.resolve("jfr"), Duration.ofMinutes(5), 16L * 1024 * 1024)) {
+            try (WavFileWriter writer = new WavFileWriter(wav, new AudioFormat(16_000f, 16, 1, true, false))) {
+                writer.write(new byte[3200], 0, 3200);
+            }
+            dump = recording.dump();
+        }
+
+        assertTrue(Files.size(dump) > 0);
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+        RecordedEvent finalize = events.stream()
+                .filter(e -> e.getEventType().getName().equals("EchoNote.WavFinalize"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(wav.toString(), finalize.getString("file"));
+        assertEquals(3200, finalize.getLong("dataBytes"));
+    }
+
+    @Test
+    void rejectsNonPositiveLimits() {
+        assertThrows(IllegalArgumentException.class,
+                () -> DiagnosticRecording.startRolling(tempDir, Duration.ZERO, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> DiagnosticRecording.startRolling(tempDir, Duration.ofMinutes(1), 0));
+    }
+}
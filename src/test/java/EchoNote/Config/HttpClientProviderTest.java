@@ -0,0 +1,79 @@
+package EchoNote.Config;
+
+import com.sun.net.httpserver.HttpServer;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpClientProviderTest {
+
+    private HttpServer server;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            byte[] body = "hello".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void createAppliesTimeoutsAndLimits() {
+        OkHttpClient client = HttpClientProvider.create(
+                Duration.ofSeconds(3), Duration.ofSeconds(90), Duration.ofSeconds(30), 4);
+
+        assertEquals(3_000, client.connectTimeoutMillis());
+        assertEquals(90_000, client.readTimeoutMillis());
+        assertEquals(30_000, client.writeTimeoutMillis());
+        assertEquals(4, client.dispatcher().getMaxRequestsPerHost());
+        assertTrue(client.protocols().contains(Protocol.HTTP_2));
+        assertTrue(client.interceptors().isEmpty(), "Enqueued calls are limited by the dispatcher alone");
+    }
+
+    @Test
+    void createRejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> HttpClientProvider.create(
+                null, Duration.ofSeconds(1), Duration.ofSeconds(1), 1));
+        assertThrows(IllegalArgumentException.class, () -> HttpClientProvider.create(
+                Duration.ofSeconds(1), Duration.ofSeconds(1), Duration.ofSeconds(1), 0));
+    }
+
+    @Test
+    void limiterHoldsSlotUntilBodyIsConsumed() throws Exception {
+        OkHttpClient client = HttpClientProvider.create(
+                Duration.ofSeconds(3), Duration.ofSeconds(3), Duration.ofSeconds(3), 2);
+        HttpClientProvider.HostConcurrencyLimiter limiter = HttpClientProvider.limiterFor(client);
+        assertSame(limiter, HttpClientProvider.limiterFor(client.newBuilder().build()));
+        Request request = new Request.Builder()
+                .url("http://127.0.0.1:" + server.getAddress().getPort() + "/")
+                .build();
+
+        try (Response response = HttpClientProvider.execute(client, request)) {
+            assertEquals(1, limiter.availablePermits("127.0.0.1"));
+            assertEquals("hello", response.body().string());
+            assertEquals(2, limiter.availablePermits("127.0.0.1"));
+        }
+        assertEquals(2, limiter.availablePermits("127.0.0.1"));
+    }
+}
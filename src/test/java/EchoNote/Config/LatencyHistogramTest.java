@@ -0,0 +1,40 @@
+package EchoNote.Config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void bucketUpperBoundsCoverTheirValues() {
+        for (long micros : new long[]{0, 1, 31, 32, 33, 1_000, 65_535, 123_456_789L}) {
+            int index = LatencyHistogram.indexOf(micros);
+            assertTrue(LatencyHistogram.upperBoundOf(index) >= micros);
+            assertTrue(index == 0 || LatencyHistogram.upperBoundOf(index - 1) < micros);
+        }
+    }
+
+    @Test
+    void percentilesAreWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int ms = 1; ms <= 1_000; ms++) {
+            histogram.recordNanos(ms * 1_000_000L);
+        }
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(1_000, snapshot.getCount());
+        assertEquals(500.0, snapshot.percentileMillis(50), 500 * 0.035);
+        assertEquals(990.0, snapshot.percentileMillis(99), 990 * 0.035);
+        assertEquals(1_000.0, snapshot.getMaxMillis(), 1e-9);
+        assertEquals(500.5, snapshot.getMeanMillis(), 1e-9);
+    }
+
+    @Test
+    void emptyHistogramReportsZero() {
+        LatencyHistogram.Snapshot snapshot = new LatencyHistogram().snapshot();
+        assertEquals(0, snapshot.getCount());
+        assertEquals(0.0, snapshot.percentileMillis(99));
+        assertEquals(0.0, snapshot.getMeanMillis());
+    }
+}
@@ -0,0 +1,60 @@
+package EchoNote.Config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void snapshotFlattensHistogramsCountersAndGauges() {
+        Metrics.histogram("test.snapshot").recordNanos(2_000_000);
+        Metrics.counter("test.counter").add(3);
+        Metrics.gauge("test.gauge", () -> 7);
+
+        Map<String, Number> snapshot = Metrics.snapshot();
+
+        assertEquals(1L, snapshot.get("test.snapshot.count"));
+        assertEquals(2.0, snapshot.get("test.snapshot.p99Ms").doubleValue(), 0.1);
+        assertTrue(snapshot.get("test.counter").longValue() >= 3);
+        assertEquals(7L, snapshot.get("test.gauge"));
+    }
+
+    @Test
+    void reporterWritesDumpFile() throws Exception {
+        Metrics.counter("test.reporter").increment();
+        Path file = tempDir.resolve("metrics").resolve("metrics.json");
+
+        new MetricsReporter(file, Duration.ofMinutes(1)).writeNow();
+
+        JsonNode root = new ObjectMapper().readTree(Files.readString(file));
+        assertTrue(root.has("timestamp"));
+        assertTrue(root.path("metrics").path("test.reporter").asLong() >= 1);
+        assertFalse(Files.exists(file.resolveSibling("metrics.json.tmp")));
+    }
+
+    @Test
+    void mbeanExposesMetricsAsAttributes() throws Exception {
+        Metrics.counter("test.jmx").add(5);
+        Metrics.registerMBean();
+        Metrics.registerMBean();
+
+        Object value = ManagementFactory.getPlatformMBeanServer()
+                .getAttribute(new ObjectName(Metrics.OBJECT_NAME), "test.jmx");
+
+        assertTrue(((Number) value).longValue() >= 5);
+    }
+}
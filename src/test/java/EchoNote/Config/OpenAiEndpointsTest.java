@@ -0,0 +1,62 @@
+package EchoNote.Config;
+
+import com.sun.net.httpserver.HttpServer;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpenAiEndpointsTest {
+
+    @AfterEach
+    void tearDown() {
+        OpenAiEndpoints.configure(null);
+    }
+
+    @Test
+    void configuredBaseUrlIsNormalized() {
+        OpenAiEndpoints.configure("http://127.0.0.1:8089/v1/");
+
+        assertEquals("http://127.0.0.1:8089/v1", OpenAiEndpoints.getBaseUrl());
+        assertEquals("http://127.0.0.1:8089/v1/chat/completions",
+                OpenAiEndpoints.resolve(OpenAiEndpoints.CHAT_COMPLETIONS));
+    }
+
+    @Test
+    void rejectsNonHttpUrls() {
+        assertThrows(IllegalArgumentException.class, () -> OpenAiEndpoints.configure("ftp://example.com"));
+        assertThrows(IllegalArgumentException.class, () -> OpenAiEndpoints.configure("not a url"));
+    }
+
+    @Test
+    void resolvedUrlReachesLocalServer() throws Exception {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v1/audio/transcriptions", exchange -> {
+            byte[] body = "{\"text\":\"hello\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        try {
+            OpenAiEndpoints.configure("http://127.0.0.1:" + server.getAddress().getPort() + "/v1");
+            Request request = new Request.Builder()
+                    .url(OpenAiEndpoints.resolve(OpenAiEndpoints.TRANSCRIPTIONS))
+                    .build();
+            try (Response response = new OkHttpClient().newCall(request).execute()) {
+                assertEquals(200, response.code());
+                assertEquals("{\"text\":\"hello\"}", response.body().string());
+            }
+        } finally {
+            server.stop(0);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package EchoNote.Config;
+
+import com.sun.net.httpserver.HttpServer;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpenAiRequestSchedulerTest {
+
+    private HttpServer server;
+    private final AtomicInteger calls = new AtomicInteger();
+    private volatile int failuresBeforeSuccess;
+    private volatile int failureCode = 429;
+    private final CountDownLatch slowStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseSlow = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            int call = calls.incrementAndGet();
+            boolean fail = call <= failuresBeforeSuccess;
+            byte[] body = (fail ? "slow down" : "ok").getBytes(StandardCharsets.UTF_8);
+            if (fail && failureCode == 429) {
+                exchange.getResponseHeaders().add("Retry-After", "0");
+            }
+            exchange.getResponseHeaders().add("x-ratelimit-remaining-requests", "99");
+            exchange.sendResponseHeaders(fail ? failureCode : 200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.createContext("/slow", exchange -> {
+            slowStarted.countDown();
+            try {
+                releaseSlow.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException ignored) {
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        releaseSlow.countDown();
+        server.stop(0);
+    }
+
+    @Test
+    void retriesRateLimitedResponsesUntilSuccess() throws Exception {
+        failuresBeforeSuccess = 2;
+        OpenAiRequestScheduler scheduler = newScheduler(5);
+
+        try (Response response = scheduler.execute(new OkHttpClient(), request(), 10)) {
+            assertEquals(200, response.code());
+            assertEquals("ok", response.body().string());
+        }
+        assertEquals(3, calls.get());
+        assertEquals(2, scheduler.getRetryCount());
+    }
+
+    @Test
+    void returnsLastResponseWhenAttemptsAreExhausted() throws Exception {
+        failuresBeforeSuccess = 10;
+        failureCode = 503;
+        OpenAiRequestScheduler scheduler = newScheduler(3);
+
+        try (Response response = scheduler.execute(new OkHttpClient(), request(), 0)) {
+            assertEquals(503, response.code());
+        }
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void doesNotRetryClientErrors() throws Exception {
+        failuresBeforeSuccess = 10;
+        failureCode = 400;
+        OpenAiRequestScheduler scheduler = newScheduler(5);
+
+        try (Response response = scheduler.execute(new OkHttpClient(), request(), 0)) {
+            assertEquals(400, response.code());
+        }
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void executeAsyncRetriesRateLimitedResponsesUntilSuccess() throws Exception {
+        failuresBeforeSuccess = 2;
+        OpenAiRequestScheduler scheduler = newScheduler(5);
+
+        try (Response response = scheduler.executeAsync(new OkHttpClient(), request(), 10).get(5, TimeUnit.SECONDS)) {
+            assertEquals(200, response.code());
+            assertEquals("ok", response.body().string());
+        }
+        assertEquals(3, calls.get());
+        assertEquals(2, scheduler.getRetryCount());
+    }
+
+    @Test
+    void cancellingAsyncFutureCancelsTheHttpCall() throws Exception {
+        OkHttpClient client = new OkHttpClient();
+        Request slow = new Request.Builder()
+                .url("http://127.0.0.1:" + server.getAddress().getPort() + "/slow")
+                .build();
+
+        CompletableFuture<Response> future = newScheduler(5).executeAsync(client, slow, 0);
+        assertTrue(slowStarted.await(5, TimeUnit.SECONDS));
+        assertTrue(future.cancel(true));
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (client.dispatcher().runningCallsCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, client.dispatcher().runningCallsCount());
+        assertEquals(0, calls.get());
+    }
+
+    @Test
+    void backoffGrowsAndHonorsRetryAfter() {
+        OpenAiRequestScheduler scheduler = new OpenAiRequestScheduler(60, 0, 5,
+                Duration.ofMillis(100), Duration.ofSeconds(1));
+
+        long first = scheduler.backoffNanos(1, 0);
+        assertTrue(first >= TimeUnit.MILLISECONDS.toNanos(50) && first <= TimeUnit.MILLISECONDS.toNanos(100));
+
+        long capped = scheduler.backoffNanos(20, 0);
+        assertTrue(capped <= TimeUnit.SECONDS.toNanos(1));
+
+        assertEquals(TimeUnit.SECONDS.toNanos(5), scheduler.backoffNanos(1, TimeUnit.SECONDS.toNanos(5)));
+    }
+
+    @Test
+    void parsesResetDurations() {
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(20), OpenAiRequestScheduler.parseResetNanos("20ms"));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(1500), OpenAiRequestScheduler.parseResetNanos("1.5s"));
+        assertEquals(TimeUnit.MINUTES.toNanos(6) + TimeUnit.SECONDS.toNanos(3),
+                OpenAiRequestScheduler.parseResetNanos("6m3s"));
+        assertEquals(0, OpenAiRequestScheduler.parseResetNanos(null));
+    }
+
+    @Test
+    void tokenBucketQueuesCallersBehindDebt() {
+        AtomicLong now = new AtomicLong();
+        TokenBucket bucket = new TokenBucket(60, now::get);
+
+        assertEquals(0, bucket.reserve(60));
+        long wait = bucket.reserve(1);
+        assertEquals(TimeUnit.SECONDS.toNanos(1), wait, TimeUnit.MILLISECONDS.toNanos(1));
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        assertEquals(29.0, bucket.available(), 0.01);
+
+        bucket.limitTo(5, 0);
+        assertEquals(5.0, bucket.available(), 0.01);
+    }
+
+    private OpenAiRequestScheduler newScheduler(int maxAttempts) {
+        return new OpenAiRequestScheduler(600, 100_000, maxAttempts, Duration.ofMillis(1), Duration.ofMillis(5));
+    }
+
+    private Request request() {
+        return new Request.Builder()
+                .url("http://127.0.0.1:" + server.getAddress().getPort() + "/")
+                .build();
+    }
+}
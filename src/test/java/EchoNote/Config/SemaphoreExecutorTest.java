@@ -0,0 +1,95 @@
+package EchoNote.Config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SemaphoreExecutorTest {
+
+    @Test
+    void permitsBoundHowManyTasksRunAtOnce() throws Exception {
+        SemaphoreExecutor executor = new SemaphoreExecutor(Executors.newCachedThreadPool(), 2, 16);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(executor.submit(() -> {
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                Thread.sleep(20);
+                running.decrementAndGet();
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertEquals(2, peak.get());
+        assertEquals(0, executor.getQueuedCount());
+        assertEquals(0, executor.getActiveCount());
+    }
+
+    @Test
+    void rejectsTasksBeyondQueueCapacity() throws Exception {
+        ExecutorService delegate = Executors.newCachedThreadPool();
+        SemaphoreExecutor executor = new SemaphoreExecutor(delegate, 1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            awaitQuietly(release);
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        executor.execute(() -> awaitQuietly(release));
+
+        assertEquals(1, executor.getActiveCount());
+        assertEquals(1, executor.getQueuedCount());
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> { }));
+
+        release.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void shutdownNowDropsTasksWaitingForAPermit() throws Exception {
+        SemaphoreExecutor executor = new SemaphoreExecutor(Executors.newCachedThreadPool(), 1, 4);
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicInteger ran = new AtomicInteger();
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException ignored) {
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        executor.execute(ran::incrementAndGet);
+        executor.execute(ran::incrementAndGet);
+
+        executor.shutdownNow();
+
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(0, ran.get());
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> { }));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ignored) {
+        }
+    }
+}
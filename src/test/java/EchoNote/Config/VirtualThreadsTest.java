@@ -0,0 +1,61 @@
+package EchoNote.Config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class VirtualThreadsTest {
+
+    @AfterEach
+    void tearDown() {
+        VirtualThreads.setEnabled(false);
+    }
+
+    @Test
+    void supportFollowsRuntimeVersion() {
+        assertEquals(Runtime.version().feature() >= 21, VirtualThreads.isSupported());
+    }
+
+    @Test
+    void enablingWithoutSupportFailsAndKeepsPlatformThreads() throws Exception {
+        assumeFalse(VirtualThreads.isSupported());
+
+        assertThrows(IllegalStateException.class, () -> VirtualThreads.setEnabled(true));
+        assertThrows(UnsupportedOperationException.class, () -> VirtualThreads.factory("Test-"));
+        assertFalse(VirtualThreads.isEnabled());
+
+        Thread worker = runOn(VirtualThreads.newExecutor("Test-Platform-", 1));
+        assertEquals("Test-Platform-1", worker.getName());
+        assertTrue(worker.isDaemon());
+    }
+
+    @Test
+    void enabledExecutorRunsTasksOnNamedVirtualThreads() throws Exception {
+        assumeTrue(VirtualThreads.isSupported());
+        VirtualThreads.setEnabled(true);
+
+        ExecutorService executor = VirtualThreads.newExecutor("Test-Virtual-", 1);
+        assertInstanceOf(SemaphoreExecutor.class, executor);
+        Thread worker = runOn(executor);
+
+        assertEquals("Test-Virtual-1", worker.getName());
+        assertTrue((Boolean) Thread.class.getMethod("isVirtual").invoke(worker));
+    }
+
+    private static Thread runOn(ExecutorService executor) throws Exception {
+        CompletableFuture<Thread> worker = new CompletableFuture<>();
+        try {
+            executor.execute(() -> worker.complete(Thread.currentThread()));
+            return worker.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
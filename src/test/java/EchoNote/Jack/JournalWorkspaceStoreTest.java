@@ -0,0 +1,223 @@
+package EchoNote.Jack;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JournalWorkspaceStoreTest {
+
+    private MeetingRecord createRichRecord() {
+        Participant jack = new Participant("Jack", "jack@example.com", "Lead");
+        Summary summary = new Summary(List.of("Persistence"), List.of("Use a journal"), "Keep meetings on restart.");
+        ActionItem action = new ActionItem("act-1", "Write snapshot code", jack, LocalDate.of(2025, 3, 1));
+        action.setStatus(ActionStatus.DONE);
+
+        MeetingRecord record = new MeetingRecordBuilder()
+                .withTitle("Storage Design")
+                .withDate(LocalDateTime.of(2025, 2, 20, 11, 15))
+                .withTags(List.of("design", "storage"))
+                .withParticipants(List.of(jack))
+                .withTranscript(new Transcript("t-1", "We should journal every save.", List.of("00:00:00.000"),
+                        TranscriptSource.IMPORTED))
+                .withSummary(summary)
+                .withActions(List.of(action))
+                .build();
+        record.setStatus(ApprovalStatus.APPROVED);
+        record.setAudioFilePath("recordings/storage.wav");
+        return record;
+    }
+
+    @Test
+    void savedRecords_areReplayedAfterReopen() throws Exception {
+        Path dir = Files.createTempDirectory("echonote-store-test");
+        MeetingRecord original = createRichRecord();
+
+        Workspace workspace = new Workspace(new JournalWorkspaceStore(dir));
+        workspace.save(original);
+        workspace.close();
+
+        Workspace reopened = new Workspace(new JournalWorkspaceStore(dir));
+        MeetingRecord loaded = reopened.getById(original.getId());
+        reopened.close();
+
+        assertNotSame(original, loaded);
+        assertEquals("Storage Design", loaded.getTitle());
+        assertEquals(original.getDate(), loaded.getDate());
+        assertEquals(ApprovalStatus.APPROVED, loaded.getStatus());
+        assertEquals(List.of("design", "storage"), loaded.getTags());
+        assertEquals("jack@example.com", loaded.getParticipants().get(0).getEmail());
+        assertEquals("We should journal every save.", loaded.getTranscript().getRawText());
+        assertEquals(TranscriptSource.IMPORTED, loaded.getTranscript().getSource());
+        assertEquals(List.of("Use a journal"), loaded.getSummary().getDecisions());
+        assertEquals(ActionStatus.DONE, loaded.getActions().get(0).getStatus());
+        assertEquals(LocalDate.of(2025, 3, 1), loaded.getActions().get(0).getDueDate());
+        assertEquals("recordings/storage.wav", loaded.getAudioFilePath());
+    }
+
+    @Test
+    void compaction_writesSnapshotAndKeepsLatestState() throws Exception {
+        Path dir = Files.createTempDirectory("echonote-store-test");
+
+        Workspace workspace = new Workspace(new JournalWorkspaceStore(dir, 3));
+        MeetingRecord record = createRichRecord();
+        for (int i = 0; i < 5; i++) {
+            record.setTitle("Revision " + i);
+            workspace.save(record);
+        }
+        workspace.save(new MeetingRecordBuilder().withTitle("Another").build());
+        workspace.close();
+
+        assertTrue(Files.exists(dir.resolve("snapshot.jsonl")), "Reaching the threshold should write a snapshot");
+
+        Workspace reopened = new Workspace(new JournalWorkspaceStore(dir, 3));
+        assertEquals(2, reopened.getAll().size());
+        assertEquals("Revision 4", reopened.getById(record.getId()).getTitle());
+        reopened.close();
+    }
+
+    @Test
+    void reopen_afterCompaction_keepsSaveOrder() throws Exception {
+        Path dir = Files.createTempDirectory("echonote-store-test");
+
+        Workspace workspace = new Workspace(new JournalWorkspaceStore(dir, 4));
+        List<UUID> saved = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            MeetingRecord record = new MeetingRecordBuilder().withTitle("Meeting " + i).build();
+            workspace.save(record);
+            saved.add(record.getId());
+        }
+        workspace.close();
+
+        Workspace reopened = new Workspace(new JournalWorkspaceStore(dir, 4));
+        List<UUID> loaded = new ArrayList<>();
+        for (MeetingRecord record : reopened.getAll()) {
+            loaded.add(record.getId());
+        }
+        reopened.close();
+        assertEquals(saved, loaded);
+    }
+
+    @Test
+    void compact_capturesRecordsWhenCalledNotWhenWritten() throws Exception {
+        Path dir = Files.createTempDirectory("echonote-store-test");
+        MeetingRecord record = new MeetingRecordBuilder().withTitle("Saved Title").build();
+
+        JournalWorkspaceStore store = new JournalWorkspaceStore(dir);
+        store.compact(List.of(record));
+        record.setTitle("Unsaved Edit");
+        store.flush();
+        store.close();
+
+        JournalWorkspaceStore reopened = new JournalWorkspaceStore(dir);
+        List<MeetingRecord> loaded = reopened.load();
+        reopened.close();
+        assertEquals(1, loaded.size());
+        assertEquals("Saved Title", loaded.get(0).getTitle());
+    }
+
+    @Test
+    void deadWriter_failsFlushAndAppendInsteadOfHanging() throws Exception {
+        JournalWorkspaceStore store = new JournalWorkspaceStore(Files.createTempDirectory("echonote-store-test"));
+        Field field = JournalWorkspaceStore.class.getDeclaredField("writerThread");
+        field.setAccessible(true);
+        Thread writer = (Thread) field.get(store);
+        writer.interrupt();
+        writer.join(5_000);
+        assertFalse(writer.isAlive());
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () ->
+                assertThrows(PersistenceException.class, store::flush));
+        assertThrows(PersistenceException.class, () -> store.append(createRichRecord()));
+        assertThrows(PersistenceException.class, store::close);
+    }
+
+    @Test
+    void save_throwsWhenItsJournalLineCannotBeWritten() throws Exception {
+        JournalWorkspaceStore store = new JournalWorkspaceStore(Files.createTempDirectory("echonote-store-test"));
+        Workspace workspace = new Workspace(store);
+        Field field = JournalWorkspaceStore.class.getDeclaredField("journal");
+        field.setAccessible(true);
+        ((FileChannel) field.get(store)).close();
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () ->
+                assertThrows(PersistenceException.class, () -> workspace.save(createRichRecord())));
+        assertThrows(PersistenceException.class, () -> workspace.save(createRichRecord()),
+                "Saves after a failed write must not be silently dropped");
+    }
+
+    @Test
+    void concurrentSaves_areAllDurableWhenSaveReturns() throws Exception {
+        Path dir = Files.createTempDirectory("echonote-store-test");
+        Workspace workspace = new Workspace(new JournalWorkspaceStore(dir));
+        List<MeetingRecord> saved = new CopyOnWriteArrayList<>();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 64; i++) {
+            String title = "Meeting " + i;
+            pool.execute(() -> {
+                MeetingRecord record = new MeetingRecordBuilder().withTitle(title).build();
+                workspace.save(record);
+                saved.add(record);
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Read the journal without close(), which would flush anything a save() left behind.
+        JournalWorkspaceStore reader = new JournalWorkspaceStore(dir);
+        List<MeetingRecord> loaded = reader.load();
+        reader.close();
+        workspace.close();
+        assertEquals(64, saved.size());
+        assertEquals(64, loaded.size());
+    }
+
+    @Test
+    void tornLastJournalLine_isIgnoredOnReplay() throws Exception {
+        Path dir = Files.createTempDirectory("echonote-store-test");
+        MeetingRecord record = createRichRecord();
+
+        Workspace workspace = new Workspace(new JournalWorkspaceStore(dir));
+        workspace.save(record);
+        workspace.close();
+
+        Files.write(dir.resolve("journal.jsonl"), "{\"op\":\"save\",\"rec".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+
+        Workspace reopened = new Workspace(new JournalWorkspaceStore(dir));
+        assertEquals(1, reopened.getAll().size());
+
+        MeetingRecord second = new MeetingRecordBuilder().withTitle("After crash").build();
+        reopened.save(second);
+        reopened.close();
+
+        Workspace third = new Workspace(new JournalWorkspaceStore(dir));
+        assertEquals("After crash", third.getById(second.getId()).getTitle(),
+                "Appends after a torn line should still replay cleanly");
+        third.close();
+    }
+
+    @Test
+    void append_afterClose_throwsPersistenceException() throws Exception {
+        JournalWorkspaceStore store = new JournalWorkspaceStore(Files.createTempDirectory("echonote-store-test"));
+        store.close();
+
+        assertThrows(PersistenceException.class, () -> store.append(createRichRecord()));
+    }
+}
@@ -2,10 +2,15 @@ package EchoNote.Jack;
 
 import org.junit.jupiter.api.Test;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -63,6 +68,23 @@ public class WorkspaceTest {
         assertSame(record, all.get(0));
     }
 
+    @Test
+    void getAll_keepsSaveOrderAndMovesResavedRecordsToTheEnd() {
+        Workspace workspace = new Workspace();
+        List<MeetingRecord> saved = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            MeetingRecord record = createRecord("Meeting " + i, "weekly");
+            workspace.save(record);
+            saved.add(record);
+        }
+        assertEquals(saved, workspace.getAll());
+        assertEquals(saved, workspace.findByQuery("meeting"));
+
+        workspace.save(saved.get(3));
+        saved.add(saved.remove(3));
+        assertEquals(saved, workspace.getAll(), "A re-saved record should move to the end like the list did");
+    }
+
     @Test
     void findByQuery_matchesTitleAndTags() {
         Workspace workspace = new Workspace();
@@ -106,4 +128,66 @@ public class WorkspaceTest {
                 () -> workspace.getById("  "),
                 "Blank id string should throw IllegalArgumentException");
     }
+
+    @Test
+    void findByTag_usesCurrentTagsAfterResave() {
+        Workspace workspace = new Workspace();
+        MeetingRecord record = createRecord("Roadmap", "Planning", "q3");
+        workspace.save(record);
+
+        assertEquals(List.of(record), workspace.findByTag("planning"),
+                "Tag lookup should be case-insensitive");
+
+        record.setTags(List.of("q4"));
+        workspace.save(record);
+
+        assertTrue(workspace.findByTag("planning").isEmpty(), "Old tags should be dropped when a record is re-saved");
+        assertEquals(List.of(record), workspace.findByTag("q4"));
+    }
+
+    @Test
+    void findByDateRange_returnsRecordsWithinInclusiveRange() {
+        Workspace workspace = new Workspace();
+
+        MeetingRecord january = new MeetingRecordBuilder()
+                .withTitle("January").withDate(LocalDateTime.of(2025, 1, 10, 9, 0)).build();
+        MeetingRecord february = new MeetingRecordBuilder()
+                .withTitle("February").withDate(LocalDateTime.of(2025, 2, 3, 15, 30)).build();
+        MeetingRecord undated = new MeetingRecordBuilder().withTitle("Undated").build();
+
+        workspace.save(january);
+        workspace.save(february);
+        workspace.save(undated);
+
+        List<MeetingRecord> found = workspace.findByDateRange(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31));
+        assertEquals(List.of(january), found);
+
+        List<MeetingRecord> both = workspace.findByDateRange(LocalDate.of(2025, 1, 10), LocalDate.of(2025, 2, 3));
+        assertEquals(2, both.size(), "Range bounds should be inclusive");
+    }
+
+    @Test
+    void concurrentSaves_areAllVisible() throws Exception {
+        Workspace workspace = new Workspace();
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+
+        List<Future<MeetingRecord>> futures = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            int n = i;
+            futures.add(pool.submit(() -> {
+                MeetingRecord record = createRecord("Meeting " + n, "bulk");
+                workspace.save(record);
+                return record;
+            }));
+        }
+
+        for (Future<MeetingRecord> f : futures) {
+            MeetingRecord record = f.get();
+            assertSame(record, workspace.getById(record.getId()));
+        }
+        pool.shutdown();
+
+        assertEquals(200, workspace.getAll().size());
+        assertEquals(200, workspace.findByTag("bulk").size());
+    }
 }
@@ -0,0 +1,107 @@
+package EchoNote.Mihail;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AudioPreprocessorTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static byte[] sineWav(float sampleRate, int channels, double frequency, double seconds) throws Exception {
+        int frames = (int) (sampleRate * seconds);
+        byte[] pcm = new byte[frames * 2 * channels];
+        for (int i = 0; i < frames; i++) {
+            short sample = (short) (16_000 * Math.sin(2 * Math.PI * frequency * i / sampleRate));
+            for (int c = 0; c < channels; c++) {
+                int at = (i * channels + c) * 2;
+                pcm[at] = (byte) sample;
+                pcm[at + 1] = (byte) (sample >> 8);
+            }
+        }
+        AudioFormat format = new AudioFormat(sampleRate, 16, channels, true, false);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        AudioSystem.write(new AudioInputStream(new ByteArrayInputStream(pcm), format, frames),
+                AudioFileFormat.Type.WAVE, out);
+        return out.toByteArray();
+    }
+
+    private static double rms(byte[] wav) throws Exception {
+        try (AudioInputStream in = AudioSystem.getAudioInputStream(new ByteArrayInputStream(wav))) {
+            byte[] pcm = in.readAllBytes();
+            double sum = 0;
+            // Skip the filter's start-up transient.
+            int from = pcm.length / 10 & ~1;
+            for (int i = from; i < pcm.length; i += 2) {
+                int sample = (pcm[i + 1] << 8) | (pcm[i] & 0xFF);
+                sum += (double) sample * sample;
+            }
+            return Math.sqrt(sum / ((pcm.length - from) / 2.0));
+        }
+    }
+
+    @Test
+    void process_resamplesSpeechBandAudioTo16kMono() throws Exception {
+        byte[] input = sineWav(44_100f, 2, 440, 2.0);
+
+        byte[] output = AudioPreprocessor.speech().process(input).getWav();
+
+        AudioFileFormat result = AudioSystem.getAudioFileFormat(new ByteArrayInputStream(output));
+        assertEquals(16_000f, result.getFormat().getSampleRate());
+        assertEquals(1, result.getFormat().getChannels());
+        assertEquals(32_000, result.getFrameLength(), 2);
+        assertTrue(output.length * 5 < input.length, "expected at least 5x smaller, got " + output.length);
+        assertEquals(rms(input), rms(output), rms(input) * 0.05);
+    }
+
+    @Test
+    void process_filtersContentAboveTheNewNyquistFrequency() throws Exception {
+        byte[] input = sineWav(44_100f, 1, 12_000, 1.0);
+
+        byte[] output = new AudioPreprocessor(16_000f, false, false).process(input).getWav();
+
+        assertTrue(rms(output) < rms(input) * 0.05, "12 kHz tone should not alias into the output");
+    }
+
+    @Test
+    void process_muLawHalvesThePcmSizeAndStaysReadable() throws Exception {
+        Path wav = tempDir.resolve("meeting.wav");
+        Files.write(wav, sineWav(44_100f, 1, 440, 1.0));
+        AudioPreprocessor preprocessor = new AudioPreprocessor(16_000f, true);
+
+        byte[] output = preprocessor.process(wav).getWav();
+
+        AudioFormat format = AudioSystem.getAudioFileFormat(new ByteArrayInputStream(output)).getFormat();
+        assertEquals(AudioFormat.Encoding.ULAW, format.getEncoding());
+        assertEquals(1, format.getFrameSize());
+        assertEquals(output.length, preprocessor.estimateOutputBytes(wav), 4);
+    }
+
+    @Test
+    void process_neverUpsamples() throws Exception {
+        byte[] input = sineWav(8_000f, 1, 440, 1.0);
+
+        byte[] output = AudioPreprocessor.speech().process(input).getWav();
+
+        assertEquals(8_000f, AudioSystem.getAudioFileFormat(new ByteArrayInputStream(output)).getFormat().getSampleRate());
+        assertEquals(input.length, output.length);
+    }
+
+    @Test
+    void linearToMuLaw_matchesG711ReferenceValues() {
+        assertEquals((byte) 0xFF, AudioPreprocessor.linearToMuLaw((short) 0));
+        assertEquals((byte) 0x80, AudioPreprocessor.linearToMuLaw(Short.MAX_VALUE));
+        assertEquals((byte) 0x00, AudioPreprocessor.linearToMuLaw((short) -32_768));
+    }
+}
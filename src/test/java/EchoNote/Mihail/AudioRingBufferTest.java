@@ -0,0 +1,81 @@
+package EchoNote.Mihail;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AudioRingBufferTest {
+
+    @Test
+    void consumerSeesEveryBlockInOrderAcrossThreads() throws Exception {
+        AudioRingBuffer ring = new AudioRingBuffer(8, 4);
+        List<Integer> received = new ArrayList<>();
+        Thread consumer = new Thread(() -> {
+            try {
+                ring.consumeUntilClosed((data, length) -> {
+                    assertEquals(4, length);
+                    received.add(((data[0] & 0xFF) << 8) | (data[1] & 0xFF));
+                });
+            } catch (Exception e) {
+                throw new AssertionError(e);
+            }
+        });
+        consumer.start();
+
+        for (int i = 0; i < 10_000; i++) {
+            byte[] block;
+            while ((block = ring.claim()) == null) {
+                Thread.onSpinWait();
+            }
+            block[0] = (byte) (i >> 8);
+            block[1] = (byte) i;
+            ring.publish(4);
+        }
+        ring.close();
+        consumer.join(5_000);
+
+        assertFalse(consumer.isAlive());
+        assertEquals(10_000, received.size());
+        for (int i = 0; i < received.size(); i++) {
+            assertEquals(i & 0xFFFF, received.get(i));
+        }
+    }
+
+    @Test
+    void fullRingCountsOverrunsInsteadOfBlocking() throws Exception {
+        AudioRingBuffer ring = new AudioRingBuffer(4, 2);
+        byte[] data = {1, 2};
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ring.offer(data, 2));
+        }
+        assertFalse(ring.offer(data, 2));
+        assertNull(ring.claim());
+        assertEquals(2, ring.getOverruns());
+        assertEquals(4, ring.getBacklog());
+
+        int[] drained = {0};
+        ring.drain((block, length) -> drained[0]++);
+        assertEquals(4, drained[0]);
+        assertTrue(ring.offer(data, 2));
+    }
+
+    @Test
+    void drainReportsClosedOnlyOnceEmpty() throws Exception {
+        AudioRingBuffer ring = new AudioRingBuffer(2, 1);
+        ring.offer(new byte[]{7}, 1);
+        ring.close();
+
+        List<Byte> seen = new ArrayList<>();
+        assertFalse(ring.drain((block, length) -> seen.add(block[0])));
+        assertEquals(List.of((byte) 7), seen);
+    }
+
+    @Test
+    void rejectsNonPowerOfTwoCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new AudioRingBuffer(6, 16));
+    }
+}
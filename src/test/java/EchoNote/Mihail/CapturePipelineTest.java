@@ -0,0 +1,150 @@
+package EchoNote.Mihail;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.sound.sampled.AudioFormat;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CapturePipelineTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void consumersReceiveEverythingCommittedBeforeClose() throws Exception {
+        Path wav = tempDir.resolve("capture.wav");
+        LevelMeter meter = new LevelMeter(8_000f, 10);
+        ByteArrayOutputStream tapped = new ByteArrayOutputStream();
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+
+        try (WavFileWriter writer = new WavFileWriter(wav, new AudioFormat(8_000f, 16, 1, true, false))) {
+            try (CapturePipeline pipeline = new CapturePipeline(writer, null, meter,
+                    (data, length) -> tapped.write(data, 0, length))) {
+                for (int i = 0; i < 50; i++) {
+                    byte[] buffer = pipeline.nextBuffer();
+                    Arrays.fill(buffer, (byte) i);
+                    int length = 1_000 + i;
+                    expected.write(buffer, 0, length);
+                    pipeline.commit(length);
+                }
+                assertEquals(0, pipeline.getDroppedBlocks());
+            }
+            assertEquals(expected.size(), writer.getDataLength());
+        }
+
+        assertArrayEquals(expected.toByteArray(), tapped.toByteArray());
+        byte[] file = Files.readAllBytes(wav);
+        assertArrayEquals(expected.toByteArray(), Arrays.copyOfRange(file, 44, 44 + expected.size()));
+        assertTrue(meter.getRms() > 0);
+    }
+
+    @Test
+    void slowTapListenerIsToldHowMuchAudioItMissed() throws Exception {
+        Path wav = tempDir.resolve("gap.wav");
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicLong received = new AtomicLong();
+        AtomicLong dropped = new AtomicLong();
+        AudioDataListener slowListener = new AudioDataListener() {
+            @Override
+            public void onAudioData(byte[] data, int length) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ignored) {
+                }
+                received.addAndGet(length);
+            }
+
+            @Override
+            public void onAudioDropped(long droppedBytes) {
+                dropped.addAndGet(droppedBytes);
+            }
+        };
+
+        int blocks = CapturePipeline.TAP_RING_BLOCKS + 20;
+        long committed = 0;
+        long tapOverruns;
+        try (WavFileWriter writer = new WavFileWriter(wav, new AudioFormat(8_000f, 16, 1, true, false))) {
+            CapturePipeline pipeline = new CapturePipeline(writer, null, null, slowListener);
+            try {
+                for (int i = 0; i < blocks; i++) {
+                    pipeline.nextBuffer();
+                    pipeline.commit(CapturePipeline.BLOCK_BYTES);
+                    committed += CapturePipeline.BLOCK_BYTES;
+                }
+                tapOverruns = pipeline.getTapOverruns();
+                assertTrue(tapOverruns > 0);
+                assertEquals(0, pipeline.getMeterOverruns());
+                assertEquals(tapOverruns * CapturePipeline.BLOCK_BYTES, pipeline.getTapDroppedBytes());
+            } finally {
+                release.countDown();
+                pipeline.close();
+            }
+            assertEquals(committed, writer.getDataLength());
+        }
+
+        assertEquals(tapOverruns * CapturePipeline.BLOCK_BYTES, dropped.get());
+        assertEquals(committed, received.get() + dropped.get());
+    }
+
+    @Test
+    void audioTheWriterCouldNotKeepIsReplacedWithSilenceInPlace() throws Exception {
+        Path wav = tempDir.resolve("overrun.wav");
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicLong written = new AtomicLong();
+        WavFileWriter writer = new WavFileWriter(wav, new AudioFormat(8_000f, 16, 1, true, false)) {
+            @Override
+            public void write(byte[] data, int offset, int length) throws IOException {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ignored) {
+                }
+                super.write(data, offset, length);
+                written.addAndGet(length);
+            }
+        };
+
+        int block = CapturePipeline.BLOCK_BYTES;
+        int blocks = CapturePipeline.FILE_RING_BLOCKS + 20;
+        long droppedBytes;
+        try (writer) {
+            CapturePipeline pipeline = new CapturePipeline(writer, null, null, null);
+            try {
+                for (int i = 0; i < blocks; i++) {
+                    Arrays.fill(pipeline.nextBuffer(), (byte) 1);
+                    pipeline.commit(block);
+                }
+                droppedBytes = pipeline.getFileDroppedBytes();
+                assertEquals(pipeline.getDroppedBlocks() * block, droppedBytes);
+                assertTrue(droppedBytes > 0);
+
+                release.countDown();
+                while (written.get() < 2L * block) {
+                    Thread.sleep(1);
+                }
+                // The block after the gap must land after the silence that stands in for it.
+                Arrays.fill(pipeline.nextBuffer(), (byte) 2);
+                pipeline.commit(block);
+            } finally {
+                release.countDown();
+                pipeline.close();
+            }
+            assertEquals((long) (blocks + 1) * block, writer.getDataLength());
+        }
+
+        byte[] expected = new byte[(blocks + 1) * block];
+        Arrays.fill(expected, 0, blocks * block - (int) droppedBytes, (byte) 1);
+        Arrays.fill(expected, blocks * block, expected.length, (byte) 2);
+        byte[] file = Files.readAllBytes(wav);
+        assertArrayEquals(expected, Arrays.copyOfRange(file, 44, 44 + expected.length));
+    }
+}
@@ -0,0 +1,74 @@
+package EchoNote.Mihail;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChatResponseCacheTest {
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration d) {
+            now = now.plus(d);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    @Test
+    void keyFor_changesWithModelTemperatureAndPrompt() {
+        ChatResponseCache cache = new ChatResponseCache(null, 1, 10, Duration.ofHours(1));
+
+        String base = cache.keyFor("gpt-4.1-mini", 0.2, "system", "prompt");
+
+        assertEquals(base, cache.keyFor("gpt-4.1-mini", 0.2, "system", "prompt"));
+        assertNotEquals(base, cache.keyFor("gpt-4.1", 0.2, "system", "prompt"));
+        assertNotEquals(base, cache.keyFor("gpt-4.1-mini", 0.7, "system", "prompt"));
+        assertNotEquals(base, cache.keyFor("gpt-4.1-mini", 0.2, "system", "other prompt"));
+    }
+
+    @Test
+    void get_afterTtl_returnsNull() throws Exception {
+        MutableClock clock = new MutableClock();
+        Path dir = Files.createTempDirectory("echonote-chat-cache");
+        ChatResponseCache cache = new ChatResponseCache(dir, 1024 * 1024, 10, Duration.ofHours(1), clock);
+
+        cache.put("k", "{\"topics\":[]}");
+        assertEquals("{\"topics\":[]}", cache.get("k"));
+
+        clock.advance(Duration.ofHours(2));
+        assertNull(cache.get("k"), "Expired entries should not be returned");
+    }
+
+    @Test
+    void diskTier_servesEntriesToNewInstance() throws Exception {
+        MutableClock clock = new MutableClock();
+        Path dir = Files.createTempDirectory("echonote-chat-cache");
+
+        new ChatResponseCache(dir, 1024 * 1024, 10, Duration.ofHours(1), clock).put("k", "[1,2,3]");
+        ChatResponseCache reopened = new ChatResponseCache(dir, 1024 * 1024, 10, Duration.ofHours(1), clock);
+
+        assertEquals("[1,2,3]", reopened.get("k"), "Disk tier should survive a restart");
+    }
+}
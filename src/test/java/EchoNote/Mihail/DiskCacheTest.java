@@ -0,0 +1,42 @@
+package EchoNote.Mihail;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DiskCacheTest {
+
+    @Test
+    void put_overCapacity_evictsLeastRecentlyUsed() throws Exception {
+        Path dir = Files.createTempDirectory("echonote-cache-test");
+        DiskCache cache = new DiskCache(dir, 30);
+
+        cache.put("a", "0123456789");
+        cache.put("b", "0123456789");
+        cache.put("c", "0123456789");
+        assertEquals("0123456789", cache.get("a"), "Reading 'a' should make it most recently used");
+
+        cache.put("d", "0123456789");
+
+        assertNull(cache.get("b"), "Least recently used entry should be evicted");
+        assertNotNull(cache.get("a"));
+        assertNotNull(cache.get("c"));
+        assertNotNull(cache.get("d"));
+        assertEquals(30, cache.getTotalBytes());
+        assertFalse(Files.exists(dir.resolve("b.json")), "Evicted entry should be deleted from disk");
+    }
+
+    @Test
+    void entries_surviveNewInstance() throws Exception {
+        Path dir = Files.createTempDirectory("echonote-cache-test");
+        new DiskCache(dir, 1024).put("key", "{\"text\":\"hello\"}");
+
+        DiskCache reopened = new DiskCache(dir, 1024);
+
+        assertEquals("{\"text\":\"hello\"}", reopened.get("key"));
+        assertEquals(1, reopened.size());
+    }
+}
@@ -0,0 +1,52 @@
+package EchoNote.Mihail;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ShortBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LevelMeterTest {
+
+    @Test
+    void publishesOneReadingPerUpdatePeriod() {
+        LevelMeter meter = new LevelMeter(1_000f, 10);
+        ShortBuffer samples = ShortBuffer.allocate(250);
+        for (int i = 0; i < 250; i++) {
+            samples.put(i, (short) (i < 100 ? (i % 2 == 0 ? 16_384 : -16_384) : 0));
+        }
+
+        samples.limit(99);
+        meter.process(samples);
+        assertEquals(0L, meter.snapshot(), "nothing is published before a full period");
+
+        samples.limit(100);
+        samples.position(99);
+        meter.process(samples);
+        assertEquals(0.5, meter.getRms(), 1e-6);
+        assertEquals(0.5, meter.getPeak(), 1e-6);
+        assertEquals(99, samples.position(), "the caller's position is left alone");
+
+        samples.position(100).limit(250);
+        meter.process(samples);
+        assertEquals(0.0, meter.getRms());
+    }
+
+    @Test
+    void snapshotDecodesRmsAndPeakTogether() {
+        LevelMeter meter = new LevelMeter(4f, 1);
+        meter.process(ShortBuffer.wrap(new short[]{Short.MIN_VALUE, 0, 0, 0}));
+
+        long snapshot = meter.snapshot();
+        assertEquals(0.5, LevelMeter.rmsOf(snapshot), 1e-6);
+        assertEquals(1.0, LevelMeter.peakOf(snapshot), 1e-6);
+    }
+
+    @Test
+    void computeLevelRms_matchesFullScaleSquareWave() {
+        byte[] pcm = {0x00, (byte) 0x80, (byte) 0xFF, 0x7F};
+
+        assertEquals(1.0, Recorder.computeLevelRms(pcm, pcm.length), 1e-4);
+        assertEquals(0.0, Recorder.computeLevelRms(pcm, 1));
+    }
+}
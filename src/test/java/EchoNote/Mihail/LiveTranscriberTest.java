@@ -0,0 +1,126 @@
+package EchoNote.Mihail;
+
+import EchoNote.Jack.Transcript;
+import org.junit.jupiter.api.Test;
+
+import javax.sound.sampled.AudioFormat;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LiveTranscriberTest {
+
+    private static final AudioFormat FORMAT = new AudioFormat(8_000f, 16, 1, true, false);
+
+    private static class StubTranscriber extends Transcriber {
+        private final List<Integer> uploadSizes = new CopyOnWriteArrayList<>();
+        private volatile boolean fail;
+
+        StubTranscriber() {
+            super("dummy-api-key");
+        }
+
+        @Override
+        public String transcribeWavBytes(byte[] wavBytes, String filename) {
+            if (fail) {
+                throw new TranscriptionException("upstream error");
+            }
+            uploadSizes.add(wavBytes.length);
+            return "segment " + uploadSizes.size();
+        }
+    }
+
+    // A loud square wave of the given length, with a silent stretch starting at silenceFromMs.
+    private static byte[] tone(int millis, int silenceFromMs, int silenceMs) {
+        int frames = 8 * millis;
+        byte[] pcm = new byte[frames * 2];
+        for (int i = 0; i < frames; i++) {
+            int ms = i / 8;
+            boolean silent = ms >= silenceFromMs && ms < silenceFromMs + silenceMs;
+            short sample = silent ? 0 : (short) ((i / 4) % 2 == 0 ? 12_000 : -12_000);
+            pcm[2 * i] = (byte) sample;
+            pcm[2 * i + 1] = (byte) (sample >> 8);
+        }
+        return pcm;
+    }
+
+    @Test
+    void segmentsAreTranscribedWhileAudioArrivesAndStitchedInOrder() {
+        StubTranscriber transcriber = new StubTranscriber();
+        LiveTranscriber live = new LiveTranscriber(transcriber, FORMAT,
+                Duration.ofSeconds(2), Duration.ofMillis(200), 2);
+
+        byte[] audio = tone(5_000, 1_700, 200);
+        for (int offset = 0; offset < audio.length; offset += 1_000) {
+            int length = Math.min(1_000, audio.length - offset);
+            byte[] buffer = new byte[length];
+            System.arraycopy(audio, offset, buffer, 0, length);
+            live.onAudioData(buffer, length);
+        }
+        assertTrue(live.getSegmentCount() >= 2, "segments should be submitted before finish()");
+
+        live.finish();
+        Transcript transcript = live.awaitTranscript();
+
+        assertEquals(live.getSegmentCount(), transcript.getTimestamps().size());
+        assertEquals("00:00:00.000", transcript.getTimestamps().get(0));
+        assertTrue(transcript.getRawText().startsWith("segment"));
+        assertEquals(live.getSegmentCount(), transcriber.uploadSizes.size());
+    }
+
+    @Test
+    void firstCutLandsInTheQuietWindow() {
+        StubTranscriber transcriber = new StubTranscriber();
+        LiveTranscriber live = new LiveTranscriber(transcriber, FORMAT,
+                Duration.ofSeconds(2), Duration.ZERO, 1);
+
+        byte[] audio = tone(2_000, 1_500, 100);
+        live.onAudioData(audio, audio.length);
+        live.finish();
+        live.awaitTranscript();
+
+        // 44-byte WAV header + the first segment, cut in the middle of the 1.5 s - 1.6 s silence.
+        int firstSegmentBytes = transcriber.uploadSizes.get(0) - 44;
+        assertEquals(1_550 * 16, firstSegmentBytes);
+    }
+
+    @Test
+    void awaitTranscript_surfacesSegmentFailures() {
+        StubTranscriber transcriber = new StubTranscriber();
+        transcriber.fail = true;
+        LiveTranscriber live = new LiveTranscriber(transcriber, FORMAT,
+                Duration.ofSeconds(1), Duration.ZERO, 1);
+
+        byte[] audio = tone(1_500, 0, 0);
+        live.onAudioData(audio, audio.length);
+        live.finish();
+
+        assertThrows(TranscriptionException.class, live::awaitTranscript);
+    }
+
+    @Test
+    void droppedAudio_failsTheLiveTranscriptSoCallersFallBack() {
+        StubTranscriber transcriber = new StubTranscriber();
+        LiveTranscriber live = new LiveTranscriber(transcriber, FORMAT,
+                Duration.ofSeconds(1), Duration.ZERO, 1);
+
+        byte[] audio = tone(1_500, 0, 0);
+        live.onAudioData(audio, audio.length);
+        live.onAudioDropped(4_096);
+        live.onAudioData(audio, audio.length);
+        live.finish();
+
+        TranscriptionException e = assertThrows(TranscriptionException.class, live::awaitTranscript);
+        assertTrue(e.getMessage().contains("4096 bytes"));
+    }
+
+    @Test
+    void awaitTranscript_requiresFinish() {
+        LiveTranscriber live = new LiveTranscriber(new StubTranscriber(), FORMAT);
+
+        assertThrows(IllegalStateException.class, live::awaitTranscript);
+        live.cancel();
+    }
+}
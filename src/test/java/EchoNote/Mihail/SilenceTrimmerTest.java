@@ -0,0 +1,107 @@
+package EchoNote.Mihail;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SilenceTrimmerTest {
+
+    // 1 kHz frame rate, 10 ms windows and 30 ms padding keep the arithmetic readable.
+    private static final float FRAME_RATE = 1_000f;
+
+    private static byte[] pcm(int... loudThenSilentFrames) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (int i = 0; i < loudThenSilentFrames.length; i++) {
+            short value = i % 2 == 0 ? (short) 8_000 : 0;
+            for (int f = 0; f < loudThenSilentFrames[i]; f++) {
+                short sample = (short) (f % 2 == 0 ? value : -value);
+                out.write(sample);
+                out.write(sample >> 8);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static SilenceTrimmer trimmer(ByteArrayOutputStream out) {
+        return new SilenceTrimmer(FRAME_RATE, Duration.ofMillis(10), Duration.ofMillis(30), 0.01, out::write);
+    }
+
+    private static void feed(SilenceTrimmer trimmer, byte[] data) {
+        for (int offset = 0; offset < data.length; offset += 33) {
+            trimmer.write(data, offset, Math.min(33, data.length - offset));
+        }
+        trimmer.finish();
+    }
+
+    @Test
+    void longSilenceIsCutToPaddingAndTimeMapPointsBackToTheSource() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SilenceTrimmer trimmer = trimmer(out);
+
+        feed(trimmer, pcm(100, 200, 100));
+
+        assertEquals(260, trimmer.getOutputFrames());
+        assertEquals(520, out.size());
+        assertEquals(140, trimmer.getDroppedFrames());
+        AudioTimeMap map = trimmer.getTimeMap();
+        assertEquals(50, map.toSourceFrame(50));
+        assertEquals(270, map.toSourceFrame(130));
+        assertEquals(300, map.toSourceFrame(160));
+        assertEquals(Duration.ofMillis(300), map.toSource(Duration.ofMillis(160)));
+    }
+
+    @Test
+    void shortPausesPassThroughUntouched() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SilenceTrimmer trimmer = trimmer(out);
+
+        byte[] input = pcm(100, 50, 100);
+        feed(trimmer, input);
+
+        assertArrayEquals(input, out.toByteArray());
+        assertEquals(1, trimmer.getTimeMap().getSpanCount());
+    }
+
+    @Test
+    void trailingSilenceKeepsOnlyTheLeadOut() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SilenceTrimmer trimmer = trimmer(out);
+
+        feed(trimmer, pcm(100, 200));
+
+        assertEquals(130, trimmer.getOutputFrames());
+    }
+
+    @Test
+    void leadingSilenceKeepsOnlyTheLeadIn() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SilenceTrimmer trimmer = trimmer(out);
+
+        feed(trimmer, pcm(0, 200, 100));
+
+        assertEquals(130, trimmer.getOutputFrames());
+        assertEquals(170, trimmer.getTimeMap().toSourceFrame(0));
+    }
+
+    @Test
+    void preprocessorReportsSilentUploads() throws Exception {
+        byte[] silence = new byte[16_000 * 2 * 3];
+        ByteArrayOutputStream wav = new ByteArrayOutputStream();
+        AudioSystem.write(new AudioInputStream(new ByteArrayInputStream(silence),
+                        new AudioFormat(16_000f, 16, 1, true, false), silence.length / 2),
+                AudioFileFormat.Type.WAVE, wav);
+
+        AudioPreprocessor.PreparedAudio prepared = AudioPreprocessor.speech().process(wav.toByteArray());
+
+        assertTrue(prepared.isSilent());
+        assertEquals(Duration.ZERO, prepared.getDuration());
+    }
+}
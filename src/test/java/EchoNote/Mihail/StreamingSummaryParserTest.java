@@ -0,0 +1,42 @@
+package EchoNote.Mihail;
+
+import EchoNote.Jack.Summary;
+import com.fasterxml.jackson.core.JsonFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StreamingSummaryParserTest {
+
+    @Test
+    void feed_publishesEachCompletedElementAcrossFragments() {
+        StreamingSummaryParser parser = new StreamingSummaryParser(new JsonFactory());
+
+        assertFalse(parser.feed("{\"topics\": [\"Bud"));
+        assertTrue(parser.feed("get review\", \"Hir"));
+        assertEquals(List.of("Budget review"), parser.snapshot().getTopics());
+
+        assertTrue(parser.feed("ing\"], \"decisions\": [\"Freeze spend\"]"));
+        assertTrue(parser.feed(", \"notes\": \"Follow up Monday\", \"actionItems\": [{\"title\": \"Email finance\""));
+        parser.feed(", \"owner\": \"Ana\"}]}");
+
+        Summary summary = parser.snapshot();
+        assertEquals(List.of("Budget review", "Hiring"), summary.getTopics());
+        assertEquals(List.of("Freeze spend"), summary.getDecisions());
+        assertEquals("Follow up Monday", summary.getNotes());
+    }
+
+    @Test
+    void feed_skipsLeadingTextAndStopsOnMalformedJson() {
+        StreamingSummaryParser parser = new StreamingSummaryParser(new JsonFactory());
+
+        assertFalse(parser.feed("```json\n"));
+        assertTrue(parser.feed("{\"topics\": [\"A\"], "));
+        assertFalse(parser.feed("oops"));
+        assertFalse(parser.feed("\"decisions\": [\"B\"]}"));
+        assertEquals(List.of("A"), parser.snapshot().getTopics());
+        assertTrue(parser.snapshot().getDecisions().isEmpty());
+    }
+}
@@ -1,10 +1,17 @@
 package EchoNote.Mihail;
 
+import EchoNote.Jack.ActionItem;
+import EchoNote.Jack.ActionStatus;
+import EchoNote.Jack.Participant;
+import EchoNote.Jack.Summary;
 import EchoNote.Jack.Transcript;
 import EchoNote.Jack.TranscriptSource;
 import org.junit.jupiter.api.Test;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -72,4 +79,72 @@ public class SummarizerTest {
 
         assertEquals("transcript raw text cannot be blank", ex.getMessage());
     }
+
+    @Test
+    void analyze_nullTranscript_throwsIllegalArgumentException() {
+        Summarizer summarizer = new Summarizer("dummy-api-key");
+
+        IllegalArgumentException ex = assertThrows(
+                IllegalArgumentException.class,
+                () -> summarizer.analyze(null),
+                "analyze(null) should throw IllegalArgumentException"
+        );
+
+        assertEquals("transcript cannot be null", ex.getMessage());
+    }
+
+    @Test
+    void analyze_blankTranscript_throwsIllegalArgumentException() {
+        Summarizer summarizer = new Summarizer("dummy-api-key");
+        Transcript blank = createBlankTranscript();
+
+        IllegalArgumentException ex = assertThrows(
+                IllegalArgumentException.class,
+                () -> summarizer.analyze(blank),
+                "analyze with blank transcript text should throw IllegalArgumentException"
+        );
+
+        assertEquals("transcript raw text cannot be blank", ex.getMessage());
+    }
+
+    @Test
+    void extractDeltaContent_readsStreamedFragments() throws Exception {
+        Summarizer summarizer = new Summarizer("dummy-api-key");
+
+        assertEquals("{\"top", summarizer.extractDeltaContent(
+                "{\"choices\":[{\"index\":0,\"delta\":{\"content\":\"{\\\"top\"}}]}"));
+        assertEquals("", summarizer.extractDeltaContent(
+                "{\"choices\":[{\"index\":0,\"delta\":{\"role\":\"assistant\"}}]}"));
+        assertEquals("", summarizer.extractDeltaContent("{\"choices\":[]}"));
+    }
+
+    @Test
+    void mergeActionItems_dropsRepeatsFromOverlappingSegments() {
+        Participant ana = new Participant("Ana", null, null);
+        ActionItem first = new ActionItem("Send the budget", ana, null, ActionStatus.OPEN);
+        ActionItem repeat = new ActionItem("send the budget.", new Participant("ana", null, null),
+                LocalDate.of(2025, 3, 1), ActionStatus.OPEN);
+        ActionItem other = new ActionItem("Book the room", ana, null, ActionStatus.OPEN);
+
+        List<ActionItem> merged = Summarizer.mergeActionItems(List.of(List.of(first), List.of(repeat, other)));
+
+        assertEquals(2, merged.size());
+        assertEquals(LocalDate.of(2025, 3, 1), merged.get(0).getDueDate(), "Keeps the copy that has a due date");
+        assertSame(other, merged.get(1));
+    }
+
+    @Test
+    void batchForReduce_alwaysShrinksTheList() {
+        Summarizer summarizer = new Summarizer("dummy-api-key");
+        List<Summary> summaries = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            summaries.add(new Summary(List.of("Topic " + i), List.of(), "notes " + i));
+        }
+
+        List<List<Summary>> tiny = summarizer.batchForReduce(summaries, 1);
+        assertEquals(2, tiny.size());
+        assertEquals(List.of(2, 3), List.of(tiny.get(0).size(), tiny.get(1).size()));
+
+        assertEquals(1, summarizer.batchForReduce(summaries, 100_000).size());
+    }
 }
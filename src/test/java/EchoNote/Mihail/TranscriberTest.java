@@ -1,13 +1,36 @@
 package EchoNote.Mihail;
 
+import EchoNote.Config.OpenAiEndpoints;
+import EchoNote.Config.OpenAiRequestScheduler;
+import EchoNote.Jack.Transcript;
+import com.sun.net.httpserver.HttpServer;
+import okhttp3.OkHttpClient;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 public class TranscriberTest {
 
+    @TempDir
+    Path tempDir;
+
     @Test
     void transcribeFile_nullPath_throwsIllegalArgumentException() {
         Transcriber transcriber = new Transcriber("dummy-api-key");
@@ -41,4 +64,125 @@ public class TranscriberTest {
                 "Exception message should include the offending path"
         );
     }
+
+    @Test
+    void stitchChunkTexts_dropsWordsRepeatedAcrossOverlap() {
+        String stitched = Transcriber.stitchChunkTexts(List.of(
+                "We agreed to ship the beta on Friday.",
+                "on friday. Next, Mihail will update the recorder.",
+                "",
+                "Meeting adjourned."
+        ));
+
+        assertEquals("We agreed to ship the beta on Friday. Next, Mihail will update the recorder. Meeting adjourned.",
+                stitched);
+    }
+
+    @Test
+    void parseTranscription_mapsSegmentStartsBackThroughTheTimeMap() throws Exception {
+        AudioTimeMap map = new AudioTimeMap(1_000f);
+        map.addSpan(2_000, 10_000);
+        String json = "{\"text\":\"Hello there. Welcome back.\","
+                + "\"segments\":[{\"start\":0.5,\"text\":\"Hello there.\"},{\"start\":2.5,\"text\":\"Welcome back.\"}]}";
+
+        Transcriber.TranscribedAudio result = new Transcriber("dummy-api-key").parseTranscription(json, map);
+
+        assertEquals("Hello there. Welcome back.", result.text);
+        assertEquals(List.of(Duration.ofMillis(500), Duration.ofMillis(10_500)), result.segmentStarts);
+    }
+
+    @Test
+    void transcribeFileAsync_uploadsWithoutBlockingAndParsesSegments() throws Exception {
+        Path wav = tempDir.resolve("meeting.wav");
+        try (WavFileWriter writer = new WavFileWriter(wav, new AudioFormat(16_000f, 16, 1, true, false))) {
+            writer.write(new byte[32_000], 0, 32_000);
+        }
+
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v1/audio/transcriptions", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            byte[] body = "{\"text\":\"hello world\",\"segments\":[{\"start\":0.0},{\"start\":0.5}]}"
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            OpenAiEndpoints.configure("http://127.0.0.1:" + server.getAddress().getPort() + "/v1");
+            Transcriber transcriber = new Transcriber("dummy-api-key", new OkHttpClient(),
+                    new OpenAiRequestScheduler(600, 0), null, null);
+
+            Transcript transcript = transcriber.transcribeFileAsync(wav, executor).get(10, TimeUnit.SECONDS);
+
+            assertEquals("hello world", transcript.getRawText());
+            assertEquals(List.of("00:00:00.000", "00:00:00.500"), transcript.getTimestamps());
+        } finally {
+            OpenAiEndpoints.configure(null);
+            executor.shutdownNow();
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void chunkLengthFor_rawUploadKeepsEveryChunkUnderTheLimit() throws Exception {
+        AudioFormat capture = new AudioFormat(44_100f, 16, 1, true, false);
+        Path wav = writeSilence(capture, Duration.ofMinutes(6));
+        Transcriber transcriber = new Transcriber("dummy-api-key", new OkHttpClient(),
+                new OpenAiRequestScheduler(600, 0), null, null);
+
+        Duration chunkLength = transcriber.chunkLengthFor(wav);
+        WavChunker chunker = new WavChunker(chunkLength, Transcriber.DEFAULT_CHUNK_OVERLAP);
+        List<AudioChunk> chunks = chunker.plan(wav);
+
+        assertTrue(chunkLength.compareTo(Transcriber.DEFAULT_CHUNK_LENGTH) < 0);
+        assertTrue(chunks.size() > 1);
+        AudioChunk largest = chunks.get(0);
+        for (AudioChunk chunk : chunks) {
+            assertTrue(44 + chunk.getFrameCount() * capture.getFrameSize() <= Transcriber.MAX_UPLOAD_BYTES,
+                    "chunk " + chunk.getIndex() + " exceeds the upload limit");
+            if (chunk.getFrameCount() > largest.getFrameCount()) {
+                largest = chunk;
+            }
+        }
+        assertTrue(chunker.readChunk(wav, largest).length <= Transcriber.MAX_UPLOAD_BYTES);
+    }
+
+    @Test
+    void chunkLengthFor_preprocessedUploadUsesTheOutputByteRate() throws Exception {
+        Path wav = writeSilence(new AudioFormat(44_100f, 16, 1, true, false), Duration.ofSeconds(1));
+        AudioPreprocessor preprocessor = AudioPreprocessor.speech();
+        Transcriber transcriber = new Transcriber("dummy-api-key", new OkHttpClient(),
+                new OpenAiRequestScheduler(600, 0), null, preprocessor);
+
+        Duration chunkLength = transcriber.chunkLengthFor(wav);
+
+        long chunkUploadBytes = 44 + (chunkLength.plus(Transcriber.DEFAULT_CHUNK_OVERLAP).toMillis()
+                * preprocessor.outputBytesPerSecond(44_100f) / 1000);
+        assertEquals(Transcriber.DEFAULT_CHUNK_LENGTH, chunkLength);
+        assertTrue(chunkUploadBytes <= Transcriber.MAX_UPLOAD_BYTES);
+    }
+
+    private Path writeSilence(AudioFormat format, Duration length) throws Exception {
+        Path wav = tempDir.resolve("silence-" + length.toSeconds() + ".wav");
+        long frames = (long) (length.toMillis() / 1000.0 * format.getFrameRate());
+        InputStream zeros = new InputStream() {
+            @Override
+            public int read() {
+                return 0;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                Arrays.fill(b, off, off + len, (byte) 0);
+                return len;
+            }
+        };
+        try (AudioInputStream silence = new AudioInputStream(zeros, format, frames)) {
+            AudioSystem.write(silence, AudioFileFormat.Type.WAVE, wav.toFile());
+        }
+        return wav;
+    }
 }
@@ -0,0 +1,37 @@
+package EchoNote.Mihail;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TranscriptSegmenterTest {
+
+    @Test
+    void split_packsWholeSentencesUpToLimit() {
+        TranscriptSegmenter segmenter = new TranscriptSegmenter(30);
+
+        List<String> segments = segmenter.split("We met today. Budget is fine. Hiring is slow. Ship Friday.");
+
+        assertEquals(List.of("We met today. Budget is fine.", "Hiring is slow. Ship Friday."), segments);
+    }
+
+    @Test
+    void split_breaksLongSentencesOnWordsAndNeverExceedsLimit() {
+        TranscriptSegmenter segmenter = new TranscriptSegmenter(12);
+        String text = "alpha beta gamma delta epsilon supercalifragilistic zeta";
+
+        List<String> segments = segmenter.split(text);
+
+        for (String segment : segments) {
+            assertTrue(segment.length() <= 12, "segment too long: " + segment);
+        }
+        assertEquals(text.replace(" ", ""), String.join("", segments).replace(" ", ""));
+    }
+
+    @Test
+    void split_blankTextReturnsNoSegments() {
+        assertTrue(new TranscriptSegmenter(10).split("   ").isEmpty());
+    }
+}
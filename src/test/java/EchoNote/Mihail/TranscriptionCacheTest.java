@@ -0,0 +1,57 @@
+package EchoNote.Mihail;
+
+import EchoNote.Jack.Transcript;
+import EchoNote.Jack.TranscriptSource;
+import org.junit.jupiter.api.Test;
+
+import javax.sound.sampled.AudioFormat;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TranscriptionCacheTest {
+
+    private static final AudioFormat FORMAT = new AudioFormat(
+            AudioFormat.Encoding.PCM_SIGNED, 16_000.0f, 16, 1, 2, 16_000.0f, false);
+
+    private Path writeWav(byte fill) throws Exception {
+        Path file = Files.createTempFile("echonote-cache-audio", ".wav");
+        byte[] pcm = new byte[3200];
+        java.util.Arrays.fill(pcm, fill);
+        try (WavFileWriter writer = new WavFileWriter(file, FORMAT)) {
+            writer.write(pcm, 0, pcm.length);
+        }
+        return file;
+    }
+
+    @Test
+    void keyFor_dependsOnPcmContentAndModelOnly() throws Exception {
+        TranscriptionCache cache = new TranscriptionCache(Files.createTempDirectory("echonote-tcache"), 1024 * 1024);
+
+        Path first = writeWav((byte) 1);
+        Path copy = writeWav((byte) 1);
+        Path other = writeWav((byte) 2);
+
+        assertEquals(cache.keyFor(first, "whisper-1"), cache.keyFor(copy, "whisper-1"),
+                "Identical audio in different files should share a key");
+        assertNotEquals(cache.keyFor(first, "whisper-1"), cache.keyFor(other, "whisper-1"));
+        assertNotEquals(cache.keyFor(first, "whisper-1"), cache.keyFor(first, "other-model"));
+    }
+
+    @Test
+    void transcribeFile_cacheHit_skipsNetworkCall() throws Exception {
+        TranscriptionCache cache = new TranscriptionCache(Files.createTempDirectory("echonote-tcache"), 1024 * 1024);
+        Path wav = writeWav((byte) 3);
+
+        cache.put(cache.keyFor(wav, "whisper-1"),
+                new Transcript("id", "Cached meeting text.", List.of("00:00:00.000"), TranscriptSource.LIVE));
+
+        Transcriber transcriber = new Transcriber("dummy-api-key", cache);
+        Transcript transcript = transcriber.transcribeFile(wav);
+
+        assertEquals("Cached meeting text.", transcript.getRawText());
+        assertEquals(List.of("00:00:00.000"), transcript.getTimestamps());
+    }
+}
@@ -0,0 +1,90 @@
+package EchoNote.Mihail;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WavChunkerTest {
+
+    private static final float RATE = 8_000.0f;
+    private static final AudioFormat FORMAT = new AudioFormat(
+            AudioFormat.Encoding.PCM_SIGNED, RATE, 16, 1, 2, RATE, false);
+
+    private Path createToneWithSilence(double seconds, double silenceFrom, double silenceTo) throws Exception {
+        Path file = Files.createTempFile("echonote-chunker-test", ".wav");
+        int frames = (int) (seconds * RATE);
+
+        try (WavFileWriter writer = new WavFileWriter(file, FORMAT)) {
+            byte[] frame = new byte[2];
+            for (int i = 0; i < frames; i++) {
+                double t = i / RATE;
+                boolean silent = t >= silenceFrom && t < silenceTo;
+                short sample = silent ? 0 : (short) (Math.sin(2 * Math.PI * 440 * t) * 12_000);
+                frame[0] = (byte) sample;
+                frame[1] = (byte) (sample >> 8);
+                writer.write(frame, 0, 2);
+            }
+        }
+        return file;
+    }
+
+    @Test
+    void plan_shortFile_returnsSingleChunk() throws Exception {
+        Path file = createToneWithSilence(3, 0, 0);
+        WavChunker chunker = new WavChunker(Duration.ofSeconds(5), Duration.ofMillis(500));
+
+        List<AudioChunk> chunks = chunker.plan(file);
+
+        assertEquals(1, chunks.size());
+        assertEquals(0, chunks.get(0).getStartFrame());
+        assertEquals((long) (3 * RATE), chunks.get(0).getFrameCount());
+    }
+
+    @Test
+    void plan_cutsInsideSilenceAndOverlapsNextChunk() throws Exception {
+        Path file = createToneWithSilence(10, 4.5, 5.5);
+        WavChunker chunker = new WavChunker(Duration.ofSeconds(5), Duration.ofMillis(500), Duration.ofSeconds(1));
+
+        List<AudioChunk> chunks = chunker.plan(file);
+
+        assertEquals(2, chunks.size(), "A 10s file with 5s chunks should split in two");
+
+        long cut = chunks.get(0).getEndFrame();
+        assertTrue(cut >= 4.5 * RATE && cut <= 5.5 * RATE, "Cut should land inside the silent span, was frame " + cut);
+
+        AudioChunk second = chunks.get(1);
+        assertEquals(cut - (long) (0.5 * RATE), second.getStartFrame(),
+                "Second chunk should start one overlap before the cut");
+        assertEquals((long) (10 * RATE), second.getEndFrame(), "Last chunk should run to the end of the file");
+    }
+
+    @Test
+    void readChunk_returnsStandaloneWav() throws Exception {
+        Path file = createToneWithSilence(10, 4.5, 5.5);
+        WavChunker chunker = new WavChunker(Duration.ofSeconds(5), Duration.ofMillis(500), Duration.ofSeconds(1));
+        AudioChunk second = chunker.plan(file).get(1);
+
+        byte[] wav = chunker.readChunk(file, second);
+
+        try (AudioInputStream ais = AudioSystem.getAudioInputStream(new ByteArrayInputStream(wav))) {
+            assertEquals(second.getFrameCount(), ais.getFrameLength());
+            assertEquals(RATE, ais.getFormat().getSampleRate());
+        }
+    }
+
+    @Test
+    void constructor_overlapNotShorterThanChunk_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new WavChunker(Duration.ofSeconds(5), Duration.ofSeconds(5)),
+                "Overlap equal to the chunk length should be rejected");
+    }
+}
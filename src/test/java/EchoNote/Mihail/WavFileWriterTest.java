@@ -0,0 +1,57 @@
+package EchoNote.Mihail;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WavFileWriterTest {
+
+    private static final AudioFormat FORMAT = new AudioFormat(
+            AudioFormat.Encoding.PCM_SIGNED, 16_000.0f, 16, 1, 2, 16_000.0f, false);
+
+    @Test
+    void close_patchesHeaderSoWavIsReadable() throws Exception {
+        Path file = Files.createTempFile("echonote-wav-test", ".wav");
+
+        byte[] chunk = new byte[4096];
+        for (int i = 0; i < chunk.length; i++) {
+            chunk[i] = (byte) i;
+        }
+
+        try (WavFileWriter writer = new WavFileWriter(file, FORMAT)) {
+            writer.write(chunk, 0, chunk.length);
+            writer.write(chunk, 0, 1000);
+            assertEquals(5096, writer.getDataLength());
+        }
+
+        assertEquals(44 + 5096, Files.size(file), "File should contain the header plus every PCM byte");
+
+        try (AudioInputStream ais = AudioSystem.getAudioInputStream(file.toFile())) {
+            assertEquals(5096 / 2, ais.getFrameLength(),
+                    "Frame length in the patched header should match the bytes written");
+            assertEquals(16_000.0f, ais.getFormat().getSampleRate());
+
+            byte[] readBack = ais.readAllBytes();
+            assertEquals(5096, readBack.length);
+            assertEquals(chunk[100], readBack[100]);
+            assertEquals(chunk[999], readBack[4096 + 999]);
+        }
+    }
+
+    @Test
+    void write_afterClose_throwsIOException() throws Exception {
+        Path file = Files.createTempFile("echonote-wav-test", ".wav");
+        WavFileWriter writer = new WavFileWriter(file, FORMAT);
+        writer.close();
+
+        assertThrows(java.io.IOException.class,
+                () -> writer.write(new byte[2], 0, 2),
+                "Writing to a closed WavFileWriter should fail");
+    }
+}